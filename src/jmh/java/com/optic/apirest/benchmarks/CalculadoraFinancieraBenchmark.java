@@ -0,0 +1,97 @@
+package com.optic.apirest.benchmarks;
+
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.utils.CalculadoraFinanciera;
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.CalculadoraTCEA;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Benchmarks del camino crítico de CalculadoraFinanciera.
+ *
+ * Parámetros: plazos de 5 a 30 años × las tres tasas de TasaInteresConfig
+ * (riesgo 1, 2 y 3). El motor rápido se incluye como referencia.
+ *
+ * 📌 EJECUTAR: mvn -P jmh verify  → resultados en target/jmh-result.json
+ * (con -prof gc se reporta gc.alloc.rate.norm = bytes asignados por operación)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraFinancieraBenchmark {
+
+    @Param({"5", "10", "15", "20", "25", "30"})
+    private int plazoAnios;
+
+    @Param({"1", "2", "3"})
+    private int riesgo;
+
+    private final BigDecimal monto = new BigDecimal("250000.00");
+    private final BigDecimal porcentajeCuotaInicial = new BigDecimal("20.00");
+
+    private BigDecimal tasaAnual;
+    private BigDecimal tasaMensual;
+    private BigDecimal montoFinanciar;
+    private int plazoMeses;
+
+    private long montoFinanciarCentavos;
+    private double tasaMensualRapida;
+    private double cuotaMensualRapida;
+
+    @Setup
+    public void preparar() {
+        tasaAnual = new TasaInteresConfig().obtenerTasaPorRiesgo(riesgo);
+        tasaMensual = CalculadoraFinanciera.calcularTasaMensual(tasaAnual);
+        montoFinanciar = CalculadoraFinanciera.calcularMontoFinanciar(monto,
+                CalculadoraFinanciera.calcularMontoCuotaInicial(monto, porcentajeCuotaInicial));
+        plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(plazoAnios);
+
+        montoFinanciarCentavos = CalculadoraFinancieraRapida.aCentavos(montoFinanciar);
+        tasaMensualRapida = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual.doubleValue());
+        cuotaMensualRapida = CalculadoraFinancieraRapida.calcularCuotaMensualCentavos(
+                montoFinanciarCentavos, tasaMensualRapida, plazoMeses) / 100.0;
+    }
+
+    @Benchmark
+    public BigDecimal calcularCuotaMensual() {
+        return CalculadoraFinanciera.calcularCuotaMensual(montoFinanciar, tasaMensual, plazoMeses);
+    }
+
+    @Benchmark
+    public BigDecimal calcularTCEA() {
+        return CalculadoraFinanciera.calcularTCEA(tasaMensual);
+    }
+
+    @Benchmark
+    public CalculadoraFinanciera.ResultadoCalculo calcularTodo() {
+        return CalculadoraFinanciera.calcularTodo(monto, porcentajeCuotaInicial, plazoAnios, tasaAnual);
+    }
+
+    @Benchmark
+    public long calcularCuotaMensualMotorRapido() {
+        return CalculadoraFinancieraRapida.calcularCuotaMensualCentavos(montoFinanciarCentavos, tasaMensualRapida, plazoMeses);
+    }
+
+    // TCEA por TIR con comisión de desembolso, portes y seguro de desgravamen
+    @Benchmark
+    public double calcularTCEAConCostos() {
+        return CalculadoraTCEA.calcularTCEAConCostos(montoFinanciarCentavos / 100.0, cuotaMensualRapida,
+                tasaMensualRapida, plazoMeses, 500.0, 10.0, 0.00028);
+    }
+}
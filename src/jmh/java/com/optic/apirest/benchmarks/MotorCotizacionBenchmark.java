@@ -0,0 +1,71 @@
+package com.optic.apirest.benchmarks;
+
+import com.optic.apirest.config.CostosCreditoConfig;
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.services.CacheCotizaciones;
+import com.optic.apirest.services.MotorCotizacion;
+import com.optic.apirest.utils.CalculadoraFinanciera;
+import com.optic.apirest.utils.ResultadoCotizacion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Cotización completa: ResultadoCalculo nuevo por llamada vs ResultadoCotizacion reutilizable.
+ *
+ * Con -prof gc, gc.alloc.rate.norm de cotizarEnResultadoReutilizable debe quedar en ~0 B/op.
+ * El muestreo de asignación del motor se desactiva para no medir la medición, y la
+ * caché de cotizaciones también, para medir el cálculo y no la búsqueda.
+ *
+ * 📌 EJECUTAR: mvn -P jmh verify  → resultados en target/jmh-result.json
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MotorCotizacionBenchmark {
+
+    @Param({"5", "20", "30"})
+    private int plazoAnios;
+
+    private final BigDecimal monto = new BigDecimal("250000.00");
+    private final BigDecimal porcentajeCuotaInicial = new BigDecimal("20.00");
+    private final ResultadoCotizacion resultado = new ResultadoCotizacion();
+
+    private BigDecimal tasaAnual;
+    private MotorCotizacion motor;
+
+    @Setup
+    public void preparar() {
+        TasaInteresConfig tasaInteresConfig = new TasaInteresConfig();
+        tasaAnual = tasaInteresConfig.obtenerTasaPorRiesgo(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        motor = new MotorCotizacion(tasaInteresConfig, new CostosCreditoConfig(0, 0, 0),
+                new CacheCotizaciones(false, 0, 1, registry), true, false, 0.0, 0.0, registry);
+    }
+
+    @Benchmark
+    public CalculadoraFinanciera.ResultadoCalculo cotizarConResultadoNuevo() {
+        return motor.cotizar(monto, porcentajeCuotaInicial, plazoAnios, tasaAnual);
+    }
+
+    @Benchmark
+    public long cotizarEnResultadoReutilizable() {
+        motor.cotizar(monto, porcentajeCuotaInicial, plazoAnios, tasaAnual, resultado);
+        return resultado.getCuotaMensualCentavos();
+    }
+}
@@ -0,0 +1,80 @@
+package com.optic.apirest.benchmarks;
+
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.CronogramaPagos;
+import com.optic.apirest.utils.SistemaAmortizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import com.optic.apirest.utils.TotalesAmortizacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Sistemas de amortización: totales en una pasada vs cronograma materializado.
+ *
+ * - totalesUnaPasada: SistemaAmortizacion.calcularTotales sobre primitivos (lo que usa el motor)
+ * - cronogramaRecorrido: recorrer CronogramaPagos fila a fila (BigDecimal por fila)
+ *
+ * El americano tiene forma cerrada (O(1)); francés y alemán recorren los periodos.
+ * Con -prof gc, totalesUnaPasada debe quedar en ~0 B/op.
+ *
+ * 📌 EJECUTAR: mvn -P jmh verify  → resultados en target/jmh-result.json
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SistemaAmortizacionBenchmark {
+
+    @Param({"FRANCES", "ALEMAN", "AMERICANO"})
+    private TipoSistemaAmortizacion tipoSistema;
+
+    @Param({"5", "20", "30"})
+    private int plazoAnios;
+
+    private final long montoFinanciarCentavos = 20_000_000L; // S/ 200,000.00
+    private final BigDecimal tasaAnual = new BigDecimal("8.50");
+    private final TotalesAmortizacion totales = new TotalesAmortizacion();
+
+    private SistemaAmortizacion sistema;
+    private double tasaMensual;
+    private int plazoMeses;
+    private CronogramaPagos cronograma;
+
+    @Setup
+    public void preparar() {
+        sistema = tipoSistema.getSistema();
+        tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual.doubleValue());
+        plazoMeses = plazoAnios * 12;
+        cronograma = new CronogramaPagos(CalculadoraFinancieraRapida.desdeCentavos(montoFinanciarCentavos),
+                tasaAnual, plazoAnios, tipoSistema);
+    }
+
+    @Benchmark
+    public long totalesUnaPasada() {
+        long cuotaBase = sistema.cuotaBaseCentavos(montoFinanciarCentavos, tasaMensual, plazoMeses);
+        sistema.calcularTotales(montoFinanciarCentavos, cuotaBase, tasaMensual, plazoMeses, totales);
+        return totales.getTotalInteresesCentavos();
+    }
+
+    @Benchmark
+    public void cronogramaRecorrido(Blackhole blackhole) {
+        for (CronogramaPagos.CuotaPeriodo cuota : cronograma) {
+            blackhole.consume(cuota);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.optic.apirest.Client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🚧 Bulkhead de la API de validación: tope de validaciones externas simultáneas.
+ *
+ * Si la API se pone lenta, sin tope todos los hilos de Tomcat terminan esperándola
+ * y la aplicación deja de atender también lo que no la necesita. Con el tope,
+ * las que sobran esperan como mucho espera-ms y se rechazan.
+ *
+ * Cuenta validaciones (después del single-flight), no conexiones: el pool de
+ * ClienteHttpValidaciones sigue acotando las conexiones por su lado.
+ *
+ * ⚖️ El pool de simulación por lote (cotizacion.lote.max-concurrencia hilos) puede ocupar
+ * tantos lugares como hilos tiene. Por eso el tope por defecto es ese pool MÁS una reserva
+ * para /register y /simular: un lote grande nunca deja sin lugar al tráfico interactivo.
+ *
+ * Métricas: cotizacion.validacion.bulkhead.en-uso y cotizacion.validacion.rechazos (motivo = bulkhead).
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.validacion.bulkhead.max-concurrentes (default: 0 = pool del lote + reserva-interactiva;
+ *   si se fija a mano debe superar al pool del lote, o un solo lote lo llena: se avisa al arrancar)
+ * - cotizacion.validacion.bulkhead.reserva-interactiva (default: 8)
+ * - cotizacion.validacion.bulkhead.espera-ms (default: 50)
+ */
+@Slf4j
+@Component
+public class BulkheadValidaciones {
+
+    private final int maxConcurrentes;
+    private final long esperaMs;
+    private final Semaphore lugares;
+    private final Counter rechazos;
+
+    public BulkheadValidaciones(
+            @Value("${cotizacion.validacion.bulkhead.max-concurrentes:0}") int maxConcurrentes,
+            @Value("${cotizacion.lote.max-concurrencia:16}") int hilosLote,
+            @Value("${cotizacion.validacion.bulkhead.reserva-interactiva:8}") int reservaInteractiva,
+            @Value("${cotizacion.validacion.bulkhead.espera-ms:50}") long esperaMs,
+            MeterRegistry meterRegistry) {
+        this.maxConcurrentes = maxConcurrentes > 0 ? maxConcurrentes : hilosLote + reservaInteractiva;
+        if (this.maxConcurrentes <= hilosLote) {
+            log.warn("Bulkhead de validaciones con {} lugares y {} hilos de simulación por lote: "
+                    + "un lote grande puede dejar sin lugar a /register y /simular", this.maxConcurrentes, hilosLote);
+        }
+        this.esperaMs = esperaMs;
+        this.lugares = new Semaphore(this.maxConcurrentes);
+
+        Gauge.builder("cotizacion.validacion.bulkhead.en-uso", this, b -> b.maxConcurrentes - b.lugares.availablePermits())
+                .description("Validaciones externas en curso")
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("cotizacion.validacion.rechazos")
+                .tag("motivo", "bulkhead")
+                .description("Validaciones rechazadas sin llamar a la API")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Toma un lugar. Si devuelve true, hay que devolverlo con {@link #liberar()}.
+     */
+    public boolean entrar() {
+        try {
+            if (lugares.tryAcquire(esperaMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rechazos.increment();
+        return false;
+    }
+
+    public void liberar() {
+        lugares.release();
+    }
+}
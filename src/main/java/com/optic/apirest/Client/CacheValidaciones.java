@@ -0,0 +1,151 @@
+package com.optic.apirest.Client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.optic.apirest.dto.apiValidarHistorial.ValidacionResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 🗄️ Caché de validaciones externas por DNI.
+ *
+ * El mismo DNI suele simularse varias veces en pocos minutos antes de registrarse:
+ * cada una era un viaje HTTPS a la API de validación. Ahora solo el primero.
+ *
+ * - Acotada por tamaño (desaloja las menos usadas)
+ * - TTL según el resultado: APROBADO dura ttl-minutos; un RECHAZADO dura solo
+ *   ttl-negativo-segundos, para reintentar pronto. El resultado por defecto cuando
+ *   la API no respondió (respaldo) no se guarda nunca
+ * - Invalidación explícita por DNI o completa (/api/admin/validaciones/cache)
+ * - Métricas: cache.* con cache=validaciones (aciertos, fallos, desalojos),
+ *   cotizacion.validacion.cache.ratio-aciertos y cotizacion.validacion.carga
+ *   (latencia de cada llamada real a la API, con percentiles)
+ *
+ * Las entradas son compartidas entre hilos: ValidacionResponse se trata como solo lectura.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.validacion.cache.habilitado (default: true)
+ * - cotizacion.validacion.cache.max-entradas (default: 10000)
+ * - cotizacion.validacion.cache.ttl-minutos (default: 10)
+ * - cotizacion.validacion.cache.ttl-negativo-segundos (default: 30)
+ */
+@Slf4j
+@Component
+public class CacheValidaciones {
+
+    private final boolean habilitado;
+    private final Cache<String, ValidacionResponse> validaciones;
+    private final Timer latenciaCarga;
+
+    public CacheValidaciones(
+            @Value("${cotizacion.validacion.cache.habilitado:true}") boolean habilitado,
+            @Value("${cotizacion.validacion.cache.max-entradas:10000}") long maxEntradas,
+            @Value("${cotizacion.validacion.cache.ttl-minutos:10}") long ttlMinutos,
+            @Value("${cotizacion.validacion.cache.ttl-negativo-segundos:30}") long ttlNegativoSegundos,
+            MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        long ttlPositivoNanos = Duration.ofMinutes(ttlMinutos).toNanos();
+        long ttlNegativoNanos = Duration.ofSeconds(ttlNegativoSegundos).toNanos();
+        this.validaciones = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfter(new TtlPorResultado(ttlPositivoNanos, ttlNegativoNanos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, validaciones, "validaciones");
+        Gauge.builder("cotizacion.validacion.cache.ratio-aciertos", validaciones, cache -> cache.stats().hitRate())
+                .description("Proporción de validaciones servidas desde la caché (0..1)")
+                .register(meterRegistry);
+        this.latenciaCarga = Timer.builder("cotizacion.validacion.carga")
+                .description("Latencia de las llamadas reales a la API de validación (fallos de caché)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    // TTL desde la escritura, según el resultado guardado (una lectura no lo extiende)
+    private record TtlPorResultado(long ttlPositivoNanos, long ttlNegativoNanos)
+            implements Expiry<String, ValidacionResponse> {
+
+        @Override
+        public long expireAfterCreate(String dni, ValidacionResponse validacion, long ahora) {
+            return esPositiva(validacion) ? ttlPositivoNanos : ttlNegativoNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String dni, ValidacionResponse validacion, long ahora, long duracionActual) {
+            return expireAfterCreate(dni, validacion, ahora);
+        }
+
+        @Override
+        public long expireAfterRead(String dni, ValidacionResponse validacion, long ahora, long duracionActual) {
+            return duracionActual;
+        }
+    }
+
+    // Solo una respuesta real APROBADO merece el TTL largo
+    private static boolean esPositiva(ValidacionResponse validacion) {
+        return !validacion.isRespaldo() && "APROBADO".equalsIgnoreCase(validacion.getResultadoValidacion());
+    }
+
+    /**
+     * Validación vigente del DNI, o null si no hay (o la caché está deshabilitada). No carga.
+     */
+    public ValidacionResponse buscar(String dni) {
+        return habilitado ? validaciones.getIfPresent(dni) : null;
+    }
+
+    /**
+     * Validación del DNI desde la caché, o desde {@code cargar} si no hay una vigente.
+     * La relectura de la caché no cuenta en las estadísticas: el acierto/fallo ya lo
+     * registró {@link #buscar(String)}.
+     */
+    public ValidacionResponse obtener(String dni, Function<String, ValidacionResponse> cargar) {
+        if (!habilitado) {
+            return cargar.apply(dni);
+        }
+        // Relectura silenciosa: quien llega aquí ya pasó por buscar(), que contó el fallo
+        ValidacionResponse validacion = validaciones.policy().getIfPresentQuietly(dni);
+        if (validacion != null) {
+            return validacion;
+        }
+        validacion = latenciaCarga.record(() -> cargar.apply(dni));
+        // Un respaldo (la API no respondió) no es una respuesta: no se guarda
+        if (!validacion.isRespaldo()) {
+            validaciones.put(dni, validacion);
+        }
+        return validacion;
+    }
+
+    /**
+     * Descarta la validación guardada de un DNI (la próxima consulta va a la API).
+     *
+     * @return true si había una entrada
+     */
+    public boolean invalidar(String dni) {
+        return validaciones.asMap().remove(dni) != null;
+    }
+
+    /**
+     * Descarta todas las validaciones guardadas.
+     *
+     * @return Cantidad aproximada de entradas descartadas
+     */
+    public long invalidarTodo() {
+        long entradas = validaciones.estimatedSize();
+        validaciones.invalidateAll();
+        log.info("Caché de validaciones invalidada ({} entradas)", entradas);
+        return entradas;
+    }
+
+    public long tamano() {
+        return validaciones.estimatedSize();
+    }
+}
@@ -0,0 +1,202 @@
+package com.optic.apirest.Client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔌 Circuit breaker de la API de validación.
+ *
+ * Cuando la API se degrada, seguir llamándola solo suma espera (hasta el timeout)
+ * a cada solicitud y más carga a una API que ya no responde.
+ *
+ * 📐 ESTADOS:
+ * 1️⃣ CERRADO: las llamadas pasan; se guarda el resultado de las últimas tamano-ventana.
+ *    Con al menos min-llamadas y umbral-fallos % de fallos → ABIERTO
+ * 2️⃣ ABIERTO: ninguna llamada pasa (falla enseguida) durante espera-abierto-segundos
+ * 3️⃣ SEMI_ABIERTO: pasan solo llamadas-prueba llamadas. Si todas salen bien → CERRADO
+ *    (ventana limpia); la primera que falla → ABIERTO otra vez
+ *
+ * Los resultados de llamadas que terminan con el circuito ABIERTO (empezaron antes) se ignoran.
+ *
+ * Métricas: cotizacion.validacion.circuito.estado (0 = cerrado, 1 = abierto, 2 = semi-abierto),
+ * cotizacion.validacion.circuito.transiciones (etiqueta hacia) y
+ * cotizacion.validacion.rechazos (motivo = circuito).
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.validacion.circuito.habilitado (default: true)
+ * - cotizacion.validacion.circuito.tamano-ventana (default: 20)
+ * - cotizacion.validacion.circuito.min-llamadas (default: 10)
+ * - cotizacion.validacion.circuito.umbral-fallos (default: 50 → %)
+ * - cotizacion.validacion.circuito.espera-abierto-segundos (default: 30)
+ * - cotizacion.validacion.circuito.llamadas-prueba (default: 3)
+ */
+@Slf4j
+@Component
+public class CircuitBreakerValidaciones {
+
+    public enum EstadoCircuito {
+        CERRADO, ABIERTO, SEMI_ABIERTO
+    }
+
+    private final boolean habilitado;
+    private final int minLlamadas;
+    private final int umbralFallos;
+    private final long esperaAbiertoNanos;
+    private final int llamadasPrueba;
+
+    // Ventana circular con los últimos resultados (true = fallo); protegida por el monitor de this
+    private final boolean[] ventana;
+    private int posicion;
+    private int registradas;
+    private int fallosEnVentana;
+
+    private volatile EstadoCircuito estado = EstadoCircuito.CERRADO;
+    private long abiertoHastaNanos;
+    private int pruebasEnCurso;
+    private int pruebasExitosas;
+
+    private final Counter rechazos;
+    private final Map<EstadoCircuito, Counter> transiciones = new EnumMap<>(EstadoCircuito.class);
+
+    public CircuitBreakerValidaciones(
+            @Value("${cotizacion.validacion.circuito.habilitado:true}") boolean habilitado,
+            @Value("${cotizacion.validacion.circuito.tamano-ventana:20}") int tamanoVentana,
+            @Value("${cotizacion.validacion.circuito.min-llamadas:10}") int minLlamadas,
+            @Value("${cotizacion.validacion.circuito.umbral-fallos:50}") int umbralFallos,
+            @Value("${cotizacion.validacion.circuito.espera-abierto-segundos:30}") long esperaAbiertoSegundos,
+            @Value("${cotizacion.validacion.circuito.llamadas-prueba:3}") int llamadasPrueba,
+            MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.ventana = new boolean[tamanoVentana];
+        this.minLlamadas = Math.min(minLlamadas, tamanoVentana);
+        this.umbralFallos = umbralFallos;
+        this.esperaAbiertoNanos = TimeUnit.SECONDS.toNanos(esperaAbiertoSegundos);
+        this.llamadasPrueba = llamadasPrueba;
+
+        Gauge.builder("cotizacion.validacion.circuito.estado", this, c -> c.estado.ordinal())
+                .description("Estado del circuito de la API de validación (0 = cerrado, 1 = abierto, 2 = semi-abierto)")
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("cotizacion.validacion.rechazos")
+                .tag("motivo", "circuito")
+                .description("Validaciones rechazadas sin llamar a la API")
+                .register(meterRegistry);
+        for (EstadoCircuito hacia : EstadoCircuito.values()) {
+            transiciones.put(hacia, Counter.builder("cotizacion.validacion.circuito.transiciones")
+                    .tag("hacia", hacia.name().toLowerCase())
+                    .description("Cambios de estado del circuito de la API de validación")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * ¿Puede salir una llamada ahora? Si devuelve true, hay que informar el resultado
+     * con {@link #registrarExito()} o {@link #registrarFallo()}.
+     */
+    public synchronized boolean permitir() {
+        if (!habilitado) {
+            return true;
+        }
+        if (estado == EstadoCircuito.ABIERTO) {
+            if (System.nanoTime() - abiertoHastaNanos < 0) {
+                rechazos.increment();
+                return false;
+            }
+            cambiarA(EstadoCircuito.SEMI_ABIERTO);
+            pruebasEnCurso = 0;
+            pruebasExitosas = 0;
+        }
+        if (estado == EstadoCircuito.SEMI_ABIERTO) {
+            if (pruebasEnCurso + pruebasExitosas >= llamadasPrueba) {
+                rechazos.increment();
+                return false;
+            }
+            pruebasEnCurso++;
+        }
+        return true;
+    }
+
+    public synchronized void registrarExito() {
+        if (!habilitado) {
+            return;
+        }
+        switch (estado) {
+            case CERRADO -> registrar(false);
+            case SEMI_ABIERTO -> {
+                pruebasEnCurso--;
+                pruebasExitosas++;
+                if (pruebasExitosas >= llamadasPrueba) {
+                    limpiarVentana();
+                    cambiarA(EstadoCircuito.CERRADO);
+                }
+            }
+            case ABIERTO -> { }
+        }
+    }
+
+    public synchronized void registrarFallo() {
+        if (!habilitado) {
+            return;
+        }
+        switch (estado) {
+            case CERRADO -> {
+                registrar(true);
+                if (registradas >= minLlamadas && fallosEnVentana * 100 >= umbralFallos * registradas) {
+                    abrir();
+                }
+            }
+            case SEMI_ABIERTO -> abrir();
+            case ABIERTO -> { }
+        }
+    }
+
+    public EstadoCircuito getEstado() {
+        return estado;
+    }
+
+    private void registrar(boolean fallo) {
+        if (registradas == ventana.length) {
+            // La ventana está llena: el resultado más viejo sale
+            if (ventana[posicion]) {
+                fallosEnVentana--;
+            }
+        } else {
+            registradas++;
+        }
+        ventana[posicion] = fallo;
+        if (fallo) {
+            fallosEnVentana++;
+        }
+        posicion = (posicion + 1) % ventana.length;
+    }
+
+    private void limpiarVentana() {
+        posicion = 0;
+        registradas = 0;
+        fallosEnVentana = 0;
+    }
+
+    private void abrir() {
+        abiertoHastaNanos = System.nanoTime() + esperaAbiertoNanos;
+        cambiarA(EstadoCircuito.ABIERTO);
+    }
+
+    private void cambiarA(EstadoCircuito nuevo) {
+        EstadoCircuito anterior = estado;
+        estado = nuevo;
+        transiciones.get(nuevo).increment();
+        if (nuevo == EstadoCircuito.ABIERTO) {
+            log.warn("Circuito de la API de validación ABIERTO ({} → {}): {} de {} llamadas recientes fallaron",
+                    anterior, nuevo, fallosEnVentana, registradas);
+        } else {
+            log.info("Circuito de la API de validación: {} → {}", anterior, nuevo);
+        }
+    }
+}
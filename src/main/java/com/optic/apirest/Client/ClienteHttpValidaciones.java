@@ -0,0 +1,250 @@
+package com.optic.apirest.Client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🌐 Cliente HTTP de la API de validación: conexiones reutilizadas y tiempos acotados.
+ *
+ * Antes era un RestTemplate por defecto, sin timeouts: una API lenta dejaba
+ * hilos de Tomcat colgados indefinidamente.
+ *
+ * - JDK HttpClient (HTTP/2 cuando el servidor lo soporta, si no HTTP/1.1 keep-alive):
+ *   un solo cliente para toda la aplicación, que reutiliza sus conexiones
+ * - Pool acotado: como mucho max-conexiones llamadas a la vez (semáforo). Quien no
+ *   consigue lugar en espera-pool-ms falla enseguida en vez de encolarse
+ * - Tres límites de tiempo:
+ *   1️⃣ conexion-timeout-ms: establecer la conexión (TCP/TLS)
+ *   2️⃣ lectura-timeout-ms: hasta recibir la respuesta (cabeceras)
+ *   3️⃣ total-timeout-ms: todo el pedido, espera del pool y cuerpo incluidos
+ * - Métricas: cotizacion.validacion.pool.en-uso, .utilizacion (0..1), .espera (Timer),
+ *   .rechazos y cotizacion.validacion.http.timeouts (etiqueta tipo = conexion | lectura | total)
+ *
+ * ⚠️ Cualquier fallo (timeout, pool lleno, HTTP no 2xx) sale como RuntimeException:
+ * quien llama decide el resultado por defecto.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.validacion.http.http2 (default: true)
+ * - cotizacion.validacion.http.conexion-timeout-ms (default: 1000)
+ * - cotizacion.validacion.http.lectura-timeout-ms (default: 2000)
+ * - cotizacion.validacion.http.total-timeout-ms (default: 3000)
+ * - cotizacion.validacion.http.max-conexiones (default: 20)
+ * - cotizacion.validacion.http.espera-pool-ms (default: 200)
+ * Las conexiones ociosas las cierra el JDK (jdk.httpclient.keepalive.timeout, en segundos).
+ */
+@Slf4j
+@Component
+public class ClienteHttpValidaciones {
+
+    private final HttpClient httpClient;
+    private final Duration lecturaTimeout;
+    private final long totalTimeoutNanos;
+    private final long esperaPoolMs;
+    private final int maxConexiones;
+    private final Semaphore conexiones;
+
+    private final Timer esperaPool;
+    private final Counter rechazosPool;
+    private final Counter timeoutsConexion;
+    private final Counter timeoutsLectura;
+    private final Counter timeoutsTotal;
+
+    public ClienteHttpValidaciones(
+            @Value("${cotizacion.validacion.http.http2:true}") boolean http2,
+            @Value("${cotizacion.validacion.http.conexion-timeout-ms:1000}") long conexionTimeoutMs,
+            @Value("${cotizacion.validacion.http.lectura-timeout-ms:2000}") long lecturaTimeoutMs,
+            @Value("${cotizacion.validacion.http.total-timeout-ms:3000}") long totalTimeoutMs,
+            @Value("${cotizacion.validacion.http.max-conexiones:20}") int maxConexiones,
+            @Value("${cotizacion.validacion.http.espera-pool-ms:200}") long esperaPoolMs,
+            MeterRegistry meterRegistry) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(conexionTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.lecturaTimeout = Duration.ofMillis(lecturaTimeoutMs);
+        this.totalTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(totalTimeoutMs);
+        this.esperaPoolMs = esperaPoolMs;
+        this.maxConexiones = maxConexiones;
+        this.conexiones = new Semaphore(maxConexiones);
+
+        Gauge.builder("cotizacion.validacion.pool.en-uso", this, ClienteHttpValidaciones::enUso)
+                .description("Llamadas a la API de validación en curso")
+                .register(meterRegistry);
+        Gauge.builder("cotizacion.validacion.pool.utilizacion", this, c -> (double) c.enUso() / c.maxConexiones)
+                .description("Proporción del pool de llamadas a la API de validación en uso (0..1)")
+                .register(meterRegistry);
+        this.esperaPool = Timer.builder("cotizacion.validacion.pool.espera")
+                .description("Tiempo esperando lugar en el pool antes de llamar a la API de validación")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rechazosPool = Counter.builder("cotizacion.validacion.pool.rechazos")
+                .description("Llamadas que no consiguieron lugar en el pool a tiempo")
+                .register(meterRegistry);
+        this.timeoutsConexion = contadorTimeouts(meterRegistry, "conexion");
+        this.timeoutsLectura = contadorTimeouts(meterRegistry, "lectura");
+        this.timeoutsTotal = contadorTimeouts(meterRegistry, "total");
+    }
+
+    private static Counter contadorTimeouts(MeterRegistry meterRegistry, String tipo) {
+        return Counter.builder("cotizacion.validacion.http.timeouts")
+                .tag("tipo", tipo)
+                .description("Llamadas a la API de validación cortadas por timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * GET a la URL indicada (bloquea hasta la respuesta o el primer límite de tiempo).
+     *
+     * @return Cuerpo de la respuesta (solo respuestas 2xx)
+     * @throws RuntimeException si vence algún límite de tiempo, el pool está lleno o la respuesta no es 2xx
+     */
+    public String get(String url) {
+        try {
+            return getAsync(url).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new RuntimeException("Error al llamar a la API de validación: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * GET sin bloquear durante la llamada (solo mientras espera lugar en el pool).
+     *
+     * El future falla con RuntimeException en los mismos casos que {@link #get(String)}.
+     * Cancelarlo corta el intercambio HTTP y libera el lugar del pool enseguida
+     * (así se descarta la más lenta de dos llamadas duplicadas).
+     */
+    public CompletableFuture<String> getAsync(String url) {
+        long inicio = System.nanoTime();
+        long limite = inicio + totalTimeoutNanos;
+
+        // Lugar en el pool (acotado por espera-pool-ms y por lo que queda del total)
+        long esperaMaximaNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(esperaPoolMs), totalTimeoutNanos);
+        boolean concedido;
+        try {
+            concedido = conexiones.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Interrumpido esperando lugar para llamar a la API de validación", e));
+        } finally {
+            esperaPool.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+        if (!concedido) {
+            rechazosPool.increment();
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Pool de la API de validación lleno (" + maxConexiones + " llamadas en curso)"));
+        }
+
+        long restanteNanos = limite - System.nanoTime();
+        if (restanteNanos <= 0) {
+            conexiones.release();
+            timeoutsTotal.increment();
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Timeout total de la API de validación (esperando lugar en el pool)"));
+        }
+        Duration restante = Duration.ofNanos(restanteNanos);
+        boolean lecturaAcotadaPorTotal = restante.compareTo(lecturaTimeout) < 0;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(lecturaAcotadaPorTotal ? restante : lecturaTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        // El lugar del pool se devuelve una sola vez, ANTES de entregar el resultado
+        AtomicBoolean liberado = new AtomicBoolean();
+        Runnable liberar = () -> {
+            if (liberado.compareAndSet(false, true)) {
+                conexiones.release();
+            }
+        };
+
+        CompletableFuture<String> resultado = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<String>> llamada = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        llamada.whenComplete((response, error) -> {
+            liberar.run();
+            if (error != null) {
+                fallar(resultado, error instanceof CompletionException ? error.getCause() : error, lecturaAcotadaPorTotal);
+            } else if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                resultado.completeExceptionally(new RuntimeException("La API de validación respondió HTTP " + response.statusCode()));
+            } else {
+                resultado.complete(response.body());
+            }
+        });
+
+        // 3️⃣ Límite total: cubre también la descarga del cuerpo
+        CompletableFuture.delayedExecutor(restanteNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (!resultado.isDone()) {
+                liberar.run();
+                fallarContando(resultado, new RuntimeException("Timeout total de la API de validación"), timeoutsTotal);
+            }
+        });
+
+        // Vencido o cancelado por quien llamó: se corta el intercambio, no queda una conexión ocupada de fondo
+        resultado.whenComplete((cuerpo, error) -> {
+            if (error != null && !llamada.isDone()) {
+                liberar.run();
+                llamada.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    // Traduce el error del JDK a un mensaje claro
+    private void fallar(CompletableFuture<String> resultado, Throwable causa, boolean lecturaAcotadaPorTotal) {
+        if (causa instanceof HttpConnectTimeoutException) {
+            fallarContando(resultado, new RuntimeException("Timeout de conexión con la API de validación", causa), timeoutsConexion);
+        } else if (causa instanceof HttpTimeoutException) {
+            // El timeout del request pudo ser lo que quedaba del total, no el de lectura
+            if (lecturaAcotadaPorTotal) {
+                fallarContando(resultado, new RuntimeException("Timeout total de la API de validación", causa), timeoutsTotal);
+            } else {
+                fallarContando(resultado, new RuntimeException("Timeout de lectura de la API de validación", causa), timeoutsLectura);
+            }
+        } else {
+            resultado.completeExceptionally(new RuntimeException("Error al llamar a la API de validación: " + causa.getMessage(), causa));
+        }
+    }
+
+    // Cuenta el timeout solo si es el que termina la llamada, y ANTES de entregarlo (quien espera ya lo ve contado)
+    private static void fallarContando(CompletableFuture<String> resultado, RuntimeException error, Counter contador) {
+        synchronized (resultado) {
+            if (!resultado.isDone()) {
+                contador.increment();
+                resultado.completeExceptionally(error);
+            }
+        }
+    }
+
+    private int enUso() {
+        return maxConexiones - conexiones.availablePermits();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        httpClient.close();
+        log.info("Cliente HTTP de la API de validación cerrado");
+    }
+}
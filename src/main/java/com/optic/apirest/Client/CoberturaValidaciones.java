@@ -0,0 +1,130 @@
+package com.optic.apirest.Client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🏇 Cobertura (hedging) de la llamada a la API de validación.
+ *
+ * El p99 de /register lo ponen unas pocas respuestas lentas de la API. Si la llamada
+ * tarda más que el percentil configurado de las latencias recientes, se manda UN
+ * pedido duplicado y se usa la primera respuesta que llegue (la otra se cancela).
+ *
+ * 1️⃣ Demora: percentil de un HistogramaLatencias de los últimos ventana-segundos
+ *    (nunca menos que demora-minima-ms). Sin min-muestras en la ventana no se duplica
+ * 2️⃣ Presupuesto: cada llamada suma presupuesto-porcentaje % de un duplicado
+ *    (se acumulan como mucho 10) y cada duplicado gasta uno entero. Así los duplicados
+ *    nunca superan presupuesto-porcentaje % de las llamadas, ni siquiera con la API lenta
+ *
+ * Métricas: cotizacion.validacion.cobertura.enviadas, .ganadas (el duplicado respondió
+ * primero), .sin-presupuesto y .demora-ms (demora vigente; -1 = sin muestras suficientes).
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.validacion.cobertura.habilitado (default: false)
+ * - cotizacion.validacion.cobertura.percentil (default: 95)
+ * - cotizacion.validacion.cobertura.min-muestras (default: 100)
+ * - cotizacion.validacion.cobertura.demora-minima-ms (default: 10)
+ * - cotizacion.validacion.cobertura.presupuesto-porcentaje (default: 5)
+ * - cotizacion.validacion.cobertura.ventana-segundos (default: 60)
+ */
+@Component
+public class CoberturaValidaciones {
+
+    // Presupuesto en milésimas de pedido duplicado
+    private static final long UN_DUPLICADO = 1000;
+    private static final long MAX_ACUMULADO = 10 * UN_DUPLICADO;
+
+    private final boolean habilitado;
+    private final double percentil;
+    private final long minMuestras;
+    private final long demoraMinimaMs;
+    private final long aportePorLlamada;
+    private final HistogramaLatencias histograma;
+    private final AtomicLong presupuesto = new AtomicLong();
+
+    private final Counter enviadas;
+    private final Counter ganadas;
+    private final Counter sinPresupuesto;
+
+    public CoberturaValidaciones(
+            @Value("${cotizacion.validacion.cobertura.habilitado:false}") boolean habilitado,
+            @Value("${cotizacion.validacion.cobertura.percentil:95}") double percentil,
+            @Value("${cotizacion.validacion.cobertura.min-muestras:100}") long minMuestras,
+            @Value("${cotizacion.validacion.cobertura.demora-minima-ms:10}") long demoraMinimaMs,
+            @Value("${cotizacion.validacion.cobertura.presupuesto-porcentaje:5}") double presupuestoPorcentaje,
+            @Value("${cotizacion.validacion.cobertura.ventana-segundos:60}") long ventanaSegundos,
+            MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.percentil = percentil;
+        this.minMuestras = minMuestras;
+        this.demoraMinimaMs = demoraMinimaMs;
+        this.aportePorLlamada = Math.round(presupuestoPorcentaje * UN_DUPLICADO / 100);
+        this.histograma = new HistogramaLatencias(ventanaSegundos);
+
+        this.enviadas = Counter.builder("cotizacion.validacion.cobertura.enviadas")
+                .description("Pedidos duplicados enviados a la API de validación")
+                .register(meterRegistry);
+        this.ganadas = Counter.builder("cotizacion.validacion.cobertura.ganadas")
+                .description("Pedidos duplicados que respondieron antes que el original")
+                .register(meterRegistry);
+        this.sinPresupuesto = Counter.builder("cotizacion.validacion.cobertura.sin-presupuesto")
+                .description("Duplicados no enviados por falta de presupuesto")
+                .register(meterRegistry);
+        Gauge.builder("cotizacion.validacion.cobertura.demora-ms", this, CoberturaValidaciones::demoraActualMs)
+                .description("Demora vigente antes de duplicar una llamada (-1 = sin muestras suficientes)")
+                .register(meterRegistry);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Registra una llamada nueva (suma su parte de presupuesto).
+     *
+     * @return Demora en ms antes de duplicarla, o -1 si no hay que duplicar
+     */
+    public long nuevaLlamada() {
+        presupuesto.accumulateAndGet(aportePorLlamada, (actual, aporte) -> Math.min(actual + aporte, MAX_ACUMULADO));
+        return demoraActualMs();
+    }
+
+    /**
+     * Gasta un duplicado del presupuesto.
+     *
+     * @return true si se puede enviar el duplicado
+     */
+    public boolean tomarPresupuesto() {
+        long actual;
+        do {
+            actual = presupuesto.get();
+            if (actual < UN_DUPLICADO) {
+                sinPresupuesto.increment();
+                return false;
+            }
+        } while (!presupuesto.compareAndSet(actual, actual - UN_DUPLICADO));
+        enviadas.increment();
+        return true;
+    }
+
+    public void registrarLatencia(long latenciaNanos) {
+        histograma.registrar(latenciaNanos);
+    }
+
+    public void registrarGanada() {
+        ganadas.increment();
+    }
+
+    private long demoraActualMs() {
+        if (!habilitado) {
+            return -1;
+        }
+        long demora = histograma.percentilMs(percentil, minMuestras);
+        return demora < 0 ? -1 : Math.max(demora, demoraMinimaMs);
+    }
+}
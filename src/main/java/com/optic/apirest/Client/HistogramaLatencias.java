@@ -0,0 +1,104 @@
+package com.optic.apirest.Client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 📊 Histograma de latencias con ventana móvil, para estimar percentiles recientes.
+ *
+ * - Cubetas fijas en milisegundos (más finas en lo rápido): registrar es un incremento atómico
+ * - La ventana se divide en TRAMOS tramos; al pasar el tiempo, el tramo más viejo se vacía
+ *   y se reutiliza, así el percentil refleja solo los últimos ventana-segundos
+ * - El percentil devuelve el límite superior de la cubeta: una estimación conservadora
+ *
+ * Un registro que cae justo mientras su tramo se vacía puede perderse: para estimar
+ * un percentil no importa.
+ */
+public class HistogramaLatencias {
+
+    private static final int TRAMOS = 6;
+    private static final long SIN_USO = Long.MIN_VALUE;
+
+    // Límite superior (ms) de cada cubeta; la última cubeta junta todo lo que supera al último
+    private static final long[] LIMITES_MS = {
+            1, 2, 3, 4, 5, 6, 8, 10, 12, 15, 20, 25, 30, 40, 50, 60, 80, 100, 120, 150,
+            200, 250, 300, 400, 500, 600, 800, 1000, 1200, 1500, 2000, 2500, 3000, 4000, 5000
+    };
+
+    private final long duracionTramoNanos;
+    private final Tramo[] tramos = new Tramo[TRAMOS];
+
+    private static final class Tramo {
+        final AtomicLongArray conteos = new AtomicLongArray(LIMITES_MS.length + 1);
+        volatile long periodo = SIN_USO;
+    }
+
+    public HistogramaLatencias(long ventanaSegundos) {
+        this.duracionTramoNanos = Math.max(1, TimeUnit.SECONDS.toNanos(ventanaSegundos) / TRAMOS);
+        for (int i = 0; i < TRAMOS; i++) {
+            tramos[i] = new Tramo();
+        }
+    }
+
+    public void registrar(long latenciaNanos) {
+        long periodo = System.nanoTime() / duracionTramoNanos;
+        Tramo tramo = tramos[Math.floorMod(periodo, TRAMOS)];
+        if (tramo.periodo != periodo) {
+            synchronized (tramo) {
+                if (tramo.periodo != periodo) {
+                    for (int i = 0; i < tramo.conteos.length(); i++) {
+                        tramo.conteos.set(i, 0);
+                    }
+                    tramo.periodo = periodo;
+                }
+            }
+        }
+        tramo.conteos.incrementAndGet(cubeta(TimeUnit.NANOSECONDS.toMillis(latenciaNanos)));
+    }
+
+    /**
+     * Percentil de la ventana actual.
+     *
+     * @param percentil   0..100 (ej. 95)
+     * @param minMuestras Muestras necesarias para que el valor sea confiable
+     * @return Latencia en ms, o -1 si todavía no hay minMuestras en la ventana
+     */
+    public long percentilMs(double percentil, long minMuestras) {
+        long actual = System.nanoTime() / duracionTramoNanos;
+        long[] acumulado = new long[LIMITES_MS.length + 1];
+        long total = 0;
+        for (Tramo tramo : tramos) {
+            long periodo = tramo.periodo;
+            if (periodo == SIN_USO || actual - periodo >= TRAMOS) {
+                continue; // tramo vencido (o nunca usado)
+            }
+            for (int i = 0; i < acumulado.length; i++) {
+                long conteo = tramo.conteos.get(i);
+                acumulado[i] += conteo;
+                total += conteo;
+            }
+        }
+        if (total == 0 || total < minMuestras) {
+            return -1;
+        }
+
+        long objetivo = (long) Math.ceil(total * percentil / 100.0);
+        long vistos = 0;
+        for (int i = 0; i < acumulado.length; i++) {
+            vistos += acumulado[i];
+            if (vistos >= objetivo) {
+                return i < LIMITES_MS.length ? LIMITES_MS[i] : LIMITES_MS[LIMITES_MS.length - 1];
+            }
+        }
+        return LIMITES_MS[LIMITES_MS.length - 1];
+    }
+
+    private static int cubeta(long latenciaMs) {
+        for (int i = 0; i < LIMITES_MS.length; i++) {
+            if (latenciaMs <= LIMITES_MS[i]) {
+                return i;
+            }
+        }
+        return LIMITES_MS.length;
+    }
+}
@@ -0,0 +1,14 @@
+package com.optic.apirest.Client;
+
+/**
+ * Qué hacer cuando no se puede obtener la validación externa
+ * (API caída, timeout, circuito abierto o bulkhead lleno).
+ */
+public enum PoliticaRespaldoValidacion {
+
+    /** Resultado por defecto: riesgo 3 / RECHAZADO, marcado como respaldo (comportamiento histórico) */
+    RECHAZAR,
+
+    /** Falla enseguida con un error: la solicitud no se cotiza y el cliente puede reintentar */
+    FALLAR
+}
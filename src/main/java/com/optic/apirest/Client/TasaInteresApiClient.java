@@ -1,56 +1,264 @@
 package com.optic.apirest.Client;
 
 import com.optic.apirest.dto.apiValidarHistorial.ValidacionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente de la API de validación de clientes (riesgo y resultado por DNI).
+ *
+ * 🗄️ Caché por DNI (CacheValidaciones) y, en los fallos de caché, SINGLE-FLIGHT:
+ * si varios hilos piden el mismo DNI a la vez (doble clic, simular + registrar),
+ * solo el primero hace la llamada HTTP y el resto espera su mismo CompletableFuture.
+ * - Sin lock global: un mapa concurrente DNI → llamada en curso (putIfAbsent)
+ * - La entrada se borra siempre al terminar, también si la llamada falla
+ *   (los que esperaban reciben la misma excepción y el próximo pedido reintenta)
+ * - Métrica cotizacion.validacion.coalescidas: llamadas evitadas por esperar una en curso
+ *
+ * 🌐 La llamada HTTP la hace ClienteHttpValidaciones (pool de conexiones y timeouts).
+ *
+ * 🛡️ Protección ante una API degradada (cada llamada real pasa por, en orden):
+ * 1️⃣ BulkheadValidaciones: tope de validaciones externas simultáneas
+ * 2️⃣ CircuitBreakerValidaciones: con la API fallando, no se la llama (falla enseguida)
+ *    Los rechazos de 1️⃣ y 2️⃣ son locales: salen como ValidacionNoDisponibleException (503)
+ * 3️⃣ Si la API no responde, se aplica la política de respaldo configurada
+ *    (RECHAZAR = riesgo 3 / RECHAZADO marcado como respaldo, que no se cachea ni se
+ *    guarda como solicitud; FALLAR = ValidacionNoDisponibleException)
+ * Un DNI que la API no conoce no es un fallo de la API: no afecta al circuito
+ * y recibe riesgo 3 / RECHAZADO como respuesta real.
+ *
+ * 🏇 Cobertura opcional (CoberturaValidaciones): si la llamada tarda más que el percentil
+ * reciente, se manda un duplicado y gana la primera respuesta; la otra se cancela.
+ * Para el circuito y el bulkhead sigue siendo UNA validación.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.validacion.url (default: la MockAPI de validaciones)
+ * - cotizacion.validacion.respaldo (default: RECHAZAR; RECHAZAR | FALLAR)
+ */
+@Slf4j
 @Component
 public class TasaInteresApiClient {
 
-    private final RestTemplate restTemplate;
+    private final ClienteHttpValidaciones clienteHttp;
+    private final CacheValidaciones cacheValidaciones;
+    private final CircuitBreakerValidaciones circuito;
+    private final BulkheadValidaciones bulkhead;
+    private final CoberturaValidaciones cobertura;
+    private final String urlValidaciones;
+    private final PoliticaRespaldoValidacion politicaRespaldo;
+
+    // DNI → llamada en curso; solo vive mientras dura la llamada
+    private final ConcurrentMap<String, CompletableFuture<ValidacionResponse>> enCurso = new ConcurrentHashMap<>();
+    private final Counter coalescidas;
 
-    public TasaInteresApiClient(RestTemplateBuilder builder) {
-        this.restTemplate = builder.build();
+    public TasaInteresApiClient(
+            ClienteHttpValidaciones clienteHttp,
+            CacheValidaciones cacheValidaciones,
+            CircuitBreakerValidaciones circuito,
+            BulkheadValidaciones bulkhead,
+            CoberturaValidaciones cobertura,
+            @Value("${cotizacion.validacion.url:https://6905b47eee3d0d14c1337027.mockapi.io/validaciones}") String urlValidaciones,
+            @Value("${cotizacion.validacion.respaldo:RECHAZAR}") PoliticaRespaldoValidacion politicaRespaldo,
+            MeterRegistry meterRegistry) {
+        this.clienteHttp = clienteHttp;
+        this.cacheValidaciones = cacheValidaciones;
+        this.circuito = circuito;
+        this.bulkhead = bulkhead;
+        this.cobertura = cobertura;
+        this.urlValidaciones = urlValidaciones;
+        this.politicaRespaldo = politicaRespaldo;
+        this.coalescidas = Counter.builder("cotizacion.validacion.coalescidas")
+                .description("Validaciones que esperaron una llamada en curso para el mismo DNI en vez de hacer otra")
+                .register(meterRegistry);
     }
 
-    // Método que obtiene riesgo y resultado_validacion desde MockAPI según el DNI
+    // Método que obtiene riesgo y resultado_validacion según el DNI (desde la caché si hay una vigente)
     public ValidacionResponse obtenerValidacionCliente(String dni) {
+        ValidacionResponse guardada = cacheValidaciones.buscar(dni);
+        if (guardada != null) {
+            return guardada;
+        }
+
+        // 1️⃣ ¿Ya hay una llamada en curso para este DNI? → esperar esa
+        CompletableFuture<ValidacionResponse> propia = new CompletableFuture<>();
+        CompletableFuture<ValidacionResponse> existente = enCurso.putIfAbsent(dni, propia);
+        if (existente != null) {
+            coalescidas.increment();
+            return esperar(existente);
+        }
+
+        // 2️⃣ Este hilo hace la llamada (la caché se vuelve a mirar: otro pudo terminar recién)
         try {
-            // Incluimos el filtro por DNI
-            String url = "https://6905b47eee3d0d14c1337027.mockapi.io/validaciones?dni=" + dni;
+            ValidacionResponse validacion = cacheValidaciones.obtener(dni, this::consultarApi);
+            propia.complete(validacion);
+            return validacion;
+        } catch (RuntimeException | Error e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 3️⃣ Siempre se libera: remove(clave, valor) no borra una llamada más nueva del mismo DNI
+            enCurso.remove(dni, propia);
+        }
+    }
 
-            // Llamada HTTP
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+    private static <T> T esperar(CompletableFuture<T> llamada) {
+        try {
+            return llamada.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                JSONArray jsonArray = new JSONArray(response.getBody());
+    // Llamada real, protegida por el bulkhead y el circuito
+    private ValidacionResponse consultarApi(String dni) {
+        // Rechazos locales: no son una respuesta de la API, salen como error (nunca como RECHAZADO)
+        if (!bulkhead.entrar()) {
+            throw noDisponible("demasiadas validaciones en curso");
+        }
+        try {
+            if (!circuito.permitir()) {
+                throw noDisponible("circuito abierto");
+            }
+            ValidacionResponse result;
+            try {
+                result = llamarApi(dni);
+            } catch (RuntimeException e) {
+                circuito.registrarFallo();
+                return respaldo(dni, e.getMessage());
+            }
+            circuito.registrarExito();
+            if (result == null) {
+                // La API respondió, pero no conoce el DNI
+                log.warn("MockAPI sin datos para DNI {}", dni);
+                return resultadoPorDefecto(dni, false);
+            }
+            return result;
+        } finally {
+            bulkhead.liberar();
+        }
+    }
 
-                if (jsonArray.length() > 0) {
-                    JSONObject data = jsonArray.getJSONObject(0);
+    // Llamada HTTP a MockAPI (con timeouts); null si la API no tiene datos del DNI
+    private ValidacionResponse llamarApi(String dni) {
+        // Incluimos el filtro por DNI
+        String url = urlValidaciones + "?dni=" + dni;
 
-                    // Extraemos los datos
-                    ValidacionResponse result = new ValidacionResponse();
-                    result.setDni(data.getString("dni"));
-                    result.setRiesgo(data.getInt("riesgo"));
-                    result.setResultadoValidacion(data.getString("resultado_validacion"));
+        String cuerpo = cobertura.isHabilitado() ? esperar(conCobertura(url)) : clienteHttp.get(url);
+        JSONArray jsonArray = new JSONArray(cuerpo);
+        if (jsonArray.length() == 0) {
+            return null;
+        }
+        JSONObject data = jsonArray.getJSONObject(0);
 
-                    System.out.println("✅ API Mock obtenida para DNI " + dni + ": Riesgo " + result.getRiesgo() + ", Resultado " + result.getResultadoValidacion());
-                    return result;
-                }
+        // Extraemos los datos
+        ValidacionResponse result = new ValidacionResponse();
+        result.setDni(data.getString("dni"));
+        result.setRiesgo(data.getInt("riesgo"));
+        result.setResultadoValidacion(data.getString("resultado_validacion"));
+
+        log.debug("API Mock obtenida para DNI {}: riesgo {}, resultado {}", dni, result.getRiesgo(), result.getResultadoValidacion());
+        return result;
+    }
+
+    // 1️⃣ Llamada normal; 2️⃣ si no respondió en la demora y hay presupuesto, un duplicado; 3️⃣ gana la primera
+    private CompletableFuture<String> conCobertura(String url) {
+        long demoraMs = cobertura.nuevaLlamada();
+        long inicio = System.nanoTime();
+        CompletableFuture<String> primera = clienteHttp.getAsync(url);
+        // Latencia de la llamada original; si la cancela el duplicado se registra lo que llevaba
+        // (cota inferior), para que las lentas sigan pesando en el percentil
+        primera.whenComplete((cuerpo, error) -> {
+            if (error == null || primera.isCancelled()) {
+                cobertura.registrarLatencia(System.nanoTime() - inicio);
+            }
+        });
+
+        if (demoraMs < 0 || terminaDentroDe(primera, demoraMs) || !cobertura.tomarPresupuesto()) {
+            return primera;
+        }
+
+        CompletableFuture<String> segunda = clienteHttp.getAsync(url);
+        CompletableFuture<String> ganadora = new CompletableFuture<>();
+        AtomicInteger fallidas = new AtomicInteger();
+        primera.whenComplete((cuerpo, error) -> alTerminar(ganadora, cuerpo, error, fallidas, false));
+        segunda.whenComplete((cuerpo, error) -> alTerminar(ganadora, cuerpo, error, fallidas, true));
+        // La que pierde se cancela: libera su conexión (cancelar una ya terminada no hace nada)
+        ganadora.whenComplete((cuerpo, error) -> {
+            primera.cancel(true);
+            segunda.cancel(true);
+        });
+        return ganadora;
+    }
+
+    // Gana la primera respuesta correcta; solo si fallan las dos, falla la validación
+    private void alTerminar(CompletableFuture<String> ganadora, String cuerpo, Throwable error,
+                            AtomicInteger fallidas, boolean esDuplicado) {
+        if (error == null) {
+            if (ganadora.complete(cuerpo) && esDuplicado) {
+                cobertura.registrarGanada();
             }
-        } catch (Exception e) {
-            System.out.println("⚠️ Error al consultar MockAPI: " + e.getMessage());
+        } else if (fallidas.incrementAndGet() == 2) {
+            ganadora.completeExceptionally(error);
         }
+    }
+
+    private static boolean terminaDentroDe(CompletableFuture<String> llamada, long demoraMs) {
+        try {
+            llamada.get(demoraMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true; // falló rápido: no se duplica, el error lo ve el circuito
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    // Sin respuesta real: según la política, resultado por defecto o error inmediato
+    private ValidacionResponse respaldo(String dni, String motivo) {
+        log.warn("Error al consultar MockAPI para DNI {}: {}", dni, motivo);
+        if (politicaRespaldo == PoliticaRespaldoValidacion.FALLAR) {
+            throw noDisponible(motivo);
+        }
+        return resultadoPorDefecto(dni, true);
+    }
+
+    private static ValidacionNoDisponibleException noDisponible(String motivo) {
+        return new ValidacionNoDisponibleException("La validación del cliente no está disponible en este momento ("
+                + motivo + "). Intente nuevamente en unos segundos.");
+    }
 
-        // Si falla la consulta, devolvemos un objeto por defecto
+    /**
+     * Riesgo 3 / RECHAZADO.
+     *
+     * @param respaldo true si la API no respondió (no se cachea ni se guarda);
+     *                 false si respondió sin datos del DNI (es una respuesta real)
+     */
+    private static ValidacionResponse resultadoPorDefecto(String dni, boolean respaldo) {
         ValidacionResponse fallback = new ValidacionResponse();
         fallback.setDni(dni);
         fallback.setRiesgo(3); // Riesgo alto por defecto
         fallback.setResultadoValidacion("RECHAZADO");
+        fallback.setRespaldo(respaldo);
         return fallback;
     }
 }
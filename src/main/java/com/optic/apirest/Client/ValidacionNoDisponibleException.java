@@ -0,0 +1,15 @@
+package com.optic.apirest.Client;
+
+/**
+ * La validación externa no se pudo obtener (circuito abierto, bulkhead lleno o,
+ * con la política FALLAR, la API no respondió).
+ *
+ * No es una respuesta de negocio: nunca se guarda ni se cachea como rechazo.
+ * Los controladores la devuelven como 503 para que el cliente reintente.
+ */
+public class ValidacionNoDisponibleException extends RuntimeException {
+
+    public ValidacionNoDisponibleException(String message) {
+        super(message);
+    }
+}
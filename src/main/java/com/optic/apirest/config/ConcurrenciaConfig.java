@@ -0,0 +1,54 @@
+package com.optic.apirest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🧵 Pools de hilos de la aplicación.
+ *
+ * validacionesExecutor: llamadas concurrentes a la API externa de validación.
+ * Su tamaño es el máximo de validaciones simultáneas (fan-out acotado), así un
+ * lote grande no abre cientos de conexiones a la vez.
+ *
+ * reprecioExecutor: UN solo hilo para el reprecio de cartera en segundo plano
+ * (nunca corren dos reprecios a la vez; el cálculo en paralelo lo hace cada lote).
+ *
+ * tasasScheduler: UN hilo que revisa la tabla de tasas cada cierto tiempo, fuera
+ * de los hilos que atienden cotizaciones.
+ *
+ * 📌 CONFIGURACIÓN: cotizacion.lote.max-concurrencia (default: 16)
+ */
+@Configuration
+public class ConcurrenciaConfig {
+
+    @Bean(name = "validacionesExecutor", destroyMethod = "shutdown")
+    public ExecutorService validacionesExecutor(@Value("${cotizacion.lote.max-concurrencia:16}") int maxConcurrencia) {
+        return Executors.newFixedThreadPool(maxConcurrencia, hilosConNombre("validacion-"));
+    }
+
+    @Bean(name = "reprecioExecutor", destroyMethod = "shutdown")
+    public ExecutorService reprecioExecutor() {
+        return Executors.newSingleThreadExecutor(hilosConNombre("reprecio-"));
+    }
+
+    @Bean(name = "tasasScheduler", destroyMethod = "shutdown")
+    public ScheduledExecutorService tasasScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(hilosConNombre("tasas-"));
+    }
+
+    private static ThreadFactory hilosConNombre(String prefijo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, prefijo + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.optic.apirest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🎯 PRINCIPIO SOLID APLICADO: Single Responsibility (SRP)
+ *
+ * Centraliza los COSTOS del crédito distintos a la tasa de interés
+ * (los que la TCEA regulatoria debe incluir). Acompaña a TasaInteresConfig.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.costos.comision-desembolso: monto fijo cobrado al desembolsar (default: 0)
+ * - cotizacion.costos.comision-mensual: monto fijo cobrado con cada cuota (default: 0)
+ * - cotizacion.costos.seguro-desgravamen-mensual: % mensual sobre el saldo (ej: 0.028) (default: 0)
+ *
+ * Si todos son cero, la TCEA es la tasa nominal capitalizada (comportamiento original).
+ */
+@Component
+public class CostosCreditoConfig {
+
+    private final double comisionDesembolso;
+    private final double comisionMensual;
+    private final double tasaSeguroDesgravamenMensual;
+
+    public CostosCreditoConfig(
+            @Value("${cotizacion.costos.comision-desembolso:0}") double comisionDesembolso,
+            @Value("${cotizacion.costos.comision-mensual:0}") double comisionMensual,
+            @Value("${cotizacion.costos.seguro-desgravamen-mensual:0}") double seguroDesgravamenMensual) {
+        this.comisionDesembolso = comisionDesembolso;
+        this.comisionMensual = comisionMensual;
+        this.tasaSeguroDesgravamenMensual = seguroDesgravamenMensual / 100.0; // porcentaje → decimal
+    }
+
+    /**
+     * Indica si hay algún costo adicional que deba entrar en la TCEA.
+     */
+    public boolean tieneCostos() {
+        return comisionDesembolso != 0 || comisionMensual != 0 || tasaSeguroDesgravamenMensual != 0;
+    }
+
+    public double getComisionDesembolso() {
+        return comisionDesembolso;
+    }
+
+    public double getComisionMensual() {
+        return comisionMensual;
+    }
+
+    /**
+     * Seguro de desgravamen mensual como decimal (0.028% → 0.00028).
+     */
+    public double getTasaSeguroDesgravamenMensual() {
+        return tasaSeguroDesgravamenMensual;
+    }
+}
@@ -0,0 +1,94 @@
+package com.optic.apirest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🎯 PRINCIPIO SOLID APLICADO: Single Responsibility (SRP)
+ *
+ * Centraliza los PARÁMETROS de riesgo de crédito de la simulación de cartera.
+ * Acompaña a TasaInteresConfig: mismo nivel de riesgo (1, 2, 3+), otra pregunta
+ * (qué tan probable es que el cliente deje de pagar).
+ *
+ * 📌 CONFIGURACIÓN (application.properties, todos en %):
+ * - cotizacion.riesgo.pd-riesgo-bajo: probabilidad anual de incumplimiento, riesgo 1 (default: 1)
+ * - cotizacion.riesgo.pd-riesgo-medio: riesgo 2 (default: 3)
+ * - cotizacion.riesgo.pd-riesgo-alto: riesgo 3+ (default: 8)
+ * - cotizacion.riesgo.lgd: pérdida sobre el saldo cuando hay incumplimiento (default: 45)
+ * - cotizacion.riesgo.correlacion: correlación con el ciclo económico (default: 15, la de Basilea para hipotecas)
+ * - cotizacion.riesgo.max-trayectorias: tope por simulación (default: 1000000; cada trayectoria ocupa 8 bytes, ~8 MB por simulación)
+ *
+ * ⚠️ Se valida al arrancar: PD y LGD entre 0 y 100, correlación en [0, 100) (con 100 la
+ * parte idiosincrática divide por cero) y al menos una trayectoria.
+ */
+@Component
+public class RiesgoCarteraConfig {
+
+    public static final int NIVELES_RIESGO = 3;
+
+    private final double[] probabilidadIncumplimientoAnual;
+    private final double lgd;
+    private final double correlacion;
+    private final int maxTrayectorias;
+
+    public RiesgoCarteraConfig(
+            @Value("${cotizacion.riesgo.pd-riesgo-bajo:1}") double pdRiesgoBajo,
+            @Value("${cotizacion.riesgo.pd-riesgo-medio:3}") double pdRiesgoMedio,
+            @Value("${cotizacion.riesgo.pd-riesgo-alto:8}") double pdRiesgoAlto,
+            @Value("${cotizacion.riesgo.lgd:45}") double lgd,
+            @Value("${cotizacion.riesgo.correlacion:15}") double correlacion,
+            @Value("${cotizacion.riesgo.max-trayectorias:1000000}") int maxTrayectorias) {
+        validarPorcentaje("cotizacion.riesgo.pd-riesgo-bajo", pdRiesgoBajo);
+        validarPorcentaje("cotizacion.riesgo.pd-riesgo-medio", pdRiesgoMedio);
+        validarPorcentaje("cotizacion.riesgo.pd-riesgo-alto", pdRiesgoAlto);
+        validarPorcentaje("cotizacion.riesgo.lgd", lgd);
+        if (!(correlacion >= 0 && correlacion < 100)) {
+            throw new IllegalArgumentException("cotizacion.riesgo.correlacion debe estar entre 0 y 100 (sin incluir 100): " + correlacion);
+        }
+        if (maxTrayectorias < 1) {
+            throw new IllegalArgumentException("cotizacion.riesgo.max-trayectorias debe ser al menos 1: " + maxTrayectorias);
+        }
+        // porcentaje → decimal
+        this.probabilidadIncumplimientoAnual = new double[]{pdRiesgoBajo / 100.0, pdRiesgoMedio / 100.0, pdRiesgoAlto / 100.0};
+        this.lgd = lgd / 100.0;
+        this.correlacion = correlacion / 100.0;
+        this.maxTrayectorias = maxTrayectorias;
+    }
+
+    private static void validarPorcentaje(String propiedad, double valor) {
+        if (!(valor >= 0 && valor <= 100)) {
+            throw new IllegalArgumentException(propiedad + " debe estar entre 0 y 100: " + valor);
+        }
+    }
+
+    /**
+     * Posición del nivel de riesgo (0, 1, 2). Sin riesgo se asume el más alto,
+     * igual que TasaInteresConfig.obtenerTasaPorRiesgo.
+     */
+    public static int indiceNivel(Integer riesgo) {
+        if (riesgo == null) {
+            return NIVELES_RIESGO - 1;
+        }
+        return switch (riesgo) {
+            case 1 -> 0;
+            case 2 -> 1;
+            default -> 2;
+        };
+    }
+
+    public double getProbabilidadIncumplimientoAnual(int indiceNivel) {
+        return probabilidadIncumplimientoAnual[indiceNivel];
+    }
+
+    public double getLgd() {
+        return lgd;
+    }
+
+    public double getCorrelacion() {
+        return correlacion;
+    }
+
+    public int getMaxTrayectorias() {
+        return maxTrayectorias;
+    }
+}
@@ -99,6 +99,10 @@ public class SecurityConfig {
                         
                         // Rutas de admin (requieren rol ADMIN)
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Monte Carlo de la cartera: pesado y con datos de toda la cartera
+                        .requestMatchers("/api/dashboard/riesgo-cartera").hasRole("ADMIN")
+                        // Estrés de tasas: recorre toda la cartera aprobada
+                        .requestMatchers("/api/dashboard/estres-tasas").hasRole("ADMIN")
                         
                         // Todas las demás rutas requieren autenticación
                         .anyRequest().authenticated()
@@ -0,0 +1,60 @@
+package com.optic.apirest.config;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 📸 Foto INMUTABLE de la tabla de tasas vigente (una tasa por nivel de riesgo).
+ *
+ * Nunca se modifica: una recarga arma una foto nueva completa y TasaInteresConfig
+ * la publica con un solo set() atómico. Quien tomó una foto cotiza con esas tasas
+ * hasta terminar, aunque en el medio se publique otra.
+ *
+ * La versión viene de la tabla tasas_interes (0 = tasas por defecto, sin base de datos)
+ * y se guarda en cada solicitud para saber con qué tasas se cotizó.
+ */
+public final class TablaTasasInteres {
+
+    private final long version;
+    private final BigDecimal tasaRiesgoBajo;
+    private final BigDecimal tasaRiesgoMedio;
+    private final BigDecimal tasaRiesgoAlto;
+    private final String origen;
+    private final LocalDateTime cargadaEn;
+
+    public TablaTasasInteres(long version, BigDecimal tasaRiesgoBajo, BigDecimal tasaRiesgoMedio,
+                             BigDecimal tasaRiesgoAlto, String origen) {
+        this.version = version;
+        this.tasaRiesgoBajo = tasaRiesgoBajo;
+        this.tasaRiesgoMedio = tasaRiesgoMedio;
+        this.tasaRiesgoAlto = tasaRiesgoAlto;
+        this.origen = origen;
+        this.cargadaEn = LocalDateTime.now();
+    }
+
+    /**
+     * Tasa anual según el nivel de riesgo (1 = bajo, 2 = medio, 3+ o null = alto).
+     */
+    public BigDecimal tasaPorRiesgo(Integer riesgo) {
+        if (riesgo == null) {
+            return tasaRiesgoAlto; // Por defecto, tasa más alta si no hay riesgo
+        }
+        return switch (riesgo) {
+            case 1 -> tasaRiesgoBajo;
+            case 2 -> tasaRiesgoMedio;
+            default -> tasaRiesgoAlto;
+        };
+    }
+
+    public long getVersion() { return version; }
+    public BigDecimal getTasaRiesgoBajo() { return tasaRiesgoBajo; }
+    public BigDecimal getTasaRiesgoMedio() { return tasaRiesgoMedio; }
+    public BigDecimal getTasaRiesgoAlto() { return tasaRiesgoAlto; }
+    public String getOrigen() { return origen; }
+    public LocalDateTime getCargadaEn() { return cargadaEn; }
+
+    public List<BigDecimal> getTasasVigentes() {
+        return List.of(tasaRiesgoBajo, tasaRiesgoMedio, tasaRiesgoAlto);
+    }
+}
@@ -3,62 +3,97 @@ package com.optic.apirest.config;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 🎯 PRINCIPIO SOLID APLICADO: Single Responsibility (SRP)
- * 
- * Esta clase tiene UNA SOLA responsabilidad: 
+ *
+ * Esta clase tiene UNA SOLA responsabilidad:
  * Centralizar la configuración de tasas de interés según el nivel de riesgo.
- * 
+ *
  * ✅ VENTAJAS:
- * - Si las tasas cambian, solo modificas ESTE archivo
+ * - Las tasas se cambian en la tabla tasas_interes, sin redesplegar (ver RecargaTasasService)
  * - Fácil de testear
  * - Código más limpio y mantenible
- * 
- * 📌 USO: Se inyecta donde se necesite obtener la tasa según riesgo
+ *
+ * 🔄 RECARGA EN CALIENTE: las tasas viven en una foto inmutable (TablaTasasInteres)
+ * dentro de un AtomicReference. obtenerTasaPorRiesgo solo lee la referencia (sin locks)
+ * y una recarga publica la foto nueva con un set(): nunca bloquea una cotización en curso.
+ *
+ * 📌 USO: Se inyecta donde se necesite obtener la tasa según riesgo.
+ * Si además se guarda la versión de las tasas, usar getTablaVigente() UNA vez y
+ * sacar de esa misma foto la tasa y la versión.
  */
 @Component
 public class TasaInteresConfig {
 
     // ═══════════════════════════════════════════════════════════════
-    // 📊 TASAS DE INTERÉS ANUALES (%) - MODIFICAR AQUÍ SI CAMBIAN
+    // 📊 TASAS POR DEFECTO (%) - hasta que se carga la tabla tasas_interes
     // ═══════════════════════════════════════════════════════════════
-    
+
     private static final BigDecimal TASA_RIESGO_BAJO = BigDecimal.valueOf(7.5);    // Riesgo 1
     private static final BigDecimal TASA_RIESGO_MEDIO = BigDecimal.valueOf(8.5);   // Riesgo 2
     private static final BigDecimal TASA_RIESGO_ALTO = BigDecimal.valueOf(9.5);    // Riesgo 3+
 
+    private final AtomicReference<TablaTasasInteres> tablaVigente = new AtomicReference<>(
+            new TablaTasasInteres(0, TASA_RIESGO_BAJO, TASA_RIESGO_MEDIO, TASA_RIESGO_ALTO, "por-defecto"));
+
     /**
      * Obtiene la tasa de interés anual según el nivel de riesgo del cliente.
-     *  
+     *
      * @param riesgo Nivel de riesgo (1 = bajo, 2 = medio, 3+ = alto)
      * @return Tasa de interés anual como BigDecimal
      */
     public BigDecimal obtenerTasaPorRiesgo(Integer riesgo) {
-        if (riesgo == null) {
-            return TASA_RIESGO_ALTO; // Por defecto, tasa más alta si no hay riesgo
-        }
-        
-        return switch (riesgo) {
-            case 1 -> TASA_RIESGO_BAJO;
-            case 2 -> TASA_RIESGO_MEDIO;
-            default -> TASA_RIESGO_ALTO;
-        };
+        return tablaVigente.get().tasaPorRiesgo(riesgo);
+    }
+
+    /**
+     * Foto vigente de las tasas (tasas + versión, siempre coherentes entre sí).
+     */
+    public TablaTasasInteres getTablaVigente() {
+        return tablaVigente.get();
+    }
+
+    /**
+     * Publica una tabla nueva si es más reciente que la vigente.
+     * Dos recargas simultáneas no pueden volver a una versión anterior.
+     *
+     * @return true si la tabla quedó publicada
+     */
+    public boolean publicar(TablaTasasInteres nueva) {
+        TablaTasasInteres actual;
+        do {
+            actual = tablaVigente.get();
+            if (nueva.getVersion() <= actual.getVersion()) {
+                return false;
+            }
+        } while (!tablaVigente.compareAndSet(actual, nueva));
+        return true;
     }
 
     // ═══════════════════════════════════════════════════════════════
     // 📋 GETTERS para acceso directo si se necesitan
     // ═══════════════════════════════════════════════════════════════
-    
+
     public BigDecimal getTasaRiesgoBajo() {
-        return TASA_RIESGO_BAJO;
+        return tablaVigente.get().getTasaRiesgoBajo();
     }
 
     public BigDecimal getTasaRiesgoMedio() {
-        return TASA_RIESGO_MEDIO;
+        return tablaVigente.get().getTasaRiesgoMedio();
     }
 
     public BigDecimal getTasaRiesgoAlto() {
-        return TASA_RIESGO_ALTO;
+        return tablaVigente.get().getTasaRiesgoAlto();
+    }
+
+    /**
+     * Todas las tasas vigentes (una por nivel de riesgo).
+     * Se usa para precalcular factores por tasa.
+     */
+    public List<BigDecimal> getTasasVigentes() {
+        return tablaVigente.get().getTasasVigentes();
     }
 }
@@ -0,0 +1,39 @@
+package com.optic.apirest.config;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 📣 Evento que se publica cuando cambia el conjunto de tasas de interés.
+ *
+ * Los componentes que precalculan valores a partir de las tasas
+ * (tabla de factores, cachés, etc.) lo escuchan con @EventListener
+ * para reconstruirse.
+ *
+ * cargaInicial = primera carga desde la base de datos al arrancar: las tasas
+ * no cambiaron "ahora", solo se reemplazaron las tasas por defecto.
+ */
+public class TasasInteresActualizadasEvent {
+
+    private final long version;
+    private final List<BigDecimal> tasasVigentes;
+    private final boolean cargaInicial;
+
+    public TasasInteresActualizadasEvent(long version, List<BigDecimal> tasasVigentes, boolean cargaInicial) {
+        this.version = version;
+        this.tasasVigentes = List.copyOf(tasasVigentes);
+        this.cargaInicial = cargaInicial;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<BigDecimal> getTasasVigentes() {
+        return tasasVigentes;
+    }
+
+    public boolean isCargaInicial() {
+        return cargaInicial;
+    }
+}
@@ -1,20 +1,35 @@
 package com.optic.apirest.controllers;
 
 import com.optic.apirest.dto.dashboard.DashboardResponse;
+import com.optic.apirest.dto.dashboard.EstresTasasResponse;
+import com.optic.apirest.dto.dashboard.RiesgoCarteraResponse;
 import com.optic.apirest.services.DashboardService;
+import com.optic.apirest.services.EstresTasasService;
+import com.optic.apirest.services.RiesgoCarteraService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final RiesgoCarteraService riesgoCarteraService;
+    private final EstresTasasService estresTasasService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService,
+                               RiesgoCarteraService riesgoCarteraService,
+                               EstresTasasService estresTasasService) {
         this.dashboardService = dashboardService;
+        this.riesgoCarteraService = riesgoCarteraService;
+        this.estresTasasService = estresTasasService;
     }
 
     @GetMapping
@@ -27,5 +42,44 @@ public class DashboardController {
         }
 
     }
-}
 
+    /**
+     * Pérdida esperada, VaR y Expected Shortfall de la cartera aprobada (Monte Carlo).
+     * Con la misma semilla el resultado es reproducible. Solo ADMIN (ver SecurityConfig).
+     */
+    @GetMapping("/riesgo-cartera")
+    public ResponseEntity<?> getRiesgoCartera(
+            @RequestParam(defaultValue = "100000") int trayectorias,
+            @RequestParam(defaultValue = "42") long semilla,
+            @RequestParam(defaultValue = "12") int horizonteMeses) {
+        try {
+            RiesgoCarteraResponse response = riesgoCarteraService.simular(trayectorias, semilla, horizonteMeses);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.BAD_REQUEST.value()
+                    ));
+        }
+    }
+
+    /**
+     * Cuota y TCEA de la cartera aprobada si todas las tasas suben los puntos básicos
+     * indicados (ej: ?choquesPb=100,200,300). Solo lectura. Solo ADMIN (ver SecurityConfig).
+     */
+    @GetMapping("/estres-tasas")
+    public ResponseEntity<?> getEstresTasas(
+            @RequestParam(defaultValue = "100,200,300") List<Integer> choquesPb) {
+        try {
+            EstresTasasResponse response = estresTasasService.estresar(choquesPb);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.BAD_REQUEST.value()
+                    ));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.optic.apirest.controllers;
+
+import com.optic.apirest.dto.reprecio.ProgresoReprecioResponse;
+import com.optic.apirest.services.ReprecioCarteraService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Reprecio de la cartera aprobada (solo ADMIN, ver SecurityConfig: /api/admin/**)
+ *
+ * - POST: lanza el reprecio en segundo plano, o continúa el que quedó a medias
+ * - GET: avance (filas, % y filas por segundo)
+ */
+@RestController
+@RequestMapping("/api/admin/reprecio")
+public class ReprecioController {
+
+    private final ReprecioCarteraService reprecioCarteraService;
+
+    public ReprecioController(ReprecioCarteraService reprecioCarteraService) {
+        this.reprecioCarteraService = reprecioCarteraService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> iniciar() {
+        try {
+            ProgresoReprecioResponse progreso = reprecioCarteraService.iniciar();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(progreso);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.CONFLICT.value()
+                    ));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> progreso() {
+        try {
+            return ResponseEntity.ok(reprecioCarteraService.progreso());
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.NOT_FOUND.value()
+                    ));
+        }
+    }
+}
@@ -1,15 +1,33 @@
 package com.optic.apirest.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optic.apirest.Client.ValidacionNoDisponibleException;
+import com.optic.apirest.dto.SolicitudPrestamo.CapacidadPagoRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.CapacidadPagoResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.ComparacionOfertasRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.ComparacionOfertasResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionGrillaRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionGrillaResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionPrepagoRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionPrepagoResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoPatch;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoRequest;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoResponse;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoUpdate;
 import com.optic.apirest.services.SolicitudPrestamoService;
+import com.optic.apirest.utils.CronogramaPagos;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -27,11 +45,16 @@ import java.util.Map;
 @RequestMapping("/api/solicitudesPrestamo")
 public class SolicitudPrestamoController {
 
+    // Se hace flush cada año de cuotas para que los primeros bytes salgan antes de calcular el resto
+    private static final int FILAS_POR_FLUSH = 12;
+
     private final SolicitudPrestamoService solicitudPrestamoService;
+    private final ObjectMapper objectMapper;
 
     // Inyección por constructor (mejor práctica)
-    public SolicitudPrestamoController(SolicitudPrestamoService solicitudPrestamoService) {
+    public SolicitudPrestamoController(SolicitudPrestamoService solicitudPrestamoService, ObjectMapper objectMapper) {
         this.solicitudPrestamoService = solicitudPrestamoService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/simular")
@@ -40,6 +63,107 @@ public class SolicitudPrestamoController {
             SolicitudPrestamoResponse solicitudPrestamo =   solicitudPrestamoService.simulador(request);
             return ResponseEntity.status(200).body(solicitudPrestamo);
 
+        } catch (ValidacionNoDisponibleException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.SERVICE_UNAVAILABLE.value()
+                    ));
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.BAD_REQUEST.value()
+                    ));
+        }
+    }
+
+    /**
+     * Simula una lista de solicitudes en una sola llamada.
+     * Responde en NDJSON: una línea por solicitud, en el orden en que terminan.
+     * Un lote demasiado grande se rechaza con 400 antes de empezar a responder.
+     */
+    @PreAuthorize("hasAuthority('SIMULATE_LOANS')")
+    @PostMapping("/simular/batch")
+    public ResponseEntity<?> simularLote(@RequestBody List<SolicitudPrestamoRequest> requests) {
+        try {
+            solicitudPrestamoService.validarTamanoLote(requests);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.BAD_REQUEST.value()
+                    ));
+        }
+        StreamingResponseBody body = salida -> {
+            JsonGenerator generador = crearGeneradorNdjson(salida);
+            solicitudPrestamoService.simularLote(requests, item -> {
+                try {
+                    escribirLineaNdjson(generador, item, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generador.close();
+            salida.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PreAuthorize("hasAuthority('SIMULATE_LOANS')")
+    @PostMapping("/simular/grilla")
+    public ResponseEntity<?> simularGrilla(@Valid @RequestBody SimulacionGrillaRequest request) {
+        try {
+            SimulacionGrillaResponse response = solicitudPrestamoService.simularGrilla(request);
+            return ResponseEntity.ok(response);
+        } catch (ValidacionNoDisponibleException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.SERVICE_UNAVAILABLE.value()
+                    ));
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.BAD_REQUEST.value()
+                    ));
+        }
+    }
+
+    @PreAuthorize("hasAuthority('SIMULATE_LOANS')")
+    @PostMapping("/capacidad-maxima")
+    public ResponseEntity<?> calcularCapacidadMaxima(@Valid @RequestBody CapacidadPagoRequest request) {
+        try {
+            CapacidadPagoResponse response = solicitudPrestamoService.calcularCapacidadMaxima(request);
+            return ResponseEntity.ok(response);
+        } catch (ValidacionNoDisponibleException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.SERVICE_UNAVAILABLE.value()
+                    ));
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.BAD_REQUEST.value()
+                    ));
+        }
+    }
+
+    @PreAuthorize("hasAuthority('SIMULATE_LOANS')")
+    @PostMapping("/comparar-ofertas")
+    public ResponseEntity<?> compararOfertas(@Valid @RequestBody ComparacionOfertasRequest request) {
+        try {
+            ComparacionOfertasResponse response = solicitudPrestamoService.compararOfertas(request);
+            return ResponseEntity.ok(response);
+        } catch (ValidacionNoDisponibleException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.SERVICE_UNAVAILABLE.value()
+                    ));
         } catch (RuntimeException e) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
@@ -55,6 +179,12 @@ public class SolicitudPrestamoController {
             SolicitudPrestamoResponse solicitudPrestamo =   solicitudPrestamoService.create(request);
             return ResponseEntity.status(201).body(solicitudPrestamo);
 
+        } catch (ValidacionNoDisponibleException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.SERVICE_UNAVAILABLE.value()
+                    ));
         } catch (RuntimeException e) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
@@ -78,6 +208,52 @@ public class SolicitudPrestamoController {
         }
     }
 
+    @PreAuthorize("hasAuthority('READ_LOANS')")
+    @GetMapping("/{id}/cronograma")
+    public ResponseEntity<?> cronograma(@PathVariable Long id) {
+        CronogramaPagos cronograma;
+        try {
+            cronograma = solicitudPrestamoService.cronograma(id);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.NOT_FOUND.value()
+                    ));
+        }
+
+        // Las cuotas se calculan y escriben una a una mientras se envía la respuesta (chunked)
+        StreamingResponseBody body = salida -> {
+            JsonGenerator generador = crearGeneradorNdjson(salida);
+            for (CronogramaPagos.CuotaPeriodo cuota : cronograma) {
+                escribirLineaNdjson(generador, cuota, cuota.getPeriodo() % FILAS_POR_FLUSH == 0);
+            }
+            generador.close();
+            salida.flush();
+        };
+        // NDJSON: un objeto JSON por línea, el cliente puede procesar cada cuota apenas llega
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Escenarios de amortización anticipada (reducir plazo o reducir cuota).
+     */
+    @PreAuthorize("hasAuthority('SIMULATE_LOANS')")
+    @PostMapping("/{id}/prepagos")
+    public ResponseEntity<?> simularPrepagos(@PathVariable Long id, @Valid @RequestBody SimulacionPrepagoRequest request) {
+        try {
+            SimulacionPrepagoResponse response = solicitudPrestamoService.simularPrepagos(id, request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.BAD_REQUEST.value()
+                    ));
+        }
+    }
+
     @PreAuthorize("hasAuthority('READ_LOANS')")
     @GetMapping()
     public ResponseEntity<List<SolicitudPrestamoResponse>>  findAll(@RequestParam(required = false) String query) {
@@ -99,6 +275,41 @@ public class SolicitudPrestamoController {
                     ));
         }
     }
+
+    @PreAuthorize("hasAuthority('UPDATE_LOANS')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patch(@PathVariable Long id, @Valid @RequestBody SolicitudPrestamoPatch request) {
+        try {
+            SolicitudPrestamoResponse response = solicitudPrestamoService.patch(id, request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.NOT_FOUND.value()
+                    ));
+        }
+    }
+
+    // Generador JSON que no cierra la salida y no pone espacios entre objetos raíz
+    private JsonGenerator crearGeneradorNdjson(OutputStream salida) throws IOException {
+        JsonGenerator generador = objectMapper.getFactory().createGenerator(salida);
+        generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generador.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generador.setRootValueSeparator(null); // el separador lo ponemos nosotros: salto de línea
+        return generador;
+    }
+
+    // Escribe un objeto como una línea NDJSON; con flush=true los bytes salen de inmediato al cliente
+    private void escribirLineaNdjson(JsonGenerator generador, Object valor, boolean flush) throws IOException {
+        objectMapper.writeValue(generador, valor);
+        generador.writeRaw('\n');
+        if (flush) {
+            generador.flush();
+            ((OutputStream) generador.getOutputTarget()).flush();
+        }
+    }
+
     @PreAuthorize("hasAuthority('DELETE_LOANS')")
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Map<String, String>> delete(@PathVariable Long id){
@@ -0,0 +1,49 @@
+package com.optic.apirest.controllers;
+
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.services.RecargaTasasService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Tasas de interés vigentes (solo ADMIN, ver SecurityConfig: /api/admin/**)
+ *
+ * - GET: foto vigente (versión, tasas por riesgo y cuándo se cargó)
+ * - POST /recargar: revisa tasas_interes ya, sin esperar al próximo ciclo
+ */
+@RestController
+@RequestMapping("/api/admin/tasas")
+public class TasasController {
+
+    private final TasaInteresConfig tasaInteresConfig;
+    private final RecargaTasasService recargaTasasService;
+
+    public TasasController(TasaInteresConfig tasaInteresConfig, RecargaTasasService recargaTasasService) {
+        this.tasaInteresConfig = tasaInteresConfig;
+        this.recargaTasasService = recargaTasasService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> vigentes() {
+        return ResponseEntity.ok(tasaInteresConfig.getTablaVigente());
+    }
+
+    @PostMapping("/recargar")
+    public ResponseEntity<?> recargar() {
+        try {
+            return ResponseEntity.ok(recargaTasasService.recargar());
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", e.getMessage(),
+                            "statusCode", HttpStatus.SERVICE_UNAVAILABLE.value()
+                    ));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.optic.apirest.controllers;
+
+import com.optic.apirest.Client.CacheValidaciones;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Caché de validaciones externas (solo ADMIN, ver SecurityConfig: /api/admin/**)
+ *
+ * - GET: entradas guardadas
+ * - DELETE: vacía toda la caché
+ * - DELETE /{dni}: descarta la validación de un DNI (la próxima consulta va a la API)
+ */
+@RestController
+@RequestMapping("/api/admin/validaciones/cache")
+public class ValidacionesController {
+
+    private final CacheValidaciones cacheValidaciones;
+
+    public ValidacionesController(CacheValidaciones cacheValidaciones) {
+        this.cacheValidaciones = cacheValidaciones;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> estado() {
+        return ResponseEntity.ok(Map.of("entradas", cacheValidaciones.tamano()));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> invalidarTodo() {
+        long entradas = cacheValidaciones.invalidarTodo();
+        return ResponseEntity.ok(Map.of("message", "Caché de validaciones vaciada", "entradas", entradas));
+    }
+
+    @DeleteMapping("/{dni}")
+    public ResponseEntity<?> invalidar(@PathVariable String dni) {
+        if (!cacheValidaciones.invalidar(dni)) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", "No hay una validación guardada para el DNI " + dni,
+                            "statusCode", HttpStatus.NOT_FOUND.value()
+                    ));
+        }
+        return ResponseEntity.ok(Map.of("message", "Validación del DNI " + dni + " descartada"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos para calcular el préstamo máximo que puede pagar un cliente.
+ */
+@Data
+public class CapacidadPagoRequest {
+
+    @NotNull
+    private Long clienteId;
+    @NotNull
+    @DecimalMin("0.00")
+    @DecimalMax(value = "100.00", inclusive = false)
+    private BigDecimal porcentajeCuotaInicial;
+    @NotNull
+    @Min(1)
+    private Integer plazoAnios;
+    // Porcentaje del ingreso mensual que puede ir a la cuota (ej: 30). Si no se envía se usa el configurado
+    @DecimalMin(value = "0.00", inclusive = false)
+    @DecimalMax("100.00")
+    private BigDecimal ratioEndeudamiento;
+}
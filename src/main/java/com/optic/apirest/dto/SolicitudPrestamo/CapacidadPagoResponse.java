@@ -0,0 +1,30 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import com.optic.apirest.dto.cliente.ClienteResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacidadPagoResponse {
+    private ClienteResponse cliente;
+    private Integer riesgoCliente;
+    private Integer estado;
+    private String motivoRechazo;
+    private BigDecimal ingresoMensual;
+    private BigDecimal ratioEndeudamiento;
+    private BigDecimal cuotaMaxima;
+    private BigDecimal tasaInteres;
+    private BigDecimal tcea;
+    private int plazoAnios;
+    private BigDecimal porcentajeCuotaInicial;
+    // Préstamo máximo y su cotización (la cuota resultante nunca supera cuotaMaxima)
+    private BigDecimal montoMaximo;
+    private BigDecimal montoCuotaInicial;
+    private BigDecimal montoFinanciar;
+    private BigDecimal cuotaMensual;
+}
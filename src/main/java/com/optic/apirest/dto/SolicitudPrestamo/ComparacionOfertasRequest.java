@@ -0,0 +1,39 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Las mejores ofertas para un monto: se prueba cada plazo × porcentaje de cuota inicial
+ * y se devuelven solo las k mejores según el criterio.
+ */
+@Data
+public class ComparacionOfertasRequest {
+
+    @NotNull
+    private Long clienteId;
+    @NotNull
+    @DecimalMin(value = "0.00", inclusive = false)
+    private BigDecimal monto;
+    @NotNull
+    private CriterioOferta criterio;
+    // Cantidad de ofertas a devolver (default: 5)
+    @Min(1)
+    private Integer top;
+    // Opcionales: si no se envían se usan los configurados (cotizacion.ofertas.*)
+    private List<Integer> plazosAnios;
+    private List<BigDecimal> porcentajesCuotaInicial;
+    // Opcional: FRANCES (por defecto), ALEMAN o AMERICANO
+    private TipoSistemaAmortizacion sistemaAmortizacion;
+    // Porcentaje del ingreso mensual que puede ir a la cuota (ej: 30). Si no se envía se usa el configurado
+    @DecimalMin(value = "0.00", inclusive = false)
+    @DecimalMax("100.00")
+    private BigDecimal ratioEndeudamiento;
+}
@@ -0,0 +1,45 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import com.optic.apirest.dto.cliente.ClienteResponse;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparacionOfertasResponse {
+    private ClienteResponse cliente;
+    private Integer riesgoCliente;
+    private Integer estado;
+    private String motivoRechazo;
+    private BigDecimal tasaInteres;
+    private BigDecimal monto;
+    private CriterioOferta criterio;
+    private TipoSistemaAmortizacion sistemaAmortizacion;
+    // Tope de cuota según el ingreso (null si el cliente no tiene ingreso registrado)
+    private BigDecimal cuotaMaxima;
+    private int candidatosEvaluados;
+    private int candidatosSobreTope;
+    // De la mejor a la peor según el criterio
+    private List<OfertaPrestamo> ofertas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OfertaPrestamo {
+        private int posicion;
+        private int plazoAnios;
+        private BigDecimal porcentajeCuotaInicial;
+        private BigDecimal montoCuotaInicial;
+        private BigDecimal montoFinanciar;
+        private BigDecimal cuotaMensual;
+        private BigDecimal ultimaCuota;
+        private BigDecimal totalIntereses;
+        private BigDecimal tcea;
+    }
+}
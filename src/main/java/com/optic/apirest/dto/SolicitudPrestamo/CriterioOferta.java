@@ -0,0 +1,13 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+/**
+ * Criterio para ordenar las ofertas de /comparar-ofertas (gana el valor más bajo).
+ */
+public enum CriterioOferta {
+    // Cuota mensual más baja
+    MENOR_CUOTA,
+    // Menos intereses pagados en todo el préstamo
+    MENOR_INTERES_TOTAL,
+    // Plazo más corto cuya cuota entra en el tope de ingreso (a igual plazo, menor cuota inicial)
+    MENOR_PLAZO
+}
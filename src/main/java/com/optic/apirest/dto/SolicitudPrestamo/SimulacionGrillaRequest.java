@@ -0,0 +1,27 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Grilla de sensibilidad: se simula cada combinación monto × porcentaje de cuota inicial × plazo.
+ */
+@Data
+public class SimulacionGrillaRequest {
+
+    @NotNull
+    private Long clienteId;
+    @NotEmpty
+    private List<@NotNull @DecimalMin(value = "0.00", inclusive = false) BigDecimal> montos;
+    @NotEmpty
+    private List<@NotNull @DecimalMin("0.00") @DecimalMax(value = "100.00", inclusive = false) BigDecimal> porcentajesCuotaInicial;
+    @NotEmpty
+    private List<@NotNull @Min(1) Integer> plazosAnios;
+}
@@ -0,0 +1,35 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import com.optic.apirest.dto.cliente.ClienteResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacionGrillaResponse {
+    private ClienteResponse cliente;
+    private Integer riesgoCliente;
+    private Integer estado;
+    private String motivoRechazo;
+    private BigDecimal tasaInteres;
+    // Orden: monto → porcentaje de cuota inicial → plazo (el plazo varía más rápido)
+    private List<CeldaSimulacion> celdas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CeldaSimulacion {
+        private BigDecimal monto;
+        private BigDecimal porcentajeCuotaInicial;
+        private int plazoAnios;
+        private BigDecimal montoCuotaInicial;
+        private BigDecimal montoFinanciar;
+        private BigDecimal cuotaMensual;
+        private BigDecimal tcea; // null si la comisión de desembolso se come el monto a financiar (sin TCEA)
+    }
+}
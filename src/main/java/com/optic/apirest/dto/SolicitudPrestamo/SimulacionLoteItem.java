@@ -0,0 +1,27 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de UNA solicitud dentro de una simulación por lote.
+ * El índice indica la posición de la solicitud en la lista enviada,
+ * porque los resultados llegan en orden de finalización.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacionLoteItem {
+    private int indice;
+    private SolicitudPrestamoResponse resultado;
+    private String error;
+
+    public static SimulacionLoteItem ok(int indice, SolicitudPrestamoResponse resultado) {
+        return new SimulacionLoteItem(indice, resultado, null);
+    }
+
+    public static SimulacionLoteItem error(int indice, String error) {
+        return new SimulacionLoteItem(indice, null, error);
+    }
+}
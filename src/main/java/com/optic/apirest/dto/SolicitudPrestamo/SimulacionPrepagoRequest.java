@@ -0,0 +1,43 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import com.optic.apirest.utils.SimuladorPrepagos;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Planes de amortización anticipada a comparar sobre una solicitud aprobada.
+ * Cada escenario es una lista de prepagos; un escenario sin prepagos es la línea base.
+ */
+@Data
+public class SimulacionPrepagoRequest {
+
+    @NotEmpty
+    private List<@NotNull @Valid Escenario> escenarios;
+
+    @Data
+    public static class Escenario {
+        private String nombre;
+        @NotNull
+        private List<@NotNull @Valid Prepago> prepagos;
+    }
+
+    @Data
+    public static class Prepago {
+        // Se abona después de pagar la cuota de este mes
+        @NotNull
+        @Min(1)
+        private Integer mes;
+        @NotNull
+        @DecimalMin(value = "0.00", inclusive = false)
+        private BigDecimal monto;
+        @NotNull
+        private SimuladorPrepagos.Modalidad modalidad;
+    }
+}
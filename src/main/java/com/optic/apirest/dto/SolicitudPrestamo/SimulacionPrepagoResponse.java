@@ -0,0 +1,31 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class SimulacionPrepagoResponse {
+    private Long solicitudId;
+    private BigDecimal montoFinanciar;
+    private BigDecimal tasaInteres;
+    private BigDecimal cuotaMensual;
+    private Integer plazoMeses;
+    private BigDecimal totalInteresesSinPrepago;
+    private List<ResultadoEscenario> escenarios;
+
+    @Data
+    public static class ResultadoEscenario {
+        private String nombre;
+        private Integer plazoMeses;
+        private Integer mesesAhorrados;
+        // Cuota regular al final del plan (baja con REDUCIR_CUOTA) y última cuota ajustada
+        private BigDecimal cuotaVigente;
+        private BigDecimal ultimaCuota;
+        private BigDecimal totalPrepagado;
+        private BigDecimal totalCuotas;
+        private BigDecimal totalIntereses;
+        private BigDecimal ahorroIntereses;
+    }
+}
@@ -0,0 +1,23 @@
+package com.optic.apirest.dto.SolicitudPrestamo;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Cambios parciales de una solicitud (PATCH): solo se envían los campos que cambian,
+ * los que llegan en null se dejan como están.
+ */
+@Data
+public class SolicitudPrestamoPatch {
+    @DecimalMin(value = "0.00", inclusive = false)
+    private BigDecimal monto;
+    @Min(1)
+    private Integer plazoAnios;
+    @DecimalMin("0.00")
+    @DecimalMax(value = "100.00", inclusive = false)
+    private BigDecimal porcentajeCuotaInicial;
+}
@@ -1,6 +1,8 @@
 package com.optic.apirest.dto.SolicitudPrestamo;
 
 
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -16,8 +18,11 @@ public class    SolicitudPrestamoRequest {
     @NotNull
     private BigDecimal porcentajeCuotaInicial;
     @NotNull
+    @Min(1)
     private Integer plazoAnios;
     @NotNull
     private Long clienteId;
+    // Opcional: FRANCES (por defecto), ALEMAN o AMERICANO
+    private TipoSistemaAmortizacion sistemaAmortizacion;
 }
 
@@ -3,6 +3,7 @@ package com.optic.apirest.dto.SolicitudPrestamo;
 import com.optic.apirest.dto.cliente.ClienteResponse;
 import com.optic.apirest.dto.cliente.mappers.ClienteMapper;
 import com.optic.apirest.models.Cliente;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,6 +24,11 @@ public class SolicitudPrestamoResponse {
     public BigDecimal tasaInteres;
     public BigDecimal tcea;
     public BigDecimal cuotaMensual;
+    public TipoSistemaAmortizacion sistemaAmortizacion;
+    public Long versionTasas;
+    // Solo en las respuestas de una cotización recién calculada
+    public BigDecimal ultimaCuota;
+    public BigDecimal totalIntereses;
     public String motivoRechazo;
     public Integer riesgoCliente;
     public Integer estado;
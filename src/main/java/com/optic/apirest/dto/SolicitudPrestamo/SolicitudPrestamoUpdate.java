@@ -1,12 +1,26 @@
 package com.optic.apirest.dto.SolicitudPrestamo;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.math.BigDecimal;
 
+/**
+ * Reemplazo completo de los datos de una solicitud (PUT): se recotiza con todos los campos.
+ */
 @Data
 public class SolicitudPrestamoUpdate {
+    @NotNull
+    @DecimalMin(value = "0.00", inclusive = false)
     private BigDecimal monto;
+    @NotNull
+    @Min(1)
     private Integer plazoAnios;
+    @NotNull
+    @DecimalMin("0.00")
+    @DecimalMax(value = "100.00", inclusive = false)
     private BigDecimal porcentajeCuotaInicial;
 }
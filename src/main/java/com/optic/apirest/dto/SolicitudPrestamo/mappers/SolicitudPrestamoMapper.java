@@ -3,7 +3,10 @@ package com.optic.apirest.dto.SolicitudPrestamo.mappers;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoRequest;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoResponse;
 import com.optic.apirest.dto.cliente.mappers.ClienteMapper;
+import com.optic.apirest.models.Cliente;
 import com.optic.apirest.models.SolicitudPrestamo;
+import com.optic.apirest.utils.ResultadoCotizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
 import org.springframework.stereotype.Component;
 
 @Component//sirve para que spring lo detecte como un bean es decir un componente gestionado por el contenedor de spring
@@ -19,9 +22,30 @@ public class SolicitudPrestamoMapper {
         solicitud.setMonto(request.getMonto());
         solicitud.setPlazoAnios(request.getPlazoAnios());
         solicitud.setPorcentajeCuotaInicial(request.getPorcentajeCuotaInicial());
+        solicitud.setSistemaAmortizacion(TipoSistemaAmortizacion.oPorDefecto(request.getSistemaAmortizacion()));
         return solicitud;
     }
 
+    /**
+     * Copia el resultado del motor de cotización a la entidad (tasa, TCEA y montos).
+     */
+    public void aplicarCotizacion(SolicitudPrestamo solicitud, ResultadoCotizacion cotizacion) {
+        solicitud.setTasaInteres(cotizacion.getTasaInteresAnual());
+        solicitud.setTcea(cotizacion.getTcea());
+        solicitud.setMontoCuotaInicial(cotizacion.getMontoCuotaInicial());
+        solicitud.setMontoFinanciar(cotizacion.getMontoFinanciar());
+        solicitud.setCuotaMensual(cotizacion.getCuotaMensual());
+        solicitud.setSistemaAmortizacion(cotizacion.getSistemaAmortizacion());
+    }
+
+    /**
+     * Agrega a la respuesta los totales de la cotización (no se guardan en la entidad).
+     */
+    public void aplicarTotales(SolicitudPrestamoResponse response, ResultadoCotizacion cotizacion) {
+        response.setUltimaCuota(cotizacion.getUltimaCuota());
+        response.setTotalIntereses(cotizacion.getTotalIntereses());
+    }
+
     public SolicitudPrestamoResponse toResponse(SolicitudPrestamo solicitud) {
         SolicitudPrestamoResponse response = new SolicitudPrestamoResponse();//esto sirve para crear una nueva instancia de la clase SolicitudPrestamoResponse, la instancia es un objeto que representa la respuesta de la solicitud de prestamo en el sistema
         response.setId(solicitud.getId());
@@ -36,6 +60,8 @@ public class SolicitudPrestamoMapper {
         response.setMontoCuotaInicial(solicitud.getMontoCuotaInicial());
         response.setMontoFinanciar(solicitud.getMontoFinanciar());
         response.setCuotaMensual(solicitud.getCuotaMensual());
+        response.setSistemaAmortizacion(TipoSistemaAmortizacion.oPorDefecto(solicitud.getSistemaAmortizacion()));
+        response.setVersionTasas(solicitud.getVersionTasas());
         response.setEstado(solicitud.getEstado());
         response.setMotivoRechazo(solicitud.getMotivoRechazo());
         response.setRiesgoCliente(solicitud.getRiesgoCliente());
@@ -57,6 +83,8 @@ public class SolicitudPrestamoMapper {
         response.setMontoCuotaInicial(solicitud.getMontoCuotaInicial());
         response.setMontoFinanciar(solicitud.getMontoFinanciar());
         response.setCuotaMensual(solicitud.getCuotaMensual());
+        response.setSistemaAmortizacion(TipoSistemaAmortizacion.oPorDefecto(solicitud.getSistemaAmortizacion()));
+        response.setVersionTasas(solicitud.getVersionTasas());
         response.setEstado(solicitud.getEstado());
         response.setMotivoRechazo(solicitud.getMotivoRechazo());
         response.setRiesgoCliente(solicitud.getRiesgoCliente());
@@ -65,4 +93,24 @@ public class SolicitudPrestamoMapper {
         return response;
     }
 
+    /**
+     * Respuesta de una simulación aprobada armada directo desde el request y el resultado
+     * del motor, sin pasar por una entidad SolicitudPrestamo intermedia.
+     */
+    public SolicitudPrestamoResponse toResponseCotizacion(SolicitudPrestamoRequest request, Cliente cliente, ResultadoCotizacion cotizacion) {
+        SolicitudPrestamoResponse response = new SolicitudPrestamoResponse();
+        response.setCliente(clienteMapper.toResponse(cliente));
+        response.setMonto(request.getMonto());
+        response.setPlazoAnios(request.getPlazoAnios());
+        response.setPorcentajeCuotaInicial(request.getPorcentajeCuotaInicial());
+        response.setTasaInteres(cotizacion.getTasaInteresAnual());
+        response.setTcea(cotizacion.getTcea());
+        response.setMontoCuotaInicial(cotizacion.getMontoCuotaInicial());
+        response.setMontoFinanciar(cotizacion.getMontoFinanciar());
+        response.setCuotaMensual(cotizacion.getCuotaMensual());
+        response.setSistemaAmortizacion(cotizacion.getSistemaAmortizacion());
+        aplicarTotales(response, cotizacion);
+        return response;
+    }
+
 }
@@ -11,4 +11,6 @@ public class ValidacionResponse {
     private String dni;
     private Integer riesgo;
     private String resultadoValidacion;
+    // true = la API no respondió y es el resultado por defecto (no una respuesta real)
+    private boolean respaldo;
 }
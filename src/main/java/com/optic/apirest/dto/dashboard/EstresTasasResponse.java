@@ -0,0 +1,39 @@
+package com.optic.apirest.dto.dashboard;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class EstresTasasResponse {
+    private List<Integer> choquesPb;
+    private long versionTasas;
+    private long prestamos;
+    private long lotes;
+    private BigDecimal cuotaTotalBase;
+    private BigDecimal tceaPromedioBase;
+    private List<EscenarioEstres> escenarios;
+    private List<EstresPorNivel> porNivelRiesgo;
+    private long duracionMs;
+
+    @Data
+    public static class EstresPorNivel {
+        private int riesgo;
+        private long prestamos;
+        private BigDecimal cuotaTotalBase;
+        private BigDecimal tceaPromedioBase;
+        private List<EscenarioEstres> escenarios;
+    }
+
+    @Data
+    public static class EscenarioEstres {
+        private int choquePb;
+        private BigDecimal cuotaTotal;
+        private BigDecimal deltaCuotaTotal;
+        private BigDecimal deltaCuotaPromedio;
+        private BigDecimal deltaCuotaMaxima;
+        private BigDecimal tceaPromedio;
+        private BigDecimal deltaTceaPromedio;
+    }
+}
@@ -0,0 +1,31 @@
+package com.optic.apirest.dto.dashboard;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class RiesgoCarteraResponse {
+    private long semilla;
+    private int trayectorias;
+    private int horizonteMeses;
+    private long prestamos;
+    private BigDecimal exposicionTotal;
+    private BigDecimal perdidaEsperada;
+    private BigDecimal var95;
+    private BigDecimal var99;
+    private BigDecimal var999;
+    private BigDecimal expectedShortfall99;
+    private BigDecimal perdidaMaxima;
+    private List<RiesgoPorNivel> porNivelRiesgo;
+    private long duracionMs;
+
+    @Data
+    public static class RiesgoPorNivel {
+        private int riesgo;
+        private long prestamos;
+        private BigDecimal exposicion;
+        private BigDecimal perdidaEsperada;
+    }
+}
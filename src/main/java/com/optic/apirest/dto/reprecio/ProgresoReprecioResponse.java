@@ -0,0 +1,23 @@
+package com.optic.apirest.dto.reprecio;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ProgresoReprecioResponse {
+    private Long trabajoId;
+    private String estado;
+    private boolean enEjecucion;
+    private Long ultimoIdProcesado;
+    private Long filasProcesadas;
+    private Long filasActualizadas;
+    private Long totalEstimado;
+    private Double porcentajeAvance;
+    // Velocidad de la ejecución actual (desde que este proceso tomó el trabajo)
+    private Double filasPorSegundo;
+    private LocalDateTime iniciadoEn;
+    private LocalDateTime actualizadoEn;
+    private LocalDateTime finalizadoEn;
+    private String mensajeError;
+}
@@ -1,10 +1,12 @@
 package com.optic.apirest.models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,6 +15,7 @@ import java.time.LocalDateTime;
 @Data//esto es para generar los metodos get y set
 @Entity//esto es para indicar que es una entidad de base de datos
 @Table(name = "solicitudes_prestamo")
+@DynamicUpdate // el UPDATE lleva solo las columnas que cambiaron
 public class SolicitudPrestamo {
 
     @Id
@@ -43,6 +46,15 @@ public class SolicitudPrestamo {
     @Column(name = "cuota_mensual", length = 500, nullable = true, precision = 10, scale = 2)
     private BigDecimal cuotaMensual;
 
+    // Francés, alemán o americano; null en las solicitudes anteriores = francés
+    @Enumerated(EnumType.STRING)
+    @Column(name = "sistema_amortizacion", length = 20, nullable = true)
+    private TipoSistemaAmortizacion sistemaAmortizacion;
+
+    // Versión de tasas_interes con la que se cotizó (0 = tasas por defecto)
+    @Column(name = "version_tasas", nullable = true)
+    private Long versionTasas;
+
     @Column(name = "motivo_rechazo", length = 1000, nullable = true)
     private String motivoRechazo;
 
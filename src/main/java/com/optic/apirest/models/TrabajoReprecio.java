@@ -0,0 +1,57 @@
+package com.optic.apirest.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📌 Punto de control del reprecio de cartera.
+ *
+ * Cada lote confirma sus UPDATE y el avance de esta fila en la MISMA transacción,
+ * así después de una caída el trabajo continúa desde ultimoIdProcesado sin
+ * repetir ni saltarse solicitudes.
+ */
+@Data
+@Entity
+@Table(name = "trabajos_reprecio")
+public class TrabajoReprecio {
+
+    public static final String EN_CURSO = "EN_CURSO";
+    public static final String COMPLETADO = "COMPLETADO";
+    public static final String FALLIDO = "FALLIDO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Comment("EN_CURSO, COMPLETADO o FALLIDO")
+    @Column(length = 20, nullable = false)
+    private String estado;
+
+    // Keyset: id de la última solicitud ya repreciada (0 = aún no empieza)
+    @Column(name = "ultimo_id_procesado", nullable = false)
+    private Long ultimoIdProcesado;
+
+    @Column(name = "filas_procesadas", nullable = false)
+    private Long filasProcesadas;
+
+    @Column(name = "filas_actualizadas", nullable = false)
+    private Long filasActualizadas;
+
+    @Column(name = "total_estimado")
+    private Long totalEstimado;
+
+    @Column(name = "mensaje_error", length = 1000)
+    private String mensajeError;
+
+    @Column(name = "iniciado_en", nullable = false)
+    private LocalDateTime iniciadoEn;
+
+    @Column(name = "actualizado_en")
+    private LocalDateTime actualizadoEn;
+
+    @Column(name = "finalizado_en")
+    private LocalDateTime finalizadoEn;
+}
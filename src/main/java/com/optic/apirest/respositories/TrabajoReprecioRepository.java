@@ -0,0 +1,13 @@
+package com.optic.apirest.respositories;
+
+import com.optic.apirest.models.TrabajoReprecio;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface TrabajoReprecioRepository extends JpaRepository<TrabajoReprecio, Long> {
+
+    Optional<TrabajoReprecio> findFirstByEstadoOrderByIdDesc(String estado);
+
+    Optional<TrabajoReprecio> findFirstByOrderByIdDesc();
+}
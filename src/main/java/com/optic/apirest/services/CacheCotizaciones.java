@@ -0,0 +1,111 @@
+package com.optic.apirest.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.optic.apirest.config.TasasInteresActualizadasEvent;
+import com.optic.apirest.utils.ResultadoCotizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * 🗄️ Caché de cotizaciones repetidas (tasa, monto, % cuota inicial, plazo, sistema de amortización).
+ *
+ * Muchas simulaciones repiten las mismas combinaciones populares; para una tasa
+ * dada el resultado siempre es el mismo, así que se guarda y se copia al
+ * ResultadoCotizacion del llamador en vez de recalcular.
+ *
+ * - Acotada por tamaño (desaloja las menos usadas) y por tiempo (TTL desde la escritura)
+ * - Las lecturas no toman locks (Caffeine sobre ConcurrentHashMap)
+ * - Aciertos, fallos y desalojos se publican como métricas cache.* con cache=cotizaciones
+ * - Se vacía sola cuando cambian las tasas (TasasInteresActualizadasEvent)
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.cache.habilitado (default: true)
+ * - cotizacion.cache.max-entradas (default: 10000)
+ * - cotizacion.cache.ttl-minutos (default: 30)
+ */
+@Slf4j
+@Component
+public class CacheCotizaciones {
+
+    /**
+     * Clave ya convertida a primitivos: montos en céntimos y porcentaje en centésimas,
+     * así 250000 y 250000.00 caen en la misma entrada.
+     */
+    public record Clave(double tasaAnual, long montoCentavos, long porcentajeCentesimas, int plazoAnios,
+                        TipoSistemaAmortizacion sistemaAmortizacion) {
+    }
+
+    // Valor inmutable: el ResultadoCotizacion del llamador es mutable y no se puede compartir
+    private record Valor(long montoCuotaInicialCentavos, long montoFinanciarCentavos,
+                         long cuotaMensualCentavos, double tcea,
+                         long ultimaCuotaCentavos, long totalInteresesCentavos) {
+    }
+
+    private final boolean habilitado;
+    private final Cache<Clave, Valor> cotizaciones;
+
+    public CacheCotizaciones(
+            @Value("${cotizacion.cache.habilitado:true}") boolean habilitado,
+            @Value("${cotizacion.cache.max-entradas:10000}") long maxEntradas,
+            @Value("${cotizacion.cache.ttl-minutos:30}") long ttlMinutos,
+            MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.cotizaciones = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cotizaciones, "cotizaciones");
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Copia la cotización guardada en {@code destino}.
+     *
+     * @return true si había una entrada vigente para la clave
+     */
+    public boolean buscar(Clave clave, BigDecimal tasaInteresAnual, ResultadoCotizacion destino) {
+        Valor valor = cotizaciones.getIfPresent(clave);
+        if (valor == null) {
+            return false;
+        }
+        destino.asignar(valor.montoCuotaInicialCentavos(), valor.montoFinanciarCentavos(),
+                valor.cuotaMensualCentavos(), valor.tcea(), tasaInteresAnual, clave.sistemaAmortizacion());
+        destino.getTotales().asignar(valor.montoFinanciarCentavos(), valor.cuotaMensualCentavos(),
+                valor.ultimaCuotaCentavos(), valor.totalInteresesCentavos());
+        return true;
+    }
+
+    /**
+     * Guarda una copia del resultado recién calculado.
+     */
+    public void guardar(Clave clave, ResultadoCotizacion resultado) {
+        cotizaciones.put(clave, new Valor(resultado.getMontoCuotaInicialCentavos(),
+                resultado.getMontoFinanciarCentavos(), resultado.getCuotaMensualCentavos(), resultado.getTceaValor(),
+                resultado.getTotales().getUltimaCuotaCentavos(), resultado.getTotales().getTotalInteresesCentavos()));
+    }
+
+    /**
+     * Con tasas nuevas las entradas viejas ya no se van a pedir: se liberan de una vez.
+     * (La tasa es parte de la clave, así que una cotización en curso con la tasa anterior
+     * nunca puede devolverse para la tasa nueva.)
+     */
+    @EventListener
+    public void onTasasActualizadas(TasasInteresActualizadasEvent evento) {
+        long entradas = cotizaciones.estimatedSize();
+        cotizaciones.invalidateAll();
+        log.info("Caché de cotizaciones invalidada por cambio de tasas ({} entradas)", entradas);
+    }
+}
@@ -0,0 +1,394 @@
+package com.optic.apirest.services;
+
+import com.optic.apirest.config.CostosCreditoConfig;
+import com.optic.apirest.config.RiesgoCarteraConfig;
+import com.optic.apirest.config.TablaTasasInteres;
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.dto.dashboard.EstresTasasResponse;
+import com.optic.apirest.utils.CalculadoraCuotasLote;
+import com.optic.apirest.utils.CalculadoraFinanciera;
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.SistemaAmortizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * 📉 Prueba de estrés de tasas sobre la cartera aprobada: ¿cuánto suben la cuota
+ * y la TCEA si todas las tasas suben +100, +200, +300 pb?
+ *
+ * 1️⃣ Recorre las aprobadas UNA vez por KEYSET (lotes de tamaño fijo, mismo índice
+ *    que el reprecio): en memoria solo hay un lote y los acumuladores
+ * 2️⃣ Cada lote se evalúa en paralelo; por fila se calculan la base y TODOS los
+ *    choques en la misma pasada, sobre primitivos (primera cuota en O(1))
+ * 3️⃣ Se acumula por nivel de riesgo en long (céntimos y diezmilésimas de punto):
+ *    la suma no depende del orden de los hilos, el resultado es determinista
+ *
+ * 🚀 Sin costos configurados, las filas del sistema FRANCÉS (cuota = P × factor, TCEA
+ * nominal) se calculan todas juntas con CalculadoraCuotasLote: arreglos préstamo ×
+ * escenario, repartidos en tramos entre los hilos y con SIMD si la JVM tiene la Vector API.
+ * Las demás filas (alemán, americano, o con costos) siguen fila por fila.
+ *
+ * La base de cada préstamo es la tasa con la que se cotizó (tasa_interes). Solo lee:
+ * transacción readOnly, ningún UPDATE, y no pasa por MotorCotizacion.cotizar para no
+ * llenar la caché de cotizaciones con tasas que no existen.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.estres.tamano-lote (default: 5000)
+ * - cotizacion.estres.max-choques (default: 10)
+ * - cotizacion.estres.max-choque-pb (default: 1000 → +10 puntos)
+ * - cotizacion.estres.lote-vectorial (default: true; false = todas las filas una por una)
+ */
+@Slf4j
+@Service
+public class EstresTasasService {
+
+    // TCEA acumulada en diezmilésimas de punto porcentual (8.8391% → 88391)
+    private static final double ESCALA_TCEA = 10_000.0;
+
+    // Préstamo × escenario por tramo de CalculadoraCuotasLote (cada tramo lo toma un hilo)
+    private static final int TRAMO_VECTORIAL = 4096;
+
+    private static final String SQL_LOTE = """
+            SELECT id, monto_financiar, plazo_anios, riesgo_cliente, tasa_interes, sistema_amortizacion
+            FROM solicitudes_prestamo
+            WHERE estado = 1 AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    // Lo que se lee de cada solicitud aprobada
+    private record Fila(long id, BigDecimal montoFinanciar, Integer plazoAnios, Integer riesgo,
+                        BigDecimal tasaInteres, TipoSistemaAmortizacion sistemaAmortizacion) {
+    }
+
+    /**
+     * Sumas por nivel de riesgo × escenario (escenario 0 = base, 1.. = choques).
+     * Uno por hilo dentro del lote y uno para toda la cartera; solo enteros, así que
+     * combinar en cualquier orden da lo mismo.
+     */
+    private static final class Acumulador {
+        private final long[] prestamos = new long[RiesgoCarteraConfig.NIVELES_RIESGO];
+        private final long[][] cuotaCentavos;
+        private final long[][] tceaDiezmilesimas;
+        private final long[][] deltaCuotaMaximaCentavos;
+
+        private Acumulador(int escenarios) {
+            this.cuotaCentavos = new long[RiesgoCarteraConfig.NIVELES_RIESGO][escenarios];
+            this.tceaDiezmilesimas = new long[RiesgoCarteraConfig.NIVELES_RIESGO][escenarios];
+            this.deltaCuotaMaximaCentavos = new long[RiesgoCarteraConfig.NIVELES_RIESGO][escenarios];
+        }
+
+        private void combinar(Acumulador otro) {
+            for (int nivel = 0; nivel < prestamos.length; nivel++) {
+                prestamos[nivel] += otro.prestamos[nivel];
+                for (int e = 0; e < cuotaCentavos[nivel].length; e++) {
+                    cuotaCentavos[nivel][e] += otro.cuotaCentavos[nivel][e];
+                    tceaDiezmilesimas[nivel][e] += otro.tceaDiezmilesimas[nivel][e];
+                    deltaCuotaMaximaCentavos[nivel][e] = Math.max(deltaCuotaMaximaCentavos[nivel][e],
+                            otro.deltaCuotaMaximaCentavos[nivel][e]);
+                }
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MotorCotizacion motorCotizacion;
+    private final TasaInteresConfig tasaInteresConfig;
+    private final CostosCreditoConfig costosCreditoConfig;
+    private final int tamanoLote;
+    private final int maxChoques;
+    private final int maxChoquePb;
+    private final boolean loteVectorial;
+
+    public EstresTasasService(
+            JdbcTemplate jdbcTemplate,
+            MotorCotizacion motorCotizacion,
+            TasaInteresConfig tasaInteresConfig,
+            CostosCreditoConfig costosCreditoConfig,
+            @Value("${cotizacion.estres.tamano-lote:5000}") int tamanoLote,
+            @Value("${cotizacion.estres.max-choques:10}") int maxChoques,
+            @Value("${cotizacion.estres.max-choque-pb:1000}") int maxChoquePb,
+            @Value("${cotizacion.estres.lote-vectorial:true}") boolean loteVectorial) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.motorCotizacion = motorCotizacion;
+        this.tasaInteresConfig = tasaInteresConfig;
+        this.costosCreditoConfig = costosCreditoConfig;
+        this.tamanoLote = tamanoLote;
+        this.maxChoques = maxChoques;
+        this.maxChoquePb = maxChoquePb;
+        this.loteVectorial = loteVectorial;
+        log.info("Estrés de tasas: cálculo por lotes {}", !loteVectorial ? "deshabilitado"
+                : CalculadoraCuotasLote.usaVectorApi() ? "con Vector API (SIMD)" : "escalar (sin jdk.incubator.vector)");
+    }
+
+    /**
+     * Evalúa todos los choques sobre la cartera aprobada en una sola pasada.
+     *
+     * @param choquesPb Alzas de tasa en puntos básicos (100 pb = +1 punto porcentual)
+     */
+    @Transactional(readOnly = true)
+    public EstresTasasResponse estresar(List<Integer> choquesPb) {
+        int[] choques = validarChoques(choquesPb);
+        long inicio = System.nanoTime();
+
+        // Préstamos sin tasa guardada: la de su riesgo, de una misma foto para toda la pasada
+        TablaTasasInteres tablaTasas = tasaInteresConfig.getTablaVigente();
+        // Con costos la TCEA sale del flujo de caja: el cálculo por lotes no aplica
+        boolean francesPorLote = loteVectorial && !costosCreditoConfig.tieneCostos();
+
+        // 1️⃣ + 2️⃣ Keyset: un lote en memoria, evaluado en paralelo
+        Acumulador cartera = new Acumulador(choques.length + 1);
+        long lotes = 0;
+        long ultimoId = 0;
+        while (true) {
+            List<Fila> filas = jdbcTemplate.query(SQL_LOTE, this::leerFila, ultimoId, tamanoLote);
+            if (filas.isEmpty()) {
+                break;
+            }
+            Acumulador lote = filas.parallelStream()
+                    .filter(fila -> !francesPorLote || fila.sistemaAmortizacion() != TipoSistemaAmortizacion.FRANCES)
+                    .collect(
+                            () -> new Acumulador(choques.length + 1),
+                            (acumulador, fila) -> evaluar(fila, choques, tablaTasas, acumulador),
+                            Acumulador::combinar);
+            if (francesPorLote) {
+                lote.combinar(evaluarFrancesas(filas, choques, tablaTasas));
+            }
+            // 3️⃣ Solo enteros: el orden de combinación no cambia el resultado
+            cartera.combinar(lote);
+            lotes++;
+            ultimoId = filas.get(filas.size() - 1).id();
+            if (filas.size() < tamanoLote) {
+                break;
+            }
+        }
+
+        // 4️⃣ Respuesta: cartera completa y detalle por nivel de riesgo
+        EstresTasasResponse response = new EstresTasasResponse();
+        response.setChoquesPb(toList(choques));
+        response.setVersionTasas(tablaTasas.getVersion());
+        response.setLotes(lotes);
+
+        long prestamos = 0;
+        long[] cuotaTotal = new long[choques.length + 1];
+        long[] tceaTotal = new long[choques.length + 1];
+        long[] deltaMaximo = new long[choques.length + 1];
+        List<EstresTasasResponse.EstresPorNivel> porNivel = new ArrayList<>();
+        for (int nivel = 0; nivel < RiesgoCarteraConfig.NIVELES_RIESGO; nivel++) {
+            long prestamosNivel = cartera.prestamos[nivel];
+            EstresTasasResponse.EstresPorNivel detalle = new EstresTasasResponse.EstresPorNivel();
+            detalle.setRiesgo(nivel + 1);
+            detalle.setPrestamos(prestamosNivel);
+            detalle.setCuotaTotalBase(CalculadoraFinancieraRapida.desdeCentavos(cartera.cuotaCentavos[nivel][0]));
+            detalle.setTceaPromedioBase(promedioTcea(cartera.tceaDiezmilesimas[nivel][0], prestamosNivel));
+            detalle.setEscenarios(escenarios(choques, prestamosNivel, cartera.cuotaCentavos[nivel],
+                    cartera.tceaDiezmilesimas[nivel], cartera.deltaCuotaMaximaCentavos[nivel]));
+            porNivel.add(detalle);
+
+            prestamos += prestamosNivel;
+            for (int e = 0; e <= choques.length; e++) {
+                cuotaTotal[e] += cartera.cuotaCentavos[nivel][e];
+                tceaTotal[e] += cartera.tceaDiezmilesimas[nivel][e];
+                deltaMaximo[e] = Math.max(deltaMaximo[e], cartera.deltaCuotaMaximaCentavos[nivel][e]);
+            }
+        }
+        response.setPrestamos(prestamos);
+        response.setCuotaTotalBase(CalculadoraFinancieraRapida.desdeCentavos(cuotaTotal[0]));
+        response.setTceaPromedioBase(promedioTcea(tceaTotal[0], prestamos));
+        response.setEscenarios(escenarios(choques, prestamos, cuotaTotal, tceaTotal, deltaMaximo));
+        response.setPorNivelRiesgo(porNivel);
+        response.setDuracionMs((System.nanoTime() - inicio) / 1_000_000);
+
+        log.info("Estrés de tasas {} pb: {} préstamos en {} lotes, {} ms",
+                response.getChoquesPb(), prestamos, lotes, response.getDuracionMs());
+        return response;
+    }
+
+    /**
+     * Choques válidos, ordenados y sin repetir (el mismo pedido siempre da el mismo reporte).
+     */
+    private int[] validarChoques(List<Integer> choquesPb) {
+        if (choquesPb == null || choquesPb.isEmpty()) {
+            throw new RuntimeException("Debe indicar al menos un choque de tasa en puntos básicos");
+        }
+        // ?choquesPb=100,,200 llega con un null en medio
+        if (choquesPb.stream().anyMatch(Objects::isNull)) {
+            throw new RuntimeException("Los choques de tasa no pueden estar vacíos");
+        }
+        int[] choques = choquesPb.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        if (choques.length > maxChoques) {
+            throw new RuntimeException("Se permiten como máximo " + maxChoques + " choques por prueba");
+        }
+        if (choques[0] < 1 || choques[choques.length - 1] > maxChoquePb) {
+            throw new RuntimeException("Los choques deben estar entre 1 y " + maxChoquePb + " puntos básicos");
+        }
+        return choques;
+    }
+
+    /**
+     * Todas las filas FRANCESAS del lote con CalculadoraCuotasLote: un arreglo por dato
+     * (préstamo × escenario), calculado por tramos en paralelo. Misma cuota en céntimos y
+     * misma TCEA nominal que evaluar() (la Vector API puede diferir en el último bit del double).
+     */
+    private Acumulador evaluarFrancesas(List<Fila> filas, int[] choques, TablaTasasInteres tablaTasas) {
+        int escenarios = choques.length + 1;
+        List<Fila> francesas = filas.stream()
+                .filter(fila -> fila.sistemaAmortizacion() == TipoSistemaAmortizacion.FRANCES && evaluable(fila))
+                .toList();
+        int total = francesas.size() * escenarios;
+        double[] principales = new double[total];
+        double[] tasasMensuales = new double[total];
+        double[] plazosMeses = new double[total];
+        for (int i = 0; i < francesas.size(); i++) {
+            Fila fila = francesas.get(i);
+            double principal = CalculadoraFinancieraRapida.aCentavos(fila.montoFinanciar());
+            double plazo = CalculadoraFinanciera.calcularPlazoMeses(fila.plazoAnios());
+            double tasaBase = tasaBase(fila, tablaTasas);
+            for (int e = 0; e < escenarios; e++) {
+                int k = i * escenarios + e;
+                principales[k] = principal;
+                tasasMensuales[k] = CalculadoraFinancieraRapida.calcularTasaMensual(
+                        e == 0 ? tasaBase : tasaBase + choques[e - 1] / 100.0);
+                plazosMeses[k] = plazo;
+            }
+        }
+
+        double[] cuotas = new double[total];
+        double[] tceas = new double[total];
+        IntStream.range(0, (total + TRAMO_VECTORIAL - 1) / TRAMO_VECTORIAL).parallel().forEach(tramo ->
+                CalculadoraCuotasLote.calcular(principales, tasasMensuales, plazosMeses, cuotas, tceas,
+                        tramo * TRAMO_VECTORIAL, Math.min(total, (tramo + 1) * TRAMO_VECTORIAL)));
+
+        Acumulador acumulador = new Acumulador(escenarios);
+        for (int i = 0; i < francesas.size(); i++) {
+            int nivel = RiesgoCarteraConfig.indiceNivel(francesas.get(i).riesgo());
+            acumulador.prestamos[nivel]++;
+            long cuotaBase = 0;
+            for (int e = 0; e < escenarios; e++) {
+                int k = i * escenarios + e;
+                long cuota = Math.round(cuotas[k]);
+                acumular(acumulador, nivel, e, cuota, tceas[k], cuotaBase);
+                if (e == 0) {
+                    cuotaBase = cuota;
+                }
+            }
+        }
+        return acumulador;
+    }
+
+    // Sin monto a financiar o sin plazo no hay cuota que estresar
+    private static boolean evaluable(Fila fila) {
+        return fila.montoFinanciar() != null && fila.plazoAnios() != null && fila.plazoAnios() >= 1
+                && CalculadoraFinancieraRapida.aCentavos(fila.montoFinanciar()) > 0;
+    }
+
+    // La tasa con la que se cotizó; si no se guardó, la de su riesgo
+    private static double tasaBase(Fila fila, TablaTasasInteres tablaTasas) {
+        return (fila.tasaInteres() != null && fila.tasaInteres().signum() > 0
+                ? fila.tasaInteres()
+                : tablaTasas.tasaPorRiesgo(fila.riesgo())).doubleValue();
+    }
+
+    private static void acumular(Acumulador acumulador, int nivel, int escenario, long cuota, double tcea, long cuotaBase) {
+        acumulador.cuotaCentavos[nivel][escenario] += cuota;
+        acumulador.tceaDiezmilesimas[nivel][escenario] += Math.round(tcea * ESCALA_TCEA);
+        if (escenario > 0 && cuota - cuotaBase > acumulador.deltaCuotaMaximaCentavos[nivel][escenario]) {
+            acumulador.deltaCuotaMaximaCentavos[nivel][escenario] = cuota - cuotaBase;
+        }
+    }
+
+    /**
+     * Base y todos los choques de UNA solicitud, sumados en el acumulador del hilo.
+     */
+    private void evaluar(Fila fila, int[] choques, TablaTasasInteres tablaTasas, Acumulador acumulador) {
+        if (!evaluable(fila)) {
+            return;
+        }
+        long financiarCentavos = CalculadoraFinancieraRapida.aCentavos(fila.montoFinanciar());
+        // Con los costos actuales la comisión de desembolso se come el monto: no tiene TCEA
+        if (!motorCotizacion.tceaCalculable(financiarCentavos)) {
+            return;
+        }
+        int nivel = RiesgoCarteraConfig.indiceNivel(fila.riesgo());
+        int plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(fila.plazoAnios());
+        double tasaBase = tasaBase(fila, tablaTasas);
+        TipoSistemaAmortizacion tipoSistema = fila.sistemaAmortizacion();
+        SistemaAmortizacion sistema = tipoSistema.getSistema();
+
+        long cuotaBase = 0;
+        acumulador.prestamos[nivel]++;
+        for (int e = 0; e <= choques.length; e++) {
+            double tasaAnual = e == 0 ? tasaBase : tasaBase + choques[e - 1] / 100.0;
+            double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual);
+            long cuotaBaseSistema = sistema.cuotaBaseCentavos(financiarCentavos, tasaMensual, plazoMeses);
+            long cuota = sistema.primeraCuotaCentavos(financiarCentavos, cuotaBaseSistema, tasaMensual, plazoMeses);
+            double tcea = motorCotizacion.tceaConCostos(tipoSistema, financiarCentavos, cuotaBaseSistema, tasaAnual, plazoMeses);
+
+            acumular(acumulador, nivel, e, cuota, tcea, cuotaBase);
+            if (e == 0) {
+                cuotaBase = cuota;
+            }
+        }
+    }
+
+    private static List<EstresTasasResponse.EscenarioEstres> escenarios(
+            int[] choques, long prestamos, long[] cuotaCentavos, long[] tceaDiezmilesimas, long[] deltaMaximoCentavos) {
+        List<EstresTasasResponse.EscenarioEstres> escenarios = new ArrayList<>(choques.length);
+        for (int e = 1; e <= choques.length; e++) {
+            long deltaCuota = cuotaCentavos[e] - cuotaCentavos[0];
+            EstresTasasResponse.EscenarioEstres escenario = new EstresTasasResponse.EscenarioEstres();
+            escenario.setChoquePb(choques[e - 1]);
+            escenario.setCuotaTotal(CalculadoraFinancieraRapida.desdeCentavos(cuotaCentavos[e]));
+            escenario.setDeltaCuotaTotal(CalculadoraFinancieraRapida.desdeCentavos(deltaCuota));
+            escenario.setDeltaCuotaPromedio(prestamos > 0
+                    ? BigDecimal.valueOf(deltaCuota).divide(BigDecimal.valueOf(prestamos * 100), 2, RoundingMode.HALF_EVEN)
+                    : BigDecimal.ZERO.setScale(2));
+            escenario.setDeltaCuotaMaxima(CalculadoraFinancieraRapida.desdeCentavos(deltaMaximoCentavos[e]));
+            escenario.setTceaPromedio(promedioTcea(tceaDiezmilesimas[e], prestamos));
+            escenario.setDeltaTceaPromedio(promedioTcea(tceaDiezmilesimas[e] - tceaDiezmilesimas[0], prestamos));
+            escenarios.add(escenario);
+        }
+        return escenarios;
+    }
+
+    private static BigDecimal promedioTcea(long sumaDiezmilesimas, long prestamos) {
+        if (prestamos == 0) {
+            return BigDecimal.ZERO.setScale(4);
+        }
+        return BigDecimal.valueOf(sumaDiezmilesimas)
+                .divide(BigDecimal.valueOf(prestamos).multiply(BigDecimal.valueOf(10_000)), 4, RoundingMode.HALF_EVEN);
+    }
+
+    private static List<Integer> toList(int[] valores) {
+        List<Integer> lista = new ArrayList<>(valores.length);
+        for (int valor : valores) {
+            lista.add(valor);
+        }
+        return lista;
+    }
+
+    private Fila leerFila(ResultSet rs, int numeroFila) throws SQLException {
+        String sistema = rs.getString("sistema_amortizacion");
+        return new Fila(
+                rs.getLong("id"),
+                rs.getBigDecimal("monto_financiar"),
+                rs.getObject("plazo_anios", Integer.class),
+                rs.getObject("riesgo_cliente", Integer.class),
+                rs.getBigDecimal("tasa_interes"),
+                // Columna nula (solicitudes anteriores) = francés
+                sistema != null ? TipoSistemaAmortizacion.valueOf(sistema) : TipoSistemaAmortizacion.FRANCES);
+    }
+}
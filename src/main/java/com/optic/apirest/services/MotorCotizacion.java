@@ -0,0 +1,451 @@
+package com.optic.apirest.services;
+
+import com.optic.apirest.config.CostosCreditoConfig;
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.config.TasasInteresActualizadasEvent;
+import com.optic.apirest.utils.CalculadoraFinanciera;
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.CalculadoraTCEA;
+import com.optic.apirest.utils.ResultadoCotizacion;
+import com.optic.apirest.utils.SistemaAmortizacion;
+import com.optic.apirest.utils.TablaFactoresAnualidad;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ⚙️ Punto único de entrada para cotizar un préstamo.
+ *
+ * Decide qué motor usar:
+ * - Motor RÁPIDO (CalculadoraFinancieraRapida): céntimos en long + factor en double
+ * - Motor EXACTO (CalculadoraFinanciera): BigDecimal con PRECISION = 20
+ *
+ * 📋 TABLA DE FACTORES: al arrancar se precalcula el factor de cuota para cada
+ * tasa vigente × plazo en meses. Si la tasa o el plazo no están en la tabla,
+ * el factor se calcula al vuelo (fallback). Cuando cambian las tasas la tabla
+ * se reconstruye completa y se publica con un solo set() atómico.
+ *
+ * 💰 TCEA CON COSTOS: si CostosCreditoConfig define comisiones o seguro, la TCEA
+ * se obtiene de la TIR del flujo de caja real (CalculadoraTCEA) en vez de
+ * capitalizar solo la tasa nominal. Si la comisión de desembolso se come todo el
+ * monto a financiar no hay TCEA y la cotización se rechaza.
+ *
+ * 🔍 MODO SHADOW: sobre una muestra de cotizaciones se ejecuta también el motor
+ * exacto y se reporta cualquier diferencia mayor a un céntimo.
+ *
+ * 🗄️ CACHÉ: las combinaciones repetidas (tasa, monto, % cuota inicial, plazo, sistema)
+ * del motor rápido se sirven desde CacheCotizaciones sin recalcular.
+ *
+ * 🏦 SISTEMAS DE AMORTIZACIÓN: francés (por defecto), alemán o americano. La cuota
+ * informada es la primera del sistema y los totales (última cuota, intereses) salen
+ * de SistemaAmortizacion.calcularTotales en una pasada sobre primitivos. El motor
+ * exacto y el modo shadow solo existen para el francés: los otros sistemas siempre
+ * usan el motor rápido.
+ *
+ * 📥 SIN ASIGNACIONES: cotizar(..., ResultadoCotizacion) escribe en un resultado
+ * del llamador. Sobre una muestra se mide la memoria asignada por cotización
+ * (métrica cotizacion.asignacion.bytes, en bytes por operación).
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.motor-rapido.habilitado (default: true)
+ * - cotizacion.shadow.habilitado (default: false)
+ * - cotizacion.shadow.muestreo (default: 0.01 → 1% de las cotizaciones)
+ * - cotizacion.asignacion.muestreo (default: 0.01 → 1% de las cotizaciones; 0 la desactiva)
+ */
+@Slf4j
+@Service
+public class MotorCotizacion {
+
+    // Tolerancia máxima entre motores: 1 céntimo en montos, 0.01 puntos en la TCEA
+    private static final long TOLERANCIA_CENTAVOS = 1;
+    private static final double TOLERANCIA_TCEA = 0.01;
+
+    private final boolean motorRapidoHabilitado;
+    private final boolean shadowHabilitado;
+    private final double shadowMuestreo;
+    private final double asignacionMuestreo;
+
+    // Solo la JVM HotSpot expone los bytes asignados por hilo; en otra JVM no se mide
+    private final com.sun.management.ThreadMXBean hilos;
+
+    // Los lectores siempre ven una tabla completa: la vieja o la nueva, nunca una a medias
+    private final AtomicReference<TablaFactoresAnualidad> tablaFactores = new AtomicReference<>();
+    private final CostosCreditoConfig costosCreditoConfig;
+    private final CacheCotizaciones cacheCotizaciones;
+
+    private final Counter comparacionesShadow;
+    private final Counter discrepanciasShadow;
+    private final Counter aciertosTabla;
+    private final Counter fallosTabla;
+    private final DistributionSummary bytesPorCotizacion;
+
+    public MotorCotizacion(
+            TasaInteresConfig tasaInteresConfig,
+            CostosCreditoConfig costosCreditoConfig,
+            CacheCotizaciones cacheCotizaciones,
+            @Value("${cotizacion.motor-rapido.habilitado:true}") boolean motorRapidoHabilitado,
+            @Value("${cotizacion.shadow.habilitado:false}") boolean shadowHabilitado,
+            @Value("${cotizacion.shadow.muestreo:0.01}") double shadowMuestreo,
+            @Value("${cotizacion.asignacion.muestreo:0.01}") double asignacionMuestreo,
+            MeterRegistry meterRegistry) {
+        this.motorRapidoHabilitado = motorRapidoHabilitado;
+        this.shadowHabilitado = shadowHabilitado;
+        this.shadowMuestreo = shadowMuestreo;
+        this.asignacionMuestreo = asignacionMuestreo;
+        this.hilos = medidorAsignacionPorHilo();
+        this.costosCreditoConfig = costosCreditoConfig;
+        this.cacheCotizaciones = cacheCotizaciones;
+        this.tablaFactores.set(TablaFactoresAnualidad.construir(tasaInteresConfig.getTasasVigentes()));
+        this.aciertosTabla = Counter.builder("cotizacion.tabla.factores")
+                .tag("resultado", "acierto")
+                .description("Cotizaciones resueltas con la tabla de factores precalculada")
+                .register(meterRegistry);
+        this.fallosTabla = Counter.builder("cotizacion.tabla.factores")
+                .tag("resultado", "fallback")
+                .description("Cotizaciones con tasa o plazo fuera de la tabla (factor calculado al vuelo)")
+                .register(meterRegistry);
+        this.comparacionesShadow = Counter.builder("cotizacion.shadow.comparaciones")
+                .description("Cotizaciones recalculadas con el motor BigDecimal para comparar")
+                .register(meterRegistry);
+        this.discrepanciasShadow = Counter.builder("cotizacion.shadow.discrepancias")
+                .description("Cotizaciones donde el motor rápido difiere en más de un céntimo")
+                .register(meterRegistry);
+        this.bytesPorCotizacion = DistributionSummary.builder("cotizacion.asignacion.bytes")
+                .baseUnit("bytes")
+                .description("Memoria asignada por el hilo durante una cotización (muestreada)")
+                .register(meterRegistry);
+    }
+
+    private static com.sun.management.ThreadMXBean medidorAsignacionPorHilo() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mxBean
+                && mxBean.isThreadAllocatedMemorySupported()) {
+            mxBean.setThreadAllocatedMemoryEnabled(true);
+            return mxBean;
+        }
+        log.info("La JVM no mide memoria asignada por hilo: cotizacion.asignacion.bytes no tendrá datos");
+        return null;
+    }
+
+    /**
+     * Reconstruye la tabla de factores cuando cambia el conjunto de tasas.
+     * Las cotizaciones en curso siguen usando la tabla anterior hasta terminar.
+     */
+    @EventListener
+    public void onTasasActualizadas(TasasInteresActualizadasEvent evento) {
+        TablaFactoresAnualidad nueva = TablaFactoresAnualidad.construir(evento.getTasasVigentes());
+        tablaFactores.set(nueva);
+        log.info("Tabla de factores reconstruida para {} tasas", nueva.cantidadTasas());
+    }
+
+    /**
+     * Calcula todos los valores financieros de una cotización.
+     *
+     * Crea un ResultadoCalculo con BigDecimal; en caminos frecuentes conviene
+     * la sobrecarga que escribe en un ResultadoCotizacion reutilizable.
+     *
+     * @param monto Monto total del préstamo
+     * @param porcentajeCuotaInicial Porcentaje de cuota inicial
+     * @param plazoAnios Plazo en años
+     * @param tasaInteresAnual Tasa de interés anual
+     * @return Resultado con montos redondeados a céntimos
+     */
+    public CalculadoraFinanciera.ResultadoCalculo cotizar(
+            BigDecimal monto,
+            BigDecimal porcentajeCuotaInicial,
+            int plazoAnios,
+            BigDecimal tasaInteresAnual) {
+
+        validarPlazo(plazoAnios);
+        if (!motorRapidoHabilitado && !costosCreditoConfig.tieneCostos()) {
+            // Sin redondear a céntimos: exactamente lo que devuelve el motor BigDecimal
+            return CalculadoraFinanciera.calcularTodo(monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual);
+        }
+        ResultadoCotizacion resultado = new ResultadoCotizacion();
+        cotizar(monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual, resultado);
+        return resultado.toResultadoCalculo();
+    }
+
+    /**
+     * Calcula la cotización (sistema francés) y escribe el resultado en {@code destino} (no crea el objeto de resultado).
+     *
+     * @param destino Resultado reutilizable del llamador (se sobrescribe)
+     */
+    public void cotizar(
+            BigDecimal monto,
+            BigDecimal porcentajeCuotaInicial,
+            int plazoAnios,
+            BigDecimal tasaInteresAnual,
+            ResultadoCotizacion destino) {
+        cotizar(monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual, TipoSistemaAmortizacion.FRANCES, destino);
+    }
+
+    /**
+     * Calcula la cotización con el sistema de amortización indicado y escribe el
+     * resultado en {@code destino} (no crea el objeto de resultado).
+     *
+     * Sobre una muestra de llamadas (cotizacion.asignacion.muestreo) se mide cuántos
+     * bytes asignó el hilo durante la cotización → métrica cotizacion.asignacion.bytes.
+     *
+     * @param sistemaAmortizacion Sistema de amortización (null = francés)
+     * @param destino Resultado reutilizable del llamador (se sobrescribe)
+     * @throws RuntimeException si plazoAnios es menor a 1
+     */
+    public void cotizar(
+            BigDecimal monto,
+            BigDecimal porcentajeCuotaInicial,
+            int plazoAnios,
+            BigDecimal tasaInteresAnual,
+            TipoSistemaAmortizacion sistemaAmortizacion,
+            ResultadoCotizacion destino) {
+
+        validarPlazo(plazoAnios);
+        TipoSistemaAmortizacion tipoSistema = TipoSistemaAmortizacion.oPorDefecto(sistemaAmortizacion);
+        if (!medirAsignacion()) {
+            cotizarSinMedir(monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual, tipoSistema, destino);
+            return;
+        }
+        long antes = hilos.getCurrentThreadAllocatedBytes();
+        cotizarSinMedir(monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual, tipoSistema, destino);
+        bytesPorCotizacion.record(hilos.getCurrentThreadAllocatedBytes() - antes);
+    }
+
+    private void cotizarSinMedir(
+            BigDecimal monto,
+            BigDecimal porcentajeCuotaInicial,
+            int plazoAnios,
+            BigDecimal tasaInteresAnual,
+            TipoSistemaAmortizacion tipoSistema,
+            ResultadoCotizacion destino) {
+
+        boolean frances = tipoSistema == TipoSistemaAmortizacion.FRANCES;
+        SistemaAmortizacion sistema = tipoSistema.getSistema();
+
+        if (!motorRapidoHabilitado && frances) {
+            CalculadoraFinanciera.ResultadoCalculo exacto =
+                    CalculadoraFinanciera.calcularTodo(monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual);
+            long financiarCentavos = CalculadoraFinancieraRapida.aCentavos(exacto.getMontoFinanciar());
+            long cuotaCentavos = CalculadoraFinancieraRapida.aCentavos(exacto.getCuotaMensual());
+            int plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(plazoAnios);
+            destino.asignar(
+                    CalculadoraFinancieraRapida.aCentavos(exacto.getMontoCuotaInicial()),
+                    financiarCentavos,
+                    cuotaCentavos,
+                    costosCreditoConfig.tieneCostos()
+                            ? tceaConCostos(financiarCentavos, cuotaCentavos, tasaInteresAnual.doubleValue(), plazoMeses)
+                            : exacto.getTcea().doubleValue(),
+                    tasaInteresAnual,
+                    tipoSistema);
+            sistema.calcularTotales(financiarCentavos, cuotaCentavos,
+                    CalculadoraFinancieraRapida.calcularTasaMensual(tasaInteresAnual.doubleValue()), plazoMeses,
+                    destino.getTotales());
+            return;
+        }
+
+        // 1️⃣ Convertir en el borde: de aquí en adelante solo primitivos
+        long montoCentavos = CalculadoraFinancieraRapida.aCentavos(monto);
+        long porcentajeCentesimas = CalculadoraFinancieraRapida.aCentesimas(porcentajeCuotaInicial);
+        double tasaAnual = tasaInteresAnual.doubleValue();
+        double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual);
+        int plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(plazoAnios);
+
+        // 🗄️ Combinación ya cotizada → copiar de la caché y salir
+        CacheCotizaciones.Clave clave = null;
+        if (cacheCotizaciones.isHabilitado()) {
+            clave = new CacheCotizaciones.Clave(tasaAnual, montoCentavos, porcentajeCentesimas, plazoAnios, tipoSistema);
+            if (cacheCotizaciones.buscar(clave, tasaInteresAnual, destino)) {
+                return;
+            }
+        }
+
+        // 2️⃣ TCEA nominal: de la tabla si la tasa está precalculada (es la misma en cualquier sistema)
+        double tcea = tcea(tasaAnual);
+
+        // 3️⃣ Montos. Francés: la cuota es una sola multiplicación del monto a financiar por el factor de la tabla
+        long cuotaInicialCentavos = CalculadoraFinancieraRapida.calcularMontoCuotaInicialCentavos(montoCentavos, porcentajeCentesimas);
+        long financiarCentavos = montoCentavos - cuotaInicialCentavos;
+        long cuotaBaseCentavos = cuotaBaseCentavos(tipoSistema, financiarCentavos, tasaAnual, plazoMeses);
+
+        // 4️⃣ Totales del sistema en una pasada (escritos en el resultado del llamador)
+        sistema.calcularTotales(financiarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses, destino.getTotales());
+        long cuotaCentavos = destino.getTotales().getPrimeraCuotaCentavos();
+
+        // 5️⃣ Comparar contra el motor exacto en una muestra de cotizaciones (misma fórmula de TCEA nominal)
+        if (frances && shadowHabilitado && ThreadLocalRandom.current().nextDouble() < shadowMuestreo) {
+            compararConMotorExacto(monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual,
+                    cuotaInicialCentavos, financiarCentavos, cuotaCentavos, tcea);
+        }
+
+        // 6️⃣ Con comisiones o seguro, la TCEA sale del flujo de caja real
+        if (costosCreditoConfig.tieneCostos()) {
+            tcea = tceaConCostos(tipoSistema, financiarCentavos, cuotaBaseCentavos, tasaAnual, plazoMeses);
+        }
+
+        // 7️⃣ Escribir en el resultado del llamador: ningún BigDecimal de salida
+        destino.asignar(cuotaInicialCentavos, financiarCentavos, cuotaCentavos, tcea, tasaInteresAnual, tipoSistema);
+        if (clave != null) {
+            cacheCotizaciones.guardar(clave, destino);
+        }
+    }
+
+    // Con plazo 0 el factor es infinito (cuota de Long.MAX_VALUE céntimos) y con plazo negativo la cuota
+    // es negativa: se rechaza aquí para que ningún llamador (lote, caché, reprecio) lo deje pasar
+    private static void validarPlazo(int plazoAnios) {
+        if (plazoAnios < 1) {
+            throw new RuntimeException("El plazo debe ser de al menos 1 año");
+        }
+    }
+
+    private boolean medirAsignacion() {
+        return hilos != null && asignacionMuestreo > 0
+                && ThreadLocalRandom.current().nextDouble() < asignacionMuestreo;
+    }
+
+    /**
+     * Factor de cuota (cuota = montoFinanciar × factor) para una tasa anual y un plazo.
+     * Sale de la tabla precalculada; si la tasa o el plazo no están, se calcula al vuelo.
+     */
+    public double factorCuota(double tasaAnual, int plazoMeses) {
+        TablaFactoresAnualidad tabla = tablaFactores.get();
+        int indiceTasa = tabla.indiceDe(tasaAnual);
+        if (indiceTasa >= 0 && tabla.cubrePlazo(plazoMeses)) {
+            aciertosTabla.increment();
+            return tabla.factorCuota(indiceTasa, plazoMeses);
+        }
+        fallosTabla.increment();
+        double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual);
+        return CalculadoraFinancieraRapida.calcularFactorCuota(tasaMensual, plazoMeses);
+    }
+
+    /**
+     * Valor base del sistema para un monto a financiar (la cuota, en el francés).
+     * En el francés sale del factor de la tabla, igual que en cotizar.
+     */
+    public long cuotaBaseCentavos(TipoSistemaAmortizacion tipoSistema, long financiarCentavos, double tasaAnual, int plazoMeses) {
+        if (tipoSistema == TipoSistemaAmortizacion.FRANCES) {
+            return Math.round(financiarCentavos * factorCuota(tasaAnual, plazoMeses));
+        }
+        return tipoSistema.getSistema().cuotaBaseCentavos(financiarCentavos,
+                CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual), plazoMeses);
+    }
+
+    /**
+     * TCEA (en porcentaje) de una tasa anual, desde la tabla si está precalculada.
+     */
+    public double tcea(double tasaAnual) {
+        TablaFactoresAnualidad tabla = tablaFactores.get();
+        int indiceTasa = tabla.indiceDe(tasaAnual);
+        if (indiceTasa >= 0) {
+            return tabla.tcea(indiceTasa);
+        }
+        return CalculadoraFinancieraRapida.calcularTCEA(CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual));
+    }
+
+    /**
+     * false si la comisión de desembolso se come todo el monto a financiar: el cliente no
+     * recibe nada, el flujo de caja no tiene TIR y no hay TCEA. Sin costos o sin monto
+     * financiado siempre es true (la TCEA es la nominal).
+     */
+    public boolean tceaCalculable(long financiarCentavos) {
+        return !costosCreditoConfig.tieneCostos() || financiarCentavos <= 0
+                || CalculadoraTCEA.tieneDesembolsoNeto(financiarCentavos / 100.0, costosCreditoConfig.getComisionDesembolso());
+    }
+
+    /**
+     * TCEA (en porcentaje) incluyendo los costos configurados en CostosCreditoConfig.
+     * Sin costos configurados, o sin monto financiado, es igual a tcea(tasaAnual).
+     *
+     * @param financiarCentavos Monto a financiar en céntimos
+     * @param cuotaCentavos Cuota mensual en céntimos
+     * @param tasaAnual Tasa de interés anual en porcentaje
+     * @param plazoMeses Plazo en meses
+     * @throws RuntimeException si la comisión de desembolso es mayor o igual que el monto a financiar
+     */
+    public double tceaConCostos(long financiarCentavos, long cuotaCentavos, double tasaAnual, int plazoMeses) {
+        // Sin monto financiado no hay crédito: la nominal (el flujo de solo costos no tiene TIR)
+        if (!costosCreditoConfig.tieneCostos() || financiarCentavos <= 0) {
+            return tcea(tasaAnual);
+        }
+        validarDesembolso(financiarCentavos);
+        return CalculadoraTCEA.calcularTCEAConCostos(
+                financiarCentavos / 100.0,
+                cuotaCentavos / 100.0,
+                CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual),
+                plazoMeses,
+                costosCreditoConfig.getComisionDesembolso(),
+                costosCreditoConfig.getComisionMensual(),
+                costosCreditoConfig.getTasaSeguroDesgravamenMensual());
+    }
+
+    /**
+     * TCEA (en porcentaje) con los costos configurados, para cualquier sistema de amortización.
+     * Sin costos configurados es igual a tcea(tasaAnual).
+     *
+     * @param cuotaBaseCentavos Resultado de SistemaAmortizacion.cuotaBaseCentavos (la cuota, en el francés)
+     * @throws RuntimeException si la comisión de desembolso es mayor o igual que el monto a financiar
+     */
+    public double tceaConCostos(TipoSistemaAmortizacion tipoSistema, long financiarCentavos, long cuotaBaseCentavos,
+                                double tasaAnual, int plazoMeses) {
+        if (!costosCreditoConfig.tieneCostos() || financiarCentavos <= 0) {
+            return tcea(tasaAnual);
+        }
+        if (tipoSistema == TipoSistemaAmortizacion.FRANCES) {
+            return tceaConCostos(financiarCentavos, cuotaBaseCentavos, tasaAnual, plazoMeses);
+        }
+        validarDesembolso(financiarCentavos);
+        return CalculadoraTCEA.calcularTCEAConCostos(tipoSistema.getSistema(), financiarCentavos, cuotaBaseCentavos,
+                CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual), plazoMeses,
+                costosCreditoConfig.getComisionDesembolso(),
+                costosCreditoConfig.getComisionMensual(),
+                costosCreditoConfig.getTasaSeguroDesgravamenMensual());
+    }
+
+    // Mensaje para el cliente antes de que CalculadoraTCEA lo rechace con los montos en double
+    private void validarDesembolso(long financiarCentavos) {
+        if (!tceaCalculable(financiarCentavos)) {
+            throw new RuntimeException("La comisión de desembolso (" + BigDecimal.valueOf(costosCreditoConfig.getComisionDesembolso())
+                    + ") es mayor o igual que el monto a financiar (" + CalculadoraFinancieraRapida.desdeCentavos(financiarCentavos)
+                    + "): no hay desembolso y la TCEA no se puede calcular");
+        }
+    }
+
+    private void compararConMotorExacto(
+            BigDecimal monto, BigDecimal porcentajeCuotaInicial, int plazoAnios, BigDecimal tasaInteresAnual,
+            long cuotaInicialCentavos, long financiarCentavos, long cuotaCentavos, double tcea) {
+
+        comparacionesShadow.increment();
+        CalculadoraFinanciera.ResultadoCalculo exacto = CalculadoraFinanciera.calcularTodo(
+                monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual);
+
+        boolean difiere =
+                Math.abs(CalculadoraFinancieraRapida.aCentavos(exacto.getMontoCuotaInicial()) - cuotaInicialCentavos) > TOLERANCIA_CENTAVOS
+                || Math.abs(CalculadoraFinancieraRapida.aCentavos(exacto.getMontoFinanciar()) - financiarCentavos) > TOLERANCIA_CENTAVOS
+                || Math.abs(CalculadoraFinancieraRapida.aCentavos(exacto.getCuotaMensual()) - cuotaCentavos) > TOLERANCIA_CENTAVOS
+                || Math.abs(exacto.getTcea().doubleValue() - tcea) > TOLERANCIA_TCEA;
+
+        if (difiere) {
+            discrepanciasShadow.increment();
+            log.warn("Discrepancia entre motores para monto={}, cuotaInicial%={}, plazoAnios={}, tasa={}: "
+                            + "rápido [cuotaInicial={}, financiar={}, cuota={}, tcea={}] vs exacto [cuotaInicial={}, financiar={}, cuota={}, tcea={}]",
+                    monto, porcentajeCuotaInicial, plazoAnios, tasaInteresAnual,
+                    CalculadoraFinancieraRapida.desdeCentavos(cuotaInicialCentavos),
+                    CalculadoraFinancieraRapida.desdeCentavos(financiarCentavos),
+                    CalculadoraFinancieraRapida.desdeCentavos(cuotaCentavos),
+                    tcea,
+                    exacto.getMontoCuotaInicial().setScale(2, RoundingMode.HALF_EVEN),
+                    exacto.getMontoFinanciar().setScale(2, RoundingMode.HALF_EVEN),
+                    exacto.getCuotaMensual().setScale(2, RoundingMode.HALF_EVEN),
+                    exacto.getTcea());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.optic.apirest.services;
+
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoRequest;
+import com.optic.apirest.models.Cliente;
+import com.optic.apirest.utils.CalculadoraFinanciera;
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.SistemaAmortizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+
+/**
+ * 🚦 Pre-evaluación LOCAL de una solicitud, antes de llamar a la API de validación.
+ *
+ * Si la solicitud no puede aprobarse con ningún resultado de la API, no tiene
+ * sentido esperar la llamada HTTP: se rechaza acá con el motivo.
+ *
+ * 📐 REGLAS (en este orden):
+ * 1️⃣ Monto dentro de [monto-minimo, monto-maximo]
+ * 2️⃣ Plazo dentro de [plazo-minimo-anios, plazo-maximo-anios]
+ * 3️⃣ Endeudamiento: la primera cuota, calculada con la tasa MÁS BAJA vigente (el mejor
+ *    riesgo posible), no puede superar ratio-endeudamiento-maximo % del ingreso mensual.
+ *    Si ni en el mejor caso entra, la API no puede cambiar el resultado.
+ *    Clientes sin ingreso registrado no pasan por esta regla.
+ *
+ * Cada rechazo es una llamada externa evitada → métrica cotizacion.validacion.llamadas.evitadas
+ * (etiqueta regla = monto | plazo | endeudamiento).
+ *
+ * ⚠️ Viene APAGADA: estas reglas son política de crédito (hasta ahora solo la API decidía)
+ * y rechazan solicitudes que antes se aprobaban. Se enciende cuando negocio aprueba los límites.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.pre-evaluacion.habilitado (default: false)
+ * - cotizacion.pre-evaluacion.monto-minimo (default: 1000)
+ * - cotizacion.pre-evaluacion.monto-maximo (default: 10000000)
+ * - cotizacion.pre-evaluacion.plazo-minimo-anios (default: 1)
+ * - cotizacion.pre-evaluacion.plazo-maximo-anios (default: 30)
+ * - cotizacion.pre-evaluacion.ratio-endeudamiento-maximo (default: 50 → % del ingreso mensual)
+ */
+@Service
+public class PreEvaluacionService {
+
+    private final TasaInteresConfig tasaInteresConfig;
+    private final boolean habilitado;
+    private final BigDecimal montoMinimo;
+    private final BigDecimal montoMaximo;
+    private final int plazoMinimoAnios;
+    private final int plazoMaximoAnios;
+    private final BigDecimal ratioEndeudamientoMaximo;
+
+    private final Counter evitadasPorMonto;
+    private final Counter evitadasPorPlazo;
+    private final Counter evitadasPorEndeudamiento;
+
+    public PreEvaluacionService(
+            TasaInteresConfig tasaInteresConfig,
+            @Value("${cotizacion.pre-evaluacion.habilitado:false}") boolean habilitado,
+            @Value("${cotizacion.pre-evaluacion.monto-minimo:1000}") BigDecimal montoMinimo,
+            @Value("${cotizacion.pre-evaluacion.monto-maximo:10000000}") BigDecimal montoMaximo,
+            @Value("${cotizacion.pre-evaluacion.plazo-minimo-anios:1}") int plazoMinimoAnios,
+            @Value("${cotizacion.pre-evaluacion.plazo-maximo-anios:30}") int plazoMaximoAnios,
+            @Value("${cotizacion.pre-evaluacion.ratio-endeudamiento-maximo:50}") BigDecimal ratioEndeudamientoMaximo,
+            MeterRegistry meterRegistry) {
+        this.tasaInteresConfig = tasaInteresConfig;
+        this.habilitado = habilitado;
+        this.montoMinimo = montoMinimo;
+        this.montoMaximo = montoMaximo;
+        this.plazoMinimoAnios = plazoMinimoAnios;
+        this.plazoMaximoAnios = plazoMaximoAnios;
+        this.ratioEndeudamientoMaximo = ratioEndeudamientoMaximo;
+        this.evitadasPorMonto = contadorEvitadas(meterRegistry, "monto");
+        this.evitadasPorPlazo = contadorEvitadas(meterRegistry, "plazo");
+        this.evitadasPorEndeudamiento = contadorEvitadas(meterRegistry, "endeudamiento");
+    }
+
+    private static Counter contadorEvitadas(MeterRegistry meterRegistry, String regla) {
+        return Counter.builder("cotizacion.validacion.llamadas.evitadas")
+                .tag("regla", regla)
+                .description("Llamadas a la API de validación evitadas por la pre-evaluación local")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Aplica las reglas locales a una solicitud.
+     *
+     * @return Motivo de rechazo, o null si la solicitud debe seguir a la validación externa
+     */
+    public String evaluar(SolicitudPrestamoRequest request, Cliente cliente) {
+        if (!habilitado) {
+            return null;
+        }
+
+        // 1️⃣ Monto
+        if (request.getMonto().compareTo(montoMinimo) < 0 || request.getMonto().compareTo(montoMaximo) > 0) {
+            evitadasPorMonto.increment();
+            return "El monto debe estar entre " + montoMinimo + " y " + montoMaximo + ".";
+        }
+
+        // 2️⃣ Plazo
+        if (request.getPlazoAnios() < plazoMinimoAnios || request.getPlazoAnios() > plazoMaximoAnios) {
+            evitadasPorPlazo.increment();
+            return "El plazo debe estar entre " + plazoMinimoAnios + " y " + plazoMaximoAnios + " años.";
+        }
+
+        // 3️⃣ Endeudamiento, con la mejor tasa posible
+        BigDecimal ingresoMensual = cliente.getIngresoMensual();
+        if (ingresoMensual == null || ingresoMensual.signum() <= 0) {
+            return null;
+        }
+        BigDecimal cuotaMaxima = ingresoMensual.multiply(ratioEndeudamientoMaximo)
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.DOWN);
+        long cuotaMinimaCentavos = cuotaMinimaCentavos(request);
+        if (cuotaMinimaCentavos > CalculadoraFinancieraRapida.aCentavos(cuotaMaxima)) {
+            evitadasPorEndeudamiento.increment();
+            return "La cuota mensual (desde " + CalculadoraFinancieraRapida.desdeCentavos(cuotaMinimaCentavos)
+                    + ") supera el " + ratioEndeudamientoMaximo.stripTrailingZeros().toPlainString()
+                    + "% del ingreso mensual del cliente (" + cuotaMaxima + ").";
+        }
+        return null;
+    }
+
+    /**
+     * Primera cuota con la tasa más baja vigente: la cuota más chica que podría darle la API.
+     */
+    private long cuotaMinimaCentavos(SolicitudPrestamoRequest request) {
+        BigDecimal tasaMasBaja = tasaInteresConfig.getTablaVigente().getTasasVigentes().stream()
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaMasBaja.doubleValue());
+        int plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(request.getPlazoAnios());
+        long montoCentavos = CalculadoraFinancieraRapida.aCentavos(request.getMonto());
+        long financiarCentavos = montoCentavos - CalculadoraFinancieraRapida.calcularMontoCuotaInicialCentavos(
+                montoCentavos, CalculadoraFinancieraRapida.aCentesimas(request.getPorcentajeCuotaInicial()));
+        SistemaAmortizacion sistema = TipoSistemaAmortizacion.oPorDefecto(request.getSistemaAmortizacion()).getSistema();
+        long cuotaBaseCentavos = sistema.cuotaBaseCentavos(financiarCentavos, tasaMensual, plazoMeses);
+        return sistema.primeraCuotaCentavos(financiarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses);
+    }
+}
@@ -0,0 +1,154 @@
+package com.optic.apirest.services;
+
+import com.optic.apirest.config.TablaTasasInteres;
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.config.TasasInteresActualizadasEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔄 Recarga en caliente de las tasas desde la tabla tasas_interes.
+ *
+ * La tabla es de solo inserción: cada cambio de tasas es una versión nueva con
+ * una fila por nivel de riesgo, y la vigente es la de versión más alta. Así las
+ * solicitudes pueden guardar la versión con la que se cotizaron.
+ *
+ * 1️⃣ Cada cierto tiempo (hilo propio, fuera de las cotizaciones) consulta MAX(version)
+ * 2️⃣ Si hay una versión nueva, la lee y arma una TablaTasasInteres completa
+ * 3️⃣ TasaInteresConfig la publica con un set() atómico: las cotizaciones en curso
+ *    terminan con la foto que ya tenían, las siguientes ven la nueva
+ * 4️⃣ Se publica TasasInteresActualizadasEvent (tabla de factores, caché, reprecio)
+ *
+ * 🚀 La PRIMERA carga es síncrona, con todos los beans creados y antes de que arranque
+ * el servidor web: ninguna solicitud se cotiza con las tasas por defecto si la tabla
+ * tiene una versión. Solo si la base de datos no responde se arranca con las tasas por
+ * defecto (y la revisión periódica las reemplaza apenas vuelva). Una versión incompleta
+ * en la tabla corta el arranque.
+ *
+ * ⚠️ En las recargas siguientes, si la base de datos falla o la versión está incompleta,
+ * se registra y se siguen usando las tasas vigentes: una recarga nunca deja al sistema sin tasas.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.tasas.recarga-segundos (default: 30; 0 = solo al arrancar y a pedido)
+ */
+@Slf4j
+@Service
+public class RecargaTasasService implements SmartInitializingSingleton {
+
+    private static final String SQL_ULTIMA_VERSION = "SELECT MAX(version) FROM tasas_interes";
+
+    private static final String SQL_TASAS_VERSION = "SELECT riesgo, tasa FROM tasas_interes WHERE version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TasaInteresConfig tasaInteresConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService tasasScheduler;
+    private final long recargaSegundos;
+
+    public RecargaTasasService(
+            JdbcTemplate jdbcTemplate,
+            TasaInteresConfig tasaInteresConfig,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("tasasScheduler") ScheduledExecutorService tasasScheduler,
+            @Value("${cotizacion.tasas.recarga-segundos:30}") long recargaSegundos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tasaInteresConfig = tasaInteresConfig;
+        this.eventPublisher = eventPublisher;
+        this.tasasScheduler = tasasScheduler;
+        this.recargaSegundos = recargaSegundos;
+    }
+
+    /**
+     * Primera carga, en el hilo de arranque. Corre después de registrar los @EventListener
+     * (el evento de carga inicial llega a la tabla de factores y a la caché) y antes de
+     * que el servidor web acepte pedidos.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            cargarVersionNueva();
+        } catch (DataAccessException e) {
+            log.warn("Base de datos no disponible al arrancar: se usan las tasas por defecto {} hasta la próxima recarga: {}",
+                    tasaInteresConfig.getTasasVigentes(), e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Con la aplicación lista: revisión periódica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (recargaSegundos > 0) {
+            tasasScheduler.scheduleWithFixedDelay(this::revisarSinFallar, recargaSegundos, recargaSegundos, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Revisa la tabla ya (sin esperar al próximo ciclo) y devuelve la foto vigente.
+     */
+    public TablaTasasInteres recargar() {
+        revisar();
+        return tasaInteresConfig.getTablaVigente();
+    }
+
+    private void revisarSinFallar() {
+        try {
+            revisar();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron recargar las tasas, se siguen usando las de la versión {}: {}",
+                    tasaInteresConfig.getTablaVigente().getVersion(), e.getMessage());
+        }
+    }
+
+    private void revisar() {
+        try {
+            cargarVersionNueva();
+        } catch (DataAccessException e) {
+            throw new RuntimeException("No se pudo consultar la tabla de tasas: " + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+
+    private void cargarVersionNueva() {
+        Long ultimaVersion = jdbcTemplate.queryForObject(SQL_ULTIMA_VERSION, Long.class);
+        TablaTasasInteres actual = tasaInteresConfig.getTablaVigente();
+        if (ultimaVersion == null || ultimaVersion <= actual.getVersion()) {
+            return;
+        }
+
+        // Foto nueva completa ANTES de publicarla
+        Map<Integer, BigDecimal> tasasPorRiesgo = new HashMap<>();
+        jdbcTemplate.query(SQL_TASAS_VERSION,
+                (RowCallbackHandler) rs -> tasasPorRiesgo.put(rs.getInt("riesgo"), rs.getBigDecimal("tasa")),
+                ultimaVersion);
+        for (int riesgo = 1; riesgo <= 3; riesgo++) {
+            BigDecimal tasa = tasasPorRiesgo.get(riesgo);
+            if (tasa == null || tasa.signum() <= 0) {
+                throw new RuntimeException("La versión " + ultimaVersion + " de tasas_interes no tiene una tasa válida para el riesgo " + riesgo);
+            }
+        }
+        TablaTasasInteres nueva = new TablaTasasInteres(ultimaVersion,
+                tasasPorRiesgo.get(1), tasasPorRiesgo.get(2), tasasPorRiesgo.get(3), "tasas_interes");
+
+        // Solo quien publica avisa: dos recargas a la vez no disparan el evento dos veces
+        if (tasaInteresConfig.publicar(nueva)) {
+            boolean cargaInicial = actual.getVersion() == 0;
+            log.info("Tasas de interés versión {} publicadas: {}", nueva.getVersion(), nueva.getTasasVigentes());
+            eventPublisher.publishEvent(new TasasInteresActualizadasEvent(nueva.getVersion(), nueva.getTasasVigentes(), cargaInicial));
+        }
+    }
+}
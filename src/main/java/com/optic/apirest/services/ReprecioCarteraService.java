@@ -0,0 +1,494 @@
+package com.optic.apirest.services;
+
+import com.optic.apirest.config.TablaTasasInteres;
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.config.TasasInteresActualizadasEvent;
+import com.optic.apirest.dto.reprecio.ProgresoReprecioResponse;
+import com.optic.apirest.models.TrabajoReprecio;
+import com.optic.apirest.respositories.TrabajoReprecioRepository;
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.ResultadoCotizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔁 Reprecio de la cartera aprobada cuando cambian las tasas.
+ *
+ * Las solicitudes aprobadas guardan tasa, TCEA y cuota calculadas con las tasas
+ * del momento. Este trabajo las recorre todas y las recalcula con las tasas vigentes.
+ *
+ * 📐 CÓMO:
+ * 1️⃣ Lee las aprobadas por KEYSET (WHERE id > último ORDER BY id LIMIT n): cada
+ *    lote es una consulta corta por índice, sin OFFSET que se vuelva lento al avanzar
+ * 2️⃣ Recalcula el lote en paralelo con MotorCotizacion
+ * 3️⃣ Escribe solo las filas que cambiaron con un UPDATE por lotes de JDBC.
+ *    El UPDATE exige que los datos de entrada (monto, cuota inicial, plazo, sistema,
+ *    riesgo) sigan siendo los leídos: si un PUT/PATCH la modificó entre la lectura y
+ *    la escritura, la fila no se toca (ese PUT/PATCH ya la cotizó con las tasas vigentes)
+ * 4️⃣ Confirma los UPDATE y el punto de control (TrabajoReprecio) en la MISMA
+ *    transacción corta: nunca hay una transacción gigante y, si la aplicación se
+ *    cae, al arrancar continúa desde el último lote confirmado
+ *
+ * Se lanza solo con TasasInteresActualizadasEvent o manualmente desde /api/admin/reprecio.
+ * Al arrancar también se lanza si la cartera aprobada quedó con una versión de tasas
+ * anterior a la cargada (p. ej. las tasas cambiaron con la aplicación detenida).
+ * Si las tasas cambian otra vez en medio del trabajo, se vuelve a empezar desde el inicio.
+ *
+ * 📌 CONFIGURACIÓN (application.properties):
+ * - cotizacion.reprecio.tamano-lote (default: 1000)
+ * - cotizacion.reprecio.automatico (default: true → se lanza al cambiar las tasas)
+ * - cotizacion.reprecio.reanudar-al-iniciar (default: true)
+ * ⚠️ Con MySQL, rewriteBatchedStatements=true en la URL hace que el lote viaje en un solo envío.
+ */
+@Slf4j
+@Service
+public class ReprecioCarteraService {
+
+    private static final String SQL_CONTAR_APROBADAS =
+            "SELECT COUNT(*) FROM solicitudes_prestamo WHERE estado = 1";
+
+    // Versión más alta con la que se cotizó la cartera (sin versión = anterior a todas)
+    private static final String SQL_VERSION_CARTERA =
+            "SELECT MAX(COALESCE(version_tasas, 0)) FROM solicitudes_prestamo WHERE estado = 1";
+
+    private static final String SQL_LOTE = """
+            SELECT id, monto, porcentaje_cuota_inicial, plazo_anios, riesgo_cliente,
+                   tasa_interes, tcea, cuota_mensual, sistema_amortizacion
+            FROM solicitudes_prestamo
+            WHERE estado = 1 AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String SQL_ACTUALIZAR = """
+            UPDATE solicitudes_prestamo
+            SET tasa_interes = ?, tcea = ?, monto_cuota_inicial = ?, monto_financiar = ?,
+                cuota_mensual = ?, version_tasas = ?, updated_at = CURRENT_TIMESTAMP
+            WHERE id = ? AND estado = 1
+              AND monto = ? AND porcentaje_cuota_inicial = ? AND plazo_anios = ?
+              AND sistema_amortizacion <=> ? AND riesgo_cliente <=> ?
+            """;
+
+    private static final String SQL_PUNTO_CONTROL = """
+            UPDATE trabajos_reprecio
+            SET ultimo_id_procesado = ?, filas_procesadas = filas_procesadas + ?,
+                filas_actualizadas = filas_actualizadas + ?, actualizado_en = CURRENT_TIMESTAMP
+            WHERE id = ?
+            """;
+
+    private static final String SQL_REINICIAR = """
+            UPDATE trabajos_reprecio
+            SET ultimo_id_procesado = 0, filas_procesadas = 0, filas_actualizadas = 0,
+                total_estimado = ?, actualizado_en = CURRENT_TIMESTAMP
+            WHERE id = ?
+            """;
+
+    // Lo que se lee de cada solicitud aprobada
+    // (sistemaGuardado = valor crudo de la columna, puede ser null; se usa para el UPDATE condicional)
+    private record Fila(long id, BigDecimal monto, BigDecimal porcentajeCuotaInicial, Integer plazoAnios,
+                        Integer riesgo, BigDecimal tasaInteres, BigDecimal tcea, BigDecimal cuotaMensual,
+                        String sistemaGuardado, TipoSistemaAmortizacion sistemaAmortizacion) {
+    }
+
+    // Valores nuevos de una solicitud que cambió, con la fila leída (condición del UPDATE)
+    private record Reprecio(Fila leida, BigDecimal tasaInteres, BigDecimal tcea, BigDecimal montoCuotaInicial,
+                            BigDecimal montoFinanciar, BigDecimal cuotaMensual, long versionTasas) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrabajoReprecioRepository trabajoReprecioRepository;
+    private final MotorCotizacion motorCotizacion;
+    private final TasaInteresConfig tasaInteresConfig;
+    private final ExecutorService reprecioExecutor;
+    private final int tamanoLote;
+    private final boolean automatico;
+    private final boolean reanudarAlIniciar;
+
+    private final Counter filasRevisadas;
+    private final Counter filasActualizadas;
+
+    // Solo un reprecio a la vez; reinicioPendiente = las tasas cambiaron durante el trabajo
+    private final AtomicBoolean enEjecucion = new AtomicBoolean(false);
+    private final AtomicBoolean reinicioPendiente = new AtomicBoolean(false);
+
+    // true desde ApplicationReadyEvent: una carga inicial posterior (la base de datos no
+    // respondía al arrancar) revisa la cartera en el momento
+    private volatile boolean aplicacionLista;
+
+    // Velocidad de la ejecución actual (el total acumulado vive en TrabajoReprecio)
+    private final AtomicLong filasEnEjecucion = new AtomicLong();
+    private volatile long inicioEjecucionNanos;
+    private volatile long finEjecucionNanos;
+
+    public ReprecioCarteraService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            TrabajoReprecioRepository trabajoReprecioRepository,
+            MotorCotizacion motorCotizacion,
+            TasaInteresConfig tasaInteresConfig,
+            @Qualifier("reprecioExecutor") ExecutorService reprecioExecutor,
+            @Value("${cotizacion.reprecio.tamano-lote:1000}") int tamanoLote,
+            @Value("${cotizacion.reprecio.automatico:true}") boolean automatico,
+            @Value("${cotizacion.reprecio.reanudar-al-iniciar:true}") boolean reanudarAlIniciar,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.trabajoReprecioRepository = trabajoReprecioRepository;
+        this.motorCotizacion = motorCotizacion;
+        this.tasaInteresConfig = tasaInteresConfig;
+        this.reprecioExecutor = reprecioExecutor;
+        this.tamanoLote = tamanoLote;
+        this.automatico = automatico;
+        this.reanudarAlIniciar = reanudarAlIniciar;
+        this.filasRevisadas = Counter.builder("cotizacion.reprecio.filas")
+                .tag("resultado", "revisada")
+                .description("Solicitudes aprobadas revisadas por el reprecio de cartera")
+                .register(meterRegistry);
+        this.filasActualizadas = Counter.builder("cotizacion.reprecio.filas")
+                .tag("resultado", "actualizada")
+                .description("Solicitudes aprobadas con tasa, TCEA o cuota nuevas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lanza el reprecio en segundo plano (o continúa el que quedó a medias).
+     *
+     * @return Avance al momento de lanzarlo
+     */
+    public ProgresoReprecioResponse iniciar() {
+        if (!lanzarSiLibre()) {
+            throw new RuntimeException("Ya hay un reprecio de cartera en ejecución");
+        }
+        return progreso();
+    }
+
+    /**
+     * Avance del último reprecio: lo confirmado en base de datos + velocidad actual.
+     */
+    public ProgresoReprecioResponse progreso() {
+        TrabajoReprecio trabajo = trabajoReprecioRepository.findFirstByOrderByIdDesc()
+                .orElseThrow(() -> new RuntimeException("No se ha ejecutado ningún reprecio de cartera"));
+
+        ProgresoReprecioResponse response = new ProgresoReprecioResponse();
+        response.setTrabajoId(trabajo.getId());
+        response.setEstado(trabajo.getEstado());
+        response.setEnEjecucion(enEjecucion.get());
+        response.setUltimoIdProcesado(trabajo.getUltimoIdProcesado());
+        response.setFilasProcesadas(trabajo.getFilasProcesadas());
+        response.setFilasActualizadas(trabajo.getFilasActualizadas());
+        response.setTotalEstimado(trabajo.getTotalEstimado());
+        if (trabajo.getTotalEstimado() != null && trabajo.getTotalEstimado() > 0) {
+            response.setPorcentajeAvance(Math.min(100.0, trabajo.getFilasProcesadas() * 100.0 / trabajo.getTotalEstimado()));
+        }
+        long finNanos = enEjecucion.get() ? System.nanoTime() : finEjecucionNanos;
+        double segundos = (finNanos - inicioEjecucionNanos) / 1_000_000_000.0;
+        response.setFilasPorSegundo(segundos > 0 ? filasEnEjecucion.get() / segundos : 0.0);
+        response.setIniciadoEn(trabajo.getIniciadoEn());
+        response.setActualizadoEn(trabajo.getActualizadoEn());
+        response.setFinalizadoEn(trabajo.getFinalizadoEn());
+        response.setMensajeError(trabajo.getMensajeError());
+        return response;
+    }
+
+    /**
+     * Tasas nuevas → repreciar. Si ya hay un reprecio corriendo, vuelve a empezar
+     * desde el inicio en su próximo lote (lo ya hecho usó las tasas anteriores).
+     * La primera carga al arrancar solo reprecia si la cartera está desactualizada
+     * (las tasas no cambiaron ahora, pero pudieron cambiar con la aplicación detenida).
+     */
+    @EventListener
+    public void onTasasActualizadas(TasasInteresActualizadasEvent evento) {
+        if (!automatico) {
+            return;
+        }
+        if (evento.isCargaInicial()) {
+            // La carga síncrona del arranque se revisa en reanudarPendiente()
+            if (aplicacionLista) {
+                repreciarSiDesactualizada(evento.getVersion());
+            }
+            return;
+        }
+        reinicioPendiente.set(true);
+        lanzarSiLibre();
+    }
+
+    /**
+     * Al arrancar, continúa el reprecio que quedó a medias por una caída o, si no hay
+     * ninguno, lo lanza si la cartera se cotizó con tasas anteriores a las cargadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarPendiente() {
+        aplicacionLista = true;
+        if (reanudarAlIniciar && trabajoReprecioRepository.findFirstByEstadoOrderByIdDesc(TrabajoReprecio.EN_CURSO).isPresent()) {
+            log.info("Reanudando reprecio de cartera pendiente");
+            lanzarSiLibre();
+            return;
+        }
+        if (automatico) {
+            repreciarSiDesactualizada(tasaInteresConfig.getTablaVigente().getVersion());
+        }
+    }
+
+    // Versión 0 = tasas por defecto (la tabla no se pudo leer): no hay contra qué comparar
+    private void repreciarSiDesactualizada(long versionVigente) {
+        if (versionVigente <= 0) {
+            return;
+        }
+        try {
+            Long versionCartera = jdbcTemplate.queryForObject(SQL_VERSION_CARTERA, Long.class);
+            if (versionCartera == null || versionCartera >= versionVigente) {
+                return;
+            }
+            log.info("Cartera aprobada cotizada con la versión {} de tasas (vigente: {}): se lanza el reprecio",
+                    versionCartera, versionVigente);
+            reinicioPendiente.set(true);
+            lanzarSiLibre();
+        } catch (DataAccessException e) {
+            log.warn("No se pudo revisar la versión de tasas de la cartera: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private boolean lanzarSiLibre() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            // Un trabajo EN_CURSO (caída) o FALLIDO continúa desde su punto de control
+            TrabajoReprecio trabajo = trabajoReprecioRepository.findFirstByOrderByIdDesc()
+                    .filter(ultimo -> !TrabajoReprecio.COMPLETADO.equals(ultimo.getEstado()))
+                    .map(this::reabrirTrabajo)
+                    .orElseGet(this::crearTrabajo);
+            Long trabajoId = trabajo.getId();
+            reprecioExecutor.execute(() -> ejecutar(trabajoId));
+            return true;
+        } catch (RuntimeException e) {
+            enEjecucion.set(false);
+            throw e;
+        }
+    }
+
+    private TrabajoReprecio crearTrabajo() {
+        TrabajoReprecio trabajo = new TrabajoReprecio();
+        trabajo.setEstado(TrabajoReprecio.EN_CURSO);
+        trabajo.setUltimoIdProcesado(0L);
+        trabajo.setFilasProcesadas(0L);
+        trabajo.setFilasActualizadas(0L);
+        trabajo.setTotalEstimado(contarAprobadas());
+        trabajo.setIniciadoEn(LocalDateTime.now());
+        return trabajoReprecioRepository.save(trabajo);
+    }
+
+    private TrabajoReprecio reabrirTrabajo(TrabajoReprecio trabajo) {
+        trabajo.setEstado(TrabajoReprecio.EN_CURSO);
+        trabajo.setMensajeError(null);
+        trabajo.setFinalizadoEn(null);
+        return trabajoReprecioRepository.save(trabajo);
+    }
+
+    private void ejecutar(Long trabajoId) {
+        filasEnEjecucion.set(0);
+        inicioEjecucionNanos = System.nanoTime();
+        try {
+            long ultimoId = trabajoReprecioRepository.findById(trabajoId)
+                    .orElseThrow(() -> new RuntimeException("Trabajo de reprecio no encontrado: " + trabajoId))
+                    .getUltimoIdProcesado();
+            log.info("Reprecio de cartera {} desde la solicitud id > {}", trabajoId, ultimoId);
+
+            while (true) {
+                // Tasas cambiadas a mitad del trabajo → empezar de nuevo con las vigentes
+                if (reinicioPendiente.getAndSet(false) && ultimoId > 0) {
+                    jdbcTemplate.update(SQL_REINICIAR, contarAprobadas(), trabajoId);
+                    ultimoId = 0;
+                    log.info("Reprecio de cartera {} reiniciado por cambio de tasas", trabajoId);
+                }
+
+                long desde = ultimoId;
+                Long hasta = transactionTemplate.execute(estado -> procesarLote(trabajoId, desde));
+                if (hasta == null) {
+                    // Se terminó la cartera; si justo cambiaron las tasas, otra vuelta
+                    if (reinicioPendiente.get()) {
+                        continue;
+                    }
+                    break;
+                }
+                ultimoId = hasta;
+            }
+            finalizar(trabajoId, TrabajoReprecio.COMPLETADO, null);
+            log.info("Reprecio de cartera {} completado: {} filas revisadas", trabajoId, filasEnEjecucion.get());
+        } catch (RuntimeException e) {
+            log.error("Reprecio de cartera {} falló; se puede reanudar desde el último lote confirmado", trabajoId, e);
+            finalizar(trabajoId, TrabajoReprecio.FALLIDO, e.getMessage());
+        } finally {
+            finEjecucionNanos = System.nanoTime();
+            enEjecucion.set(false);
+            // Un cambio de tasas que llegó justo al terminar no se pierde
+            if (reinicioPendiente.get()) {
+                lanzarSiLibre();
+            }
+        }
+    }
+
+    /**
+     * Un lote completo dentro de UNA transacción corta.
+     *
+     * @return id de la última solicitud del lote, o null si ya no quedan
+     */
+    private Long procesarLote(Long trabajoId, long desdeId) {
+
+        // 1️⃣ Keyset: siguiente lote de aprobadas
+        List<Fila> filas = jdbcTemplate.query(SQL_LOTE, this::leerFila, desdeId, tamanoLote);
+        if (filas.isEmpty()) {
+            return null;
+        }
+
+        // 2️⃣ Recalcular en paralelo (cálculo puro, sin acceso a la base de datos)
+        //    Todo el lote con la misma foto de tasas
+        TablaTasasInteres tablaTasas = tasaInteresConfig.getTablaVigente();
+        List<Reprecio> cambios = filas.parallelStream()
+                .map(fila -> repreciar(fila, tablaTasas))
+                .filter(Objects::nonNull)
+                .toList();
+
+        // 3️⃣ Escribir solo las que cambiaron, en un UPDATE por lotes
+        //    (condicionado a que los datos de entrada sigan siendo los leídos)
+        long actualizadas = 0;
+        if (!cambios.isEmpty()) {
+            int[][] resultados = jdbcTemplate.batchUpdate(SQL_ACTUALIZAR, cambios, cambios.size(), (ps, cambio) -> {
+                Fila leida = cambio.leida();
+                ps.setBigDecimal(1, cambio.tasaInteres());
+                ps.setBigDecimal(2, cambio.tcea());
+                ps.setBigDecimal(3, cambio.montoCuotaInicial());
+                ps.setBigDecimal(4, cambio.montoFinanciar());
+                ps.setBigDecimal(5, cambio.cuotaMensual());
+                ps.setLong(6, cambio.versionTasas());
+                ps.setLong(7, leida.id());
+                ps.setBigDecimal(8, leida.monto());
+                ps.setBigDecimal(9, leida.porcentajeCuotaInicial());
+                ps.setInt(10, leida.plazoAnios());
+                ps.setObject(11, leida.sistemaGuardado(), Types.VARCHAR);
+                ps.setObject(12, leida.riesgo(), Types.INTEGER);
+            });
+            actualizadas = contarActualizadas(resultados);
+            if (actualizadas < cambios.size()) {
+                log.debug("Reprecio: {} solicitudes modificadas durante el lote no se sobrescribieron", cambios.size() - actualizadas);
+            }
+        }
+
+        // 4️⃣ Punto de control en la misma transacción que los UPDATE
+        long hastaId = filas.get(filas.size() - 1).id();
+        jdbcTemplate.update(SQL_PUNTO_CONTROL, hastaId, filas.size(), actualizadas, trabajoId);
+
+        filasEnEjecucion.addAndGet(filas.size());
+        filasRevisadas.increment(filas.size());
+        filasActualizadas.increment(actualizadas);
+        return hastaId;
+    }
+
+    // Filas afectadas por el lote; SUCCESS_NO_INFO (lote reescrito por el driver) cuenta como una
+    private static long contarActualizadas(int[][] resultados) {
+        long total = 0;
+        for (int[] lote : resultados) {
+            for (int filas : lote) {
+                total += filas == Statement.SUCCESS_NO_INFO ? 1 : Math.max(filas, 0);
+            }
+        }
+        return total;
+    }
+
+    private Fila leerFila(ResultSet rs, int numeroFila) throws SQLException {
+        String sistema = rs.getString("sistema_amortizacion");
+        return new Fila(
+                rs.getLong("id"),
+                rs.getBigDecimal("monto"),
+                rs.getBigDecimal("porcentaje_cuota_inicial"),
+                rs.getObject("plazo_anios", Integer.class),
+                rs.getObject("riesgo_cliente", Integer.class),
+                rs.getBigDecimal("tasa_interes"),
+                rs.getBigDecimal("tcea"),
+                rs.getBigDecimal("cuota_mensual"),
+                sistema,
+                leerSistema(sistema));
+    }
+
+    // Columna nula (solicitudes anteriores) = francés
+    private static TipoSistemaAmortizacion leerSistema(String nombre) {
+        return nombre != null ? TipoSistemaAmortizacion.valueOf(nombre) : TipoSistemaAmortizacion.FRANCES;
+    }
+
+    /**
+     * Recalcula una solicitud con la tasa de su riesgo en la foto de tasas del lote.
+     * Si nada cambió no se escribe (tampoco la versión de tasas).
+     *
+     * @return Valores nuevos, o null si no cambió nada (o le faltan datos para cotizar)
+     */
+    private Reprecio repreciar(Fila fila, TablaTasasInteres tablaTasas) {
+        if (fila.monto() == null || fila.porcentajeCuotaInicial() == null || fila.plazoAnios() == null || fila.plazoAnios() < 1) {
+            return null;
+        }
+        // Con los costos actuales la comisión de desembolso se come el monto: sin TCEA, se deja como está
+        long montoCentavos = CalculadoraFinancieraRapida.aCentavos(fila.monto());
+        long financiarCentavos = montoCentavos - CalculadoraFinancieraRapida.calcularMontoCuotaInicialCentavos(
+                montoCentavos, CalculadoraFinancieraRapida.aCentesimas(fila.porcentajeCuotaInicial()));
+        if (!motorCotizacion.tceaCalculable(financiarCentavos)) {
+            return null;
+        }
+        BigDecimal tasaInteresAnual = tablaTasas.tasaPorRiesgo(fila.riesgo());
+        // Un resultado por hilo del parallelStream: sus valores se copian al Reprecio antes de volver
+        ResultadoCotizacion cotizacion = ResultadoCotizacion.delHilo();
+        motorCotizacion.cotizar(fila.monto(), fila.porcentajeCuotaInicial(), fila.plazoAnios(), tasaInteresAnual,
+                fila.sistemaAmortizacion(), cotizacion);
+
+        // Misma escala que las columnas DECIMAL(5,2) para comparar con lo guardado
+        BigDecimal tasaNueva = tasaInteresAnual.setScale(2, RoundingMode.HALF_EVEN);
+        BigDecimal tceaNueva = cotizacion.getTcea().setScale(2, RoundingMode.HALF_EVEN);
+        BigDecimal cuotaNueva = cotizacion.getCuotaMensual();
+
+        if (iguales(fila.tasaInteres(), tasaNueva) && iguales(fila.tcea(), tceaNueva) && iguales(fila.cuotaMensual(), cuotaNueva)) {
+            return null;
+        }
+        return new Reprecio(fila, tasaNueva, tceaNueva, cotizacion.getMontoCuotaInicial(),
+                cotizacion.getMontoFinanciar(), cuotaNueva, tablaTasas.getVersion());
+    }
+
+    private static boolean iguales(BigDecimal guardado, BigDecimal nuevo) {
+        return guardado != null && guardado.compareTo(nuevo) == 0;
+    }
+
+    private long contarAprobadas() {
+        Long total = jdbcTemplate.queryForObject(SQL_CONTAR_APROBADAS, Long.class);
+        return total != null ? total : 0L;
+    }
+
+    private void finalizar(Long trabajoId, String estado, String mensajeError) {
+        trabajoReprecioRepository.findById(trabajoId).ifPresent(trabajo -> {
+            trabajo.setEstado(estado);
+            trabajo.setMensajeError(mensajeError);
+            trabajo.setFinalizadoEn(LocalDateTime.now());
+            trabajoReprecioRepository.save(trabajo);
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.optic.apirest.services;
+
+import com.optic.apirest.config.RiesgoCarteraConfig;
+import com.optic.apirest.config.TasaInteresConfig;
+import com.optic.apirest.dto.dashboard.RiesgoCarteraResponse;
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.SimuladorRiesgoCartera;
+import com.optic.apirest.utils.SistemaAmortizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🎲 Pérdida esperada y VaR de la cartera aprobada (Monte Carlo).
+ *
+ * 1️⃣ Lee las aprobadas en UNA pasada (sin cargar entidades) y las agrupa por
+ *    nivel de riesgo × plazo efectivo dentro del horizonte
+ * 2️⃣ Exposición de cada préstamo (EAD): saldo a mitad del horizonte según su
+ *    sistema de amortización, monto financiado y tasa
+ * 3️⃣ PD del grupo en el horizonte a partir de la PD anual de RiesgoCarteraConfig
+ * 4️⃣ SimuladorRiesgoCartera simula las trayectorias en todos los núcleos
+ */
+@Slf4j
+@Service
+public class RiesgoCarteraService {
+
+    private static final int HORIZONTE_MAXIMO_MESES = 480;
+
+    private static final String SQL_APROBADAS = """
+            SELECT riesgo_cliente, monto_financiar, plazo_anios, cuota_mensual, tasa_interes, sistema_amortizacion
+            FROM solicitudes_prestamo
+            WHERE estado = 1
+            ORDER BY id
+            """;
+
+    // Acumulador de un grupo (riesgo × meses expuestos); uno por grupo, no por préstamo
+    private static final class Grupo {
+        private final int nivel;
+        private final int mesesExpuestos;
+        private long prestamos;
+        private double exposicion;
+        private double exposicionCuadrada;
+
+        private Grupo(int nivel, int mesesExpuestos) {
+            this.nivel = nivel;
+            this.mesesExpuestos = mesesExpuestos;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RiesgoCarteraConfig riesgoCarteraConfig;
+    private final TasaInteresConfig tasaInteresConfig;
+
+    public RiesgoCarteraService(JdbcTemplate jdbcTemplate,
+                                RiesgoCarteraConfig riesgoCarteraConfig,
+                                TasaInteresConfig tasaInteresConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.riesgoCarteraConfig = riesgoCarteraConfig;
+        this.tasaInteresConfig = tasaInteresConfig;
+    }
+
+    /**
+     * Simula la cartera aprobada.
+     *
+     * @param trayectorias Cantidad de trayectorias (1 .. cotizacion.riesgo.max-trayectorias)
+     * @param semilla Semilla: la misma semilla sobre la misma cartera da el mismo resultado
+     * @param horizonteMeses Horizonte de la pérdida (ej: 12 = pérdida a un año)
+     */
+    public RiesgoCarteraResponse simular(int trayectorias, long semilla, int horizonteMeses) {
+        if (trayectorias < 1 || trayectorias > riesgoCarteraConfig.getMaxTrayectorias()) {
+            throw new RuntimeException("La cantidad de trayectorias debe estar entre 1 y " + riesgoCarteraConfig.getMaxTrayectorias());
+        }
+        if (horizonteMeses < 1 || horizonteMeses > HORIZONTE_MAXIMO_MESES) {
+            throw new RuntimeException("El horizonte debe estar entre 1 y " + HORIZONTE_MAXIMO_MESES + " meses");
+        }
+        long inicio = System.nanoTime();
+
+        // 1️⃣ + 2️⃣ Una pasada sobre la cartera, agrupando
+        Map<Integer, Grupo> grupos = new LinkedHashMap<>();
+        jdbcTemplate.query(SQL_APROBADAS, (RowCallbackHandler) rs -> {
+            BigDecimal montoFinanciar = rs.getBigDecimal("monto_financiar");
+            BigDecimal cuotaMensual = rs.getBigDecimal("cuota_mensual");
+            int plazoAnios = rs.getInt("plazo_anios");
+            if (montoFinanciar == null || cuotaMensual == null || rs.wasNull()) {
+                return;
+            }
+            Integer riesgo = rs.getObject("riesgo_cliente", Integer.class);
+            BigDecimal tasaAnual = rs.getBigDecimal("tasa_interes");
+            if (tasaAnual == null) {
+                tasaAnual = tasaInteresConfig.obtenerTasaPorRiesgo(riesgo);
+            }
+
+            String sistemaGuardado = rs.getString("sistema_amortizacion");
+            TipoSistemaAmortizacion tipoSistema = sistemaGuardado != null
+                    ? TipoSistemaAmortizacion.valueOf(sistemaGuardado)
+                    : TipoSistemaAmortizacion.FRANCES;
+            SistemaAmortizacion sistema = tipoSistema.getSistema();
+
+            int nivel = RiesgoCarteraConfig.indiceNivel(riesgo);
+            int plazoMeses = plazoAnios * 12;
+            int mesesExpuestos = Math.min(horizonteMeses, plazoMeses);
+            long financiarCentavos = CalculadoraFinancieraRapida.aCentavos(montoFinanciar);
+            double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual.doubleValue());
+            // Francés: la cuota guardada es la cuota base; en los otros sistemas se recalcula
+            long cuotaBaseCentavos = tipoSistema == TipoSistemaAmortizacion.FRANCES
+                    ? CalculadoraFinancieraRapida.aCentavos(cuotaMensual)
+                    : sistema.cuotaBaseCentavos(financiarCentavos, tasaMensual, plazoMeses);
+            double exposicion = sistema.saldoCentavos(
+                    financiarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses, mesesExpuestos / 2) / 100.0;
+
+            Grupo grupo = grupos.computeIfAbsent(nivel * (HORIZONTE_MAXIMO_MESES + 1) + mesesExpuestos,
+                    clave -> new Grupo(nivel, mesesExpuestos));
+            grupo.prestamos++;
+            grupo.exposicion += exposicion;
+            grupo.exposicionCuadrada += exposicion * exposicion;
+        });
+
+        // 3️⃣ Arreglos primitivos para el simulador
+        List<Grupo> lista = new ArrayList<>(grupos.values());
+        double[] probabilidad = new double[lista.size()];
+        double[] exposicion = new double[lista.size()];
+        double[] exposicionCuadrada = new double[lista.size()];
+        for (int g = 0; g < lista.size(); g++) {
+            Grupo grupo = lista.get(g);
+            double pdAnual = riesgoCarteraConfig.getProbabilidadIncumplimientoAnual(grupo.nivel);
+            // PD en los meses expuestos: 1 - (1 - PDanual)^(meses / 12)
+            probabilidad[g] = -Math.expm1(grupo.mesesExpuestos / 12.0 * Math.log1p(-pdAnual));
+            exposicion[g] = grupo.exposicion;
+            exposicionCuadrada[g] = grupo.exposicionCuadrada;
+        }
+
+        // 4️⃣ Monte Carlo
+        SimuladorRiesgoCartera.Resultado resultado = SimuladorRiesgoCartera.simular(
+                probabilidad, exposicion, exposicionCuadrada,
+                riesgoCarteraConfig.getLgd(), riesgoCarteraConfig.getCorrelacion(),
+                trayectorias, semilla);
+
+        // 5️⃣ Respuesta, con el detalle por nivel de riesgo
+        RiesgoCarteraResponse response = new RiesgoCarteraResponse();
+        response.setSemilla(semilla);
+        response.setTrayectorias(trayectorias);
+        response.setHorizonteMeses(horizonteMeses);
+        response.setPerdidaEsperada(aMonto(resultado.getPerdidaEsperada()));
+        response.setVar95(aMonto(resultado.getVar95()));
+        response.setVar99(aMonto(resultado.getVar99()));
+        response.setVar999(aMonto(resultado.getVar999()));
+        response.setExpectedShortfall99(aMonto(resultado.getExpectedShortfall99()));
+        response.setPerdidaMaxima(aMonto(resultado.getPerdidaMaxima()));
+
+        long[] prestamosNivel = new long[RiesgoCarteraConfig.NIVELES_RIESGO];
+        double[] exposicionNivel = new double[RiesgoCarteraConfig.NIVELES_RIESGO];
+        double[] perdidaNivel = new double[RiesgoCarteraConfig.NIVELES_RIESGO];
+        for (int g = 0; g < lista.size(); g++) {
+            int nivel = lista.get(g).nivel;
+            prestamosNivel[nivel] += lista.get(g).prestamos;
+            exposicionNivel[nivel] += exposicion[g];
+            perdidaNivel[nivel] += resultado.getPerdidaEsperadaGrupo(g);
+        }
+        List<RiesgoCarteraResponse.RiesgoPorNivel> porNivel = new ArrayList<>();
+        long prestamos = 0;
+        double exposicionTotal = 0.0;
+        for (int nivel = 0; nivel < RiesgoCarteraConfig.NIVELES_RIESGO; nivel++) {
+            RiesgoCarteraResponse.RiesgoPorNivel detalle = new RiesgoCarteraResponse.RiesgoPorNivel();
+            detalle.setRiesgo(nivel + 1);
+            detalle.setPrestamos(prestamosNivel[nivel]);
+            detalle.setExposicion(aMonto(exposicionNivel[nivel]));
+            detalle.setPerdidaEsperada(aMonto(perdidaNivel[nivel]));
+            porNivel.add(detalle);
+            prestamos += prestamosNivel[nivel];
+            exposicionTotal += exposicionNivel[nivel];
+        }
+        response.setPrestamos(prestamos);
+        response.setExposicionTotal(aMonto(exposicionTotal));
+        response.setPorNivelRiesgo(porNivel);
+        response.setDuracionMs((System.nanoTime() - inicio) / 1_000_000);
+
+        log.info("Riesgo de cartera: {} préstamos en {} grupos, {} trayectorias en {} ms",
+                prestamos, lista.size(), trayectorias, response.getDuracionMs());
+        return response;
+    }
+
+    private static BigDecimal aMonto(double valor) {
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
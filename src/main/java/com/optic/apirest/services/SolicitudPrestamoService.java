@@ -1,22 +1,64 @@
 package com.optic.apirest.services;
 
 import com.optic.apirest.Client.TasaInteresApiClient;
+import com.optic.apirest.Client.ValidacionNoDisponibleException;
+import com.optic.apirest.config.TablaTasasInteres;
 import com.optic.apirest.config.TasaInteresConfig;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoRequest;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.CapacidadPagoRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.CapacidadPagoResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.ComparacionOfertasRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.ComparacionOfertasResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.CriterioOferta;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionGrillaRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionGrillaResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionLoteItem;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionPrepagoRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionPrepagoResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoPatch;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoUpdate;
 import com.optic.apirest.dto.SolicitudPrestamo.mappers.SolicitudPrestamoMapper;
 import com.optic.apirest.dto.apiValidarHistorial.ValidacionResponse;
+import com.optic.apirest.dto.cliente.mappers.ClienteMapper;
+import com.optic.apirest.models.Cliente;
 import com.optic.apirest.models.SolicitudPrestamo;
 import com.optic.apirest.respositories.ClienteRepository;
 import com.optic.apirest.respositories.SolicitudPrestamoRepository;
 import com.optic.apirest.services.interfaces.ISolicitudPrestamoService;
 import com.optic.apirest.utils.CalculadoraFinanciera;
+import com.optic.apirest.utils.CalculadoraFinancieraRapida;
+import com.optic.apirest.utils.CronogramaPagos;
+import com.optic.apirest.utils.ResultadoCotizacion;
+import com.optic.apirest.utils.SimuladorPrepagos;
+import com.optic.apirest.utils.SistemaAmortizacion;
+import com.optic.apirest.utils.TipoSistemaAmortizacion;
+import com.optic.apirest.utils.TotalesAmortizacion;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 🎯 PRINCIPIOS SOLID APLICADOS:
@@ -28,11 +70,25 @@ import java.util.List;
 @Service
 public class SolicitudPrestamoService implements ISolicitudPrestamoService {
 
+    private static final BigDecimal UN_CENTIMO = new BigDecimal("0.01");
+
     private final SolicitudPrestamoRepository solicitudPrestamoRepository;
     private final SolicitudPrestamoMapper solicitudPrestamoMapper;
     private final TasaInteresApiClient tasaInteresApiClient;
     private final ClienteRepository clienteRepository;
     private final TasaInteresConfig tasaInteresConfig; // 🎯 SOLID: Configuración centralizada
+    private final MotorCotizacion motorCotizacion;
+    private final PreEvaluacionService preEvaluacionService; // Reglas locales antes de la API externa
+    private final ExecutorService validacionesExecutor; // Pool acotado para validaciones externas concurrentes
+    private final Validator validator;
+    private final ClienteMapper clienteMapper;
+    private final int maxCeldasGrilla;
+    private final BigDecimal ratioEndeudamientoPorDefecto;
+    private final int maxEscenariosPrepago;
+    private final int plazoMaximoOfertas;
+    private final List<BigDecimal> porcentajesOfertas;
+    private final int maxTopOfertas;
+    private final int maxSolicitudesLote;
 
     // Inyección por constructor (mejor práctica - Dependency Injection)
     public SolicitudPrestamoService(
@@ -40,29 +96,64 @@ public class SolicitudPrestamoService implements ISolicitudPrestamoService {
             SolicitudPrestamoMapper solicitudPrestamoMapper,
             TasaInteresApiClient tasaInteresApiClient,
             ClienteRepository clienteRepository,
-            TasaInteresConfig tasaInteresConfig) {
+            TasaInteresConfig tasaInteresConfig,
+            MotorCotizacion motorCotizacion,
+            PreEvaluacionService preEvaluacionService,
+            @Qualifier("validacionesExecutor") ExecutorService validacionesExecutor,
+            Validator validator,
+            ClienteMapper clienteMapper,
+            @Value("${cotizacion.grilla.max-celdas:50000}") int maxCeldasGrilla,
+            @Value("${cotizacion.capacidad.ratio-endeudamiento:30}") BigDecimal ratioEndeudamientoPorDefecto,
+            @Value("${cotizacion.prepagos.max-escenarios:1000}") int maxEscenariosPrepago,
+            @Value("${cotizacion.ofertas.plazo-maximo-anios:30}") int plazoMaximoOfertas,
+            @Value("${cotizacion.ofertas.porcentajes-cuota-inicial:10,15,20,25,30,40,50}") List<BigDecimal> porcentajesOfertas,
+            @Value("${cotizacion.ofertas.max-top:50}") int maxTopOfertas,
+            @Value("${cotizacion.lote.max-solicitudes:1000}") int maxSolicitudesLote) {
         this.solicitudPrestamoRepository = solicitudPrestamoRepository;
         this.solicitudPrestamoMapper = solicitudPrestamoMapper;
         this.tasaInteresApiClient = tasaInteresApiClient;
         this.clienteRepository = clienteRepository;
         this.tasaInteresConfig = tasaInteresConfig;
+        this.motorCotizacion = motorCotizacion;
+        this.preEvaluacionService = preEvaluacionService;
+        this.validacionesExecutor = validacionesExecutor;
+        this.validator = validator;
+        this.clienteMapper = clienteMapper;
+        this.maxCeldasGrilla = maxCeldasGrilla;
+        this.ratioEndeudamientoPorDefecto = ratioEndeudamientoPorDefecto;
+        this.maxEscenariosPrepago = maxEscenariosPrepago;
+        this.plazoMaximoOfertas = plazoMaximoOfertas;
+        this.porcentajesOfertas = List.copyOf(porcentajesOfertas);
+        this.maxTopOfertas = maxTopOfertas;
+        this.maxSolicitudesLote = maxSolicitudesLote;
     }
 
     @Transactional
     public SolicitudPrestamoResponse create(SolicitudPrestamoRequest request) {
 
-        // 1️⃣ Buscar el cliente
-        String documento = clienteRepository.findDocumentoIdentidadById(request.getClienteId());
-        if (documento == null) {
-            throw new RuntimeException("Cliente no encontrado");
-        }
+        // 1️⃣ Buscar el cliente (una sola consulta: documento, ingreso y la relación de la solicitud)
+        Cliente cliente = clienteRepository.findById(request.getClienteId())
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
 
-        // 2️⃣ Llamar a la API externa (MockAPI)
-        ValidacionResponse validacion = tasaInteresApiClient.obtenerValidacionCliente(documento);
-
-        // 3️⃣ Crear la solicitud base desde el mapper
+        // 2️⃣ Crear la solicitud base desde el mapper
         SolicitudPrestamo solicitud = solicitudPrestamoMapper.toEntity(request);
+        solicitud.setCliente(cliente);
+
+        // 🚦 Reglas locales: si ya no puede aprobarse, se rechaza sin llamar a la API externa
+        String motivoPreEvaluacion = preEvaluacionService.evaluar(request, cliente);
+        if (motivoPreEvaluacion != null) {
+            marcarRechazada(solicitud, motivoPreEvaluacion);
+            solicitudPrestamoRepository.save(solicitud);
+            return solicitudPrestamoMapper.toResponse(solicitud);
+        }
+
+        // 3️⃣ Llamar a la API externa (MockAPI)
+        ValidacionResponse validacion = tasaInteresApiClient.obtenerValidacionCliente(cliente.getDocumentoIdentidad());
 
+        // La API no respondió: el resultado por defecto no es una decisión, no se guarda como rechazo
+        if (validacion.isRespaldo()) {
+            throw new ValidacionNoDisponibleException("No se pudo validar al cliente en este momento. La solicitud no se registró; intente nuevamente en unos segundos.");
+        }
 
         // Riesgo y resultado de la API
         Integer riesgo = validacion.getRiesgo();
@@ -70,133 +161,547 @@ public class SolicitudPrestamoService implements ISolicitudPrestamoService {
 
         // 4️⃣ Si no está aprobado → guardar rechazo y salir
         if (!resultado.equalsIgnoreCase("APROBADO")) {
-
-            solicitud.setEstado(0); // RECHAZADO
-            solicitud.setTasaInteres(BigDecimal.ZERO);
-            solicitud.setTcea(BigDecimal.ZERO);
-            solicitud.setMontoCuotaInicial(BigDecimal.ZERO);
-            solicitud.setMontoFinanciar(BigDecimal.ZERO);
-            solicitud.setCuotaMensual(BigDecimal.ZERO);
-            solicitud.setMotivoRechazo("Solicitud rechazada por validación externa.");
-            solicitud.setCliente(
-                    clienteRepository.findById(request.getClienteId())
-                            .orElseThrow(() -> new RuntimeException("Cliente no encontrado"))
-            );
-
+            marcarRechazada(solicitud, "Solicitud rechazada por validación externa.");
             solicitudPrestamoRepository.save(solicitud);
             return solicitudPrestamoMapper.toResponse(solicitud);
         }
 
         // 5️⃣ Obtener tasa según riesgo desde configuración centralizada (SOLID: SRP)
-        BigDecimal tasaInteresAnual = tasaInteresConfig.obtenerTasaPorRiesgo(riesgo);
+        //    Una sola foto de tasas: la tasa y la versión guardada salen de la misma tabla
+        TablaTasasInteres tablaTasas = tasaInteresConfig.getTablaVigente();
+        BigDecimal tasaInteresAnual = tablaTasas.tasaPorRiesgo(riesgo);
 
-        // 6️⃣ Cálculos financieros usando CalculadoraFinanciera (SOLID: SRP - código reutilizable)
-        CalculadoraFinanciera.ResultadoCalculo calculo = CalculadoraFinanciera.calcularTodo(
+        // 6️⃣ Cálculos financieros con el motor de cotización (tabla de factores precalculada)
+        ResultadoCotizacion cotizacion = new ResultadoCotizacion();
+        motorCotizacion.cotizar(
                 request.getMonto(),
                 request.getPorcentajeCuotaInicial(),
                 request.getPlazoAnios(),
-                tasaInteresAnual
+                tasaInteresAnual,
+                request.getSistemaAmortizacion(),
+                cotizacion
         );
 
-        BigDecimal montoCuotaInicial = calculo.getMontoCuotaInicial();
-        BigDecimal montoFinanciar = calculo.getMontoFinanciar();
-        BigDecimal cuotaMensual = calculo.getCuotaMensual();
-        BigDecimal tcea = calculo.getTcea();
-
         // 7️⃣ Asignar cálculos
-        solicitud.setTasaInteres(tasaInteresAnual);
-        solicitud.setTcea(tcea);
-        solicitud.setMontoCuotaInicial(montoCuotaInicial);
-        solicitud.setMontoFinanciar(montoFinanciar);
-        solicitud.setCuotaMensual(cuotaMensual);
+        solicitudPrestamoMapper.aplicarCotizacion(solicitud, cotizacion);
         solicitud.setEstado(1); // APROBADO
         solicitud.setMotivoRechazo(null);
         solicitud.setRiesgoCliente(BigDecimal.valueOf(riesgo).intValue());
-        solicitud.setCliente(
-                clienteRepository.findById(request.getClienteId())
-                        .orElseThrow(() -> new RuntimeException("Cliente no encontrado"))
-        );
+        solicitud.setVersionTasas(tablaTasas.getVersion());
 
         // 8️⃣ Guardar
         SolicitudPrestamo  solicitudPrestamo  = solicitudPrestamoRepository.save(solicitud);
 
-        return solicitudPrestamoMapper.toResponse(solicitudPrestamo);
+        SolicitudPrestamoResponse response = solicitudPrestamoMapper.toResponse(solicitudPrestamo);
+        solicitudPrestamoMapper.aplicarTotales(response, cotizacion);
+        return response;
 
     }
     @Transactional(readOnly = true)
     public SolicitudPrestamoResponse simulador(SolicitudPrestamoRequest request) {
         System.out.println("Simulador request: " + request);
-        // 1️⃣ Buscar el cliente
-        String documento = clienteRepository.findDocumentoIdentidadById(request.getClienteId());
-        if (documento == null) {
-            throw new RuntimeException("Cliente no encontrado");
-        }
+        // 1️⃣ Buscar el cliente (una sola consulta: trae también el documento)
+        Cliente cliente = clienteRepository.findById(request.getClienteId())
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
         // Lógica similar a la del método create, pero sin guardar en la base de datos
 
-        // 1️⃣ Llamar a la API externa (MockAPI)
-        ValidacionResponse validacion = tasaInteresApiClient.obtenerValidacionCliente(documento);
+        // 🚦 Reglas locales antes de la llamada externa
+        String motivoPreEvaluacion = preEvaluacionService.evaluar(request, cliente);
+        if (motivoPreEvaluacion != null) {
+            return rechazoSimulacion(request, cliente, motivoPreEvaluacion);
+        }
 
-        // Riesgo y resultado de la API
-        Integer riesgo = validacion.getRiesgo();
-        String resultado = validacion.getResultadoValidacion();
+        // 2️⃣ Llamar a la API externa (MockAPI)
+        ValidacionResponse validacion = tasaInteresApiClient.obtenerValidacionCliente(cliente.getDocumentoIdentidad());
 
-        SolicitudPrestamoResponse response = new SolicitudPrestamoResponse();
-        // 3️⃣ Crear la solicitud base desde el mapper
-        SolicitudPrestamo solicitud = solicitudPrestamoMapper.toEntity(request);
-        System.out.println("Simulador solicitud base: " + solicitud);
-        // 2️⃣ Si no está aprobado → lanzar excepción
-        if (!resultado.equalsIgnoreCase("APROBADO")) {
-            solicitud.setEstado(0); // RECHAZADO
-            solicitud.setTasaInteres(BigDecimal.ZERO);
-            solicitud.setTcea(BigDecimal.ZERO);
-            solicitud.setMontoCuotaInicial(BigDecimal.ZERO);
-            solicitud.setMontoFinanciar(BigDecimal.ZERO);
-            solicitud.setCuotaMensual(BigDecimal.ZERO);
-            solicitud.setMotivoRechazo("Solicitud rechazada por validación externa.");
-            solicitud.setCliente(
-                    clienteRepository.findById(request.getClienteId())
-                            .orElseThrow(() -> new RuntimeException("Cliente no encontrado"))
-            );
+        // 3️⃣ Cotizar con el resultado de la validación
+        return cotizarSimulacion(request, cliente, validacion);
+    }
 
-            return solicitudPrestamoMapper.toResponseCotizacion(solicitud);
+    /**
+     * Rechaza un lote más grande que cotizacion.lote.max-solicitudes (default: 1000).
+     * El controlador lo llama antes de empezar a responder: con el NDJSON ya en camino
+     * el estado HTTP ya no se puede cambiar.
+     */
+    public void validarTamanoLote(List<SolicitudPrestamoRequest> requests) {
+        if (requests.size() > maxSolicitudesLote) {
+            throw new RuntimeException("El lote tiene " + requests.size() + " solicitudes, el máximo permitido es " + maxSolicitudesLote);
+        }
+    }
 
+    /**
+     * Simula muchas solicitudes en una sola llamada.
+     *
+     * - Todos los clientes se cargan con UNA consulta (IN)
+     * - Se hace una sola validación externa por DNI, en paralelo sobre un pool acotado
+     * - Cada resultado se entrega a {@code alCompletar} apenas termina (en orden de llegada,
+     *   no de envío), siempre desde el hilo que llama a este método
+     *
+     * @param requests Solicitudes a simular (como máximo cotizacion.lote.max-solicitudes)
+     * @param alCompletar Recibe cada resultado (con el índice de la solicitud original)
+     */
+    public void simularLote(List<SolicitudPrestamoRequest> requests, Consumer<SimulacionLoteItem> alCompletar) {
+        validarTamanoLote(requests);
+
+        // 1️⃣ Cargar todos los clientes del lote con una sola consulta
+        Set<Long> clienteIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(SolicitudPrestamoRequest::getClienteId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Cliente> clientes = clienteRepository.findAllById(clienteIds).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+
+        // 2️⃣ Lanzar las validaciones externas (una por DNI) y encolar cada resultado al terminar
+        BlockingQueue<SimulacionLoteItem> completados = new LinkedBlockingQueue<>();
+        Map<String, CompletableFuture<ValidacionResponse>> validacionesPorDni = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            int indice = i;
+            SolicitudPrestamoRequest request = requests.get(i);
+            if (request == null) {
+                completados.add(SimulacionLoteItem.error(indice, "Solicitud vacía"));
+                continue;
+            }
+
+            Set<ConstraintViolation<SolicitudPrestamoRequest>> errores = validator.validate(request);
+            if (!errores.isEmpty()) {
+                completados.add(SimulacionLoteItem.error(indice, "Datos inválidos: " + errores.stream()
+                        .map(error -> error.getPropertyPath() + " " + error.getMessage())
+                        .collect(Collectors.joining(", "))));
+                continue;
+            }
+
+            Cliente cliente = clientes.get(request.getClienteId());
+            if (cliente == null) {
+                completados.add(SimulacionLoteItem.error(indice, "Cliente no encontrado"));
+                continue;
+            }
+
+            // 🚦 Rechazo local: esta solicitud no lanza validación externa
+            String motivoPreEvaluacion = preEvaluacionService.evaluar(request, cliente);
+            if (motivoPreEvaluacion != null) {
+                completados.add(SimulacionLoteItem.ok(indice, rechazoSimulacion(request, cliente, motivoPreEvaluacion)));
+                continue;
+            }
+
+            validacionesPorDni
+                    .computeIfAbsent(cliente.getDocumentoIdentidad(), dni -> CompletableFuture.supplyAsync(
+                            () -> tasaInteresApiClient.obtenerValidacionCliente(dni), validacionesExecutor))
+                    .thenApply(validacion -> SimulacionLoteItem.ok(indice, cotizarSimulacion(request, cliente, validacion)))
+                    .exceptionally(e -> SimulacionLoteItem.error(indice, e.getCause() != null ? e.getCause().getMessage() : e.getMessage()))
+                    .thenAccept(completados::add);
         }
 
-        // 3️⃣ Obtener tasa según riesgo desde configuración centralizada (SOLID: SRP)
-        BigDecimal tasaInteresAnual = tasaInteresConfig.obtenerTasaPorRiesgo(riesgo);
+        // 3️⃣ Entregar los resultados a medida que llegan
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                alCompletar.accept(completados.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Simulación por lote interrumpida", e);
+        }
+    }
 
-        // 4️⃣ Cálculos financieros usando CalculadoraFinanciera (SOLID: código reutilizable)
-        CalculadoraFinanciera.ResultadoCalculo calculo = CalculadoraFinanciera.calcularTodo(
-                request.getMonto(),
+    /**
+     * Simula una grilla de sensibilidad (monto × % cuota inicial × plazo) para un cliente.
+     *
+     * - La validación externa se hace UNA sola vez para toda la grilla
+     * - El factor de cuota se obtiene una vez por plazo y se comparte entre todas las celdas
+     * - Las celdas se calculan en paralelo (ForkJoinPool común) con aritmética en céntimos
+     */
+    @Transactional(readOnly = true)
+    public SimulacionGrillaResponse simularGrilla(SimulacionGrillaRequest request) {
+
+        List<BigDecimal> montos = request.getMontos();
+        List<BigDecimal> porcentajes = request.getPorcentajesCuotaInicial();
+        List<Integer> plazosAnios = request.getPlazosAnios();
+        long totalCeldas = (long) montos.size() * porcentajes.size() * plazosAnios.size();
+        if (totalCeldas > maxCeldasGrilla) {
+            throw new RuntimeException("La grilla tiene " + totalCeldas + " celdas, el máximo permitido es " + maxCeldasGrilla);
+        }
+
+        // 1️⃣ Buscar el cliente y validarlo una sola vez
+        Cliente cliente = clienteRepository.findById(request.getClienteId())
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+        ValidacionResponse validacion = tasaInteresApiClient.obtenerValidacionCliente(cliente.getDocumentoIdentidad());
+
+        SimulacionGrillaResponse response = new SimulacionGrillaResponse();
+        response.setCliente(clienteMapper.toResponse(cliente));
+        response.setRiesgoCliente(validacion.getRiesgo());
+
+        // 2️⃣ Si no está aprobado → grilla vacía con el motivo
+        if (!validacion.getResultadoValidacion().equalsIgnoreCase("APROBADO")) {
+            response.setEstado(0); // RECHAZADO
+            response.setTasaInteres(BigDecimal.ZERO);
+            response.setMotivoRechazo("Solicitud rechazada por validación externa.");
+            response.setCeldas(List.of());
+            return response;
+        }
+
+        // 3️⃣ Tasa del cliente y valores que comparten todas las celdas
+        BigDecimal tasaInteresAnual = tasaInteresConfig.obtenerTasaPorRiesgo(validacion.getRiesgo());
+        double tasaAnual = tasaInteresAnual.doubleValue();
+
+        long[] montosCentavos = montos.stream().mapToLong(CalculadoraFinancieraRapida::aCentavos).toArray();
+        long[] porcentajesCentesimas = porcentajes.stream().mapToLong(CalculadoraFinancieraRapida::aCentesimas).toArray();
+        int[] plazosMeses = plazosAnios.stream().mapToInt(CalculadoraFinanciera::calcularPlazoMeses).toArray();
+        double[] factoresPorPlazo = IntStream.of(plazosMeses)
+                .mapToDouble(plazoMeses -> motorCotizacion.factorCuota(tasaAnual, plazoMeses))
+                .toArray();
+
+        // 4️⃣ Calcular todas las celdas en paralelo (el orden del resultado se conserva)
+        int porPorcentaje = plazosAnios.size();
+        int porMonto = porcentajes.size() * porPorcentaje;
+        List<SimulacionGrillaResponse.CeldaSimulacion> celdas = IntStream.range(0, (int) totalCeldas)
+                .parallel()
+                .mapToObj(k -> {
+                    int m = k / porMonto;
+                    int p = (k % porMonto) / porPorcentaje;
+                    int t = k % porPorcentaje;
+                    long cuotaInicialCentavos = CalculadoraFinancieraRapida
+                            .calcularMontoCuotaInicialCentavos(montosCentavos[m], porcentajesCentesimas[p]);
+                    long financiarCentavos = montosCentavos[m] - cuotaInicialCentavos;
+                    long cuotaCentavos = Math.round(financiarCentavos * factoresPorPlazo[t]);
+                    // Con comisiones/seguro la TCEA depende del monto de cada celda
+                    // (null si la comisión de desembolso se come el monto: esa celda no tiene TCEA)
+                    BigDecimal tcea = motorCotizacion.tceaCalculable(financiarCentavos)
+                            ? BigDecimal.valueOf(motorCotizacion.tceaConCostos(financiarCentavos, cuotaCentavos, tasaAnual, plazosMeses[t]))
+                            : null;
+                    return new SimulacionGrillaResponse.CeldaSimulacion(
+                            montos.get(m),
+                            porcentajes.get(p),
+                            plazosAnios.get(t),
+                            CalculadoraFinancieraRapida.desdeCentavos(cuotaInicialCentavos),
+                            CalculadoraFinancieraRapida.desdeCentavos(financiarCentavos),
+                            CalculadoraFinancieraRapida.desdeCentavos(cuotaCentavos),
+                            tcea);
+                })
+                .toList();
+
+        response.setEstado(1); // APROBADO
+        response.setTasaInteres(tasaInteresAnual);
+        response.setCeldas(celdas);
+        return response;
+    }
+
+    /**
+     * Calcula el préstamo MÁXIMO que el cliente puede pagar según su ingreso mensual.
+     *
+     * En lugar de probar montos cada vez más chicos con /simular, se despeja el monto
+     * de la fórmula de la cuota (solución cerrada) con una sola validación externa.
+     */
+    @Transactional(readOnly = true)
+    public CapacidadPagoResponse calcularCapacidadMaxima(CapacidadPagoRequest request) {
+
+        // 1️⃣ Buscar el cliente: sin ingreso registrado no se puede calcular
+        Cliente cliente = clienteRepository.findById(request.getClienteId())
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+        if (cliente.getIngresoMensual() == null || cliente.getIngresoMensual().signum() <= 0) {
+            throw new RuntimeException("El cliente no tiene ingreso mensual registrado");
+        }
+
+        BigDecimal ratioEndeudamiento = request.getRatioEndeudamiento() != null
+                ? request.getRatioEndeudamiento()
+                : ratioEndeudamientoPorDefecto;
+
+        CapacidadPagoResponse response = new CapacidadPagoResponse();
+        response.setCliente(clienteMapper.toResponse(cliente));
+        response.setIngresoMensual(cliente.getIngresoMensual());
+        response.setRatioEndeudamiento(ratioEndeudamiento);
+        response.setCuotaMaxima(cliente.getIngresoMensual().multiply(ratioEndeudamiento)
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.DOWN));
+        response.setPlazoAnios(request.getPlazoAnios());
+        response.setPorcentajeCuotaInicial(request.getPorcentajeCuotaInicial());
+
+        // 2️⃣ Una sola validación externa
+        ValidacionResponse validacion = tasaInteresApiClient.obtenerValidacionCliente(cliente.getDocumentoIdentidad());
+        response.setRiesgoCliente(validacion.getRiesgo());
+        if (!validacion.getResultadoValidacion().equalsIgnoreCase("APROBADO")) {
+            response.setEstado(0); // RECHAZADO
+            response.setMotivoRechazo("Solicitud rechazada por validación externa.");
+            response.setTasaInteres(BigDecimal.ZERO);
+            response.setMontoMaximo(BigDecimal.ZERO);
+            return response;
+        }
+
+        // 3️⃣ Despejar el monto máximo (inversa de la cuota) desde la cuota máxima ya redondeada
+        BigDecimal tasaInteresAnual = tasaInteresConfig.obtenerTasaPorRiesgo(validacion.getRiesgo());
+        BigDecimal montoMaximo = CalculadoraFinanciera.calcularMontoMaximo(
+                response.getCuotaMaxima(),
                 request.getPorcentajeCuotaInicial(),
                 request.getPlazoAnios(),
                 tasaInteresAnual
         );
 
-        BigDecimal monto = request.getMonto();
-        BigDecimal montoCuotaInicial = calculo.getMontoCuotaInicial();
-        BigDecimal montoFinanciar = calculo.getMontoFinanciar();
-        BigDecimal cuotaMensual = calculo.getCuotaMensual();
-        BigDecimal tcea = calculo.getTcea();
+        // 4️⃣ Cotizar ese monto para devolver los mismos valores que daría /simular.
+        //    El redondeo puede dejar la cuota un céntimo arriba: se baja el monto hasta que entre
+        long cuotaMaximaCentavos = CalculadoraFinancieraRapida.aCentavos(response.getCuotaMaxima());
+        ResultadoCotizacion cotizacion = new ResultadoCotizacion();
+        while (true) {
+            motorCotizacion.cotizar(
+                    montoMaximo,
+                    request.getPorcentajeCuotaInicial(),
+                    request.getPlazoAnios(),
+                    tasaInteresAnual,
+                    cotizacion
+            );
+            if (cotizacion.getCuotaMensualCentavos() <= cuotaMaximaCentavos || montoMaximo.signum() <= 0) {
+                break;
+            }
+            montoMaximo = montoMaximo.subtract(UN_CENTIMO);
+        }
 
-        // 5️⃣ Crear respuesta simulada
-        solicitud.setMonto(monto);
-        solicitud.setPorcentajeCuotaInicial(request.getPorcentajeCuotaInicial());
-        solicitud.setMontoCuotaInicial(montoCuotaInicial);
-        solicitud.setMontoFinanciar(montoFinanciar);
-        solicitud.setPlazoAnios(request.getPlazoAnios());
-        solicitud.setTasaInteres(tasaInteresAnual);
-        solicitud.setTcea(tcea);
-        solicitud.setEstado(1);  // APROBADO
-        solicitud.setCuotaMensual(cuotaMensual);
-        solicitud.setCliente(
-                clienteRepository.findById(request.getClienteId())
-                        .orElseThrow(() -> new RuntimeException("Cliente no encontrado"))
-        );
+        response.setEstado(1); // APROBADO
+        response.setTasaInteres(tasaInteresAnual);
+        response.setTcea(cotizacion.getTcea());
+        response.setMontoMaximo(montoMaximo);
+        response.setMontoCuotaInicial(cotizacion.getMontoCuotaInicial());
+        response.setMontoFinanciar(cotizacion.getMontoFinanciar());
+        response.setCuotaMensual(cotizacion.getCuotaMensual());
+        return response;
+    }
 
+    // Una oferta candidata: solo se crea si entra al top (el resto se descarta sin objetos)
+    private record CandidatoOferta(long clave, long desempate, int plazoAnios, int indicePorcentaje) {
+    }
+
+    // Mejor primero: menor clave, luego menor desempate, luego menor plazo y menor % de cuota inicial
+    private static final Comparator<CandidatoOferta> MEJOR_OFERTA = Comparator
+            .comparingLong(CandidatoOferta::clave)
+            .thenComparingLong(CandidatoOferta::desempate)
+            .thenComparingInt(CandidatoOferta::plazoAnios)
+            .thenComparingInt(CandidatoOferta::indicePorcentaje);
+
+    /**
+     * Las k mejores ofertas para un monto, probando cada plazo × % de cuota inicial.
+     *
+     * - La validación externa se hace UNA sola vez
+     * - Cada candidata se calcula en céntimos (primera cuota en O(1); los totales solo
+     *   si el criterio o el tope los necesitan)
+     * - Solo se guardan las k mejores en un heap acotado (la peor arriba): el resto se
+     *   descarta al vuelo, sin ordenar todas las candidatas → O(n log k)
+     * - Las k ganadoras se cotizan con MotorCotizacion: mismos valores que /simular
+     */
+    @Transactional(readOnly = true)
+    public ComparacionOfertasResponse compararOfertas(ComparacionOfertasRequest request) {
+
+        CriterioOferta criterio = request.getCriterio();
+        int top = request.getTop() != null ? request.getTop() : 5;
+        if (top > maxTopOfertas) {
+            throw new RuntimeException("Se pueden pedir como máximo " + maxTopOfertas + " ofertas");
+        }
+        List<Integer> plazosAnios = request.getPlazosAnios() != null && !request.getPlazosAnios().isEmpty()
+                ? request.getPlazosAnios()
+                : IntStream.rangeClosed(1, plazoMaximoOfertas).boxed().toList();
+        List<BigDecimal> porcentajes = request.getPorcentajesCuotaInicial() != null && !request.getPorcentajesCuotaInicial().isEmpty()
+                ? request.getPorcentajesCuotaInicial()
+                : porcentajesOfertas;
+        long totalCandidatos = (long) plazosAnios.size() * porcentajes.size();
+        if (totalCandidatos > maxCeldasGrilla) {
+            throw new RuntimeException("Hay " + totalCandidatos + " combinaciones, el máximo permitido es " + maxCeldasGrilla);
+        }
+        for (Integer plazo : plazosAnios) {
+            if (plazo == null || plazo < 1) {
+                throw new RuntimeException("Los plazos deben ser de al menos 1 año");
+            }
+        }
+        for (BigDecimal porcentaje : porcentajes) {
+            if (porcentaje == null || porcentaje.signum() < 0 || porcentaje.compareTo(BigDecimal.valueOf(100)) >= 0) {
+                throw new RuntimeException("Los porcentajes de cuota inicial deben estar entre 0 y 100");
+            }
+        }
+
+        // 1️⃣ Buscar el cliente; el tope de cuota sale de su ingreso (obligatorio para MENOR_PLAZO)
+        Cliente cliente = clienteRepository.findById(request.getClienteId())
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+        boolean tieneIngreso = cliente.getIngresoMensual() != null && cliente.getIngresoMensual().signum() > 0;
+        if (criterio == CriterioOferta.MENOR_PLAZO && !tieneIngreso) {
+            throw new RuntimeException("El cliente no tiene ingreso mensual registrado");
+        }
+        BigDecimal ratioEndeudamiento = request.getRatioEndeudamiento() != null
+                ? request.getRatioEndeudamiento()
+                : ratioEndeudamientoPorDefecto;
+        BigDecimal cuotaMaxima = tieneIngreso
+                ? cliente.getIngresoMensual().multiply(ratioEndeudamiento).divide(BigDecimal.valueOf(100), 2, RoundingMode.DOWN)
+                : null;
+        TipoSistemaAmortizacion tipoSistema = TipoSistemaAmortizacion.oPorDefecto(request.getSistemaAmortizacion());
+
+        ComparacionOfertasResponse response = new ComparacionOfertasResponse();
+        response.setCliente(clienteMapper.toResponse(cliente));
+        response.setMonto(request.getMonto());
+        response.setCriterio(criterio);
+        response.setSistemaAmortizacion(tipoSistema);
+        response.setCuotaMaxima(cuotaMaxima);
+
+        // 2️⃣ Una sola validación externa
+        ValidacionResponse validacion = tasaInteresApiClient.obtenerValidacionCliente(cliente.getDocumentoIdentidad());
+        response.setRiesgoCliente(validacion.getRiesgo());
+        if (!validacion.getResultadoValidacion().equalsIgnoreCase("APROBADO")) {
+            response.setEstado(0); // RECHAZADO
+            response.setMotivoRechazo("Solicitud rechazada por validación externa.");
+            response.setTasaInteres(BigDecimal.ZERO);
+            response.setOfertas(List.of());
+            return response;
+        }
+
+        // 3️⃣ Recorrer las candidatas quedándose solo con las k mejores
+        BigDecimal tasaInteresAnual = tasaInteresConfig.obtenerTasaPorRiesgo(validacion.getRiesgo());
+        double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaInteresAnual.doubleValue());
+        SistemaAmortizacion sistema = tipoSistema.getSistema();
+        long montoCentavos = CalculadoraFinancieraRapida.aCentavos(request.getMonto());
+        long cuotaMaximaCentavos = cuotaMaxima != null ? CalculadoraFinancieraRapida.aCentavos(cuotaMaxima) : Long.MAX_VALUE;
+        boolean necesitaTotales = criterio == CriterioOferta.MENOR_INTERES_TOTAL
+                || tipoSistema == TipoSistemaAmortizacion.AMERICANO; // su cuota más alta es la última
+        TotalesAmortizacion totales = new TotalesAmortizacion();
+
+        PriorityQueue<CandidatoOferta> mejores = new PriorityQueue<>(top + 1, MEJOR_OFERTA.reversed());
+        int sobreTope = 0;
+        for (int p = 0; p < porcentajes.size(); p++) {
+            long porcentajeCentesimas = CalculadoraFinancieraRapida.aCentesimas(porcentajes.get(p));
+            long cuotaInicialCentavos = CalculadoraFinancieraRapida.calcularMontoCuotaInicialCentavos(montoCentavos, porcentajeCentesimas);
+            long financiarCentavos = montoCentavos - cuotaInicialCentavos;
+            // La comisión de desembolso se come el monto: ninguna oferta con este % tiene TCEA
+            if (!motorCotizacion.tceaCalculable(financiarCentavos)) {
+                continue;
+            }
+            for (int plazoAnios : plazosAnios) {
+                int plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(plazoAnios);
+                long cuotaBaseCentavos = sistema.cuotaBaseCentavos(financiarCentavos, tasaMensual, plazoMeses);
+                long cuotaCentavos = sistema.primeraCuotaCentavos(financiarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses);
+                long cuotaMasAltaCentavos = cuotaCentavos;
+                if (necesitaTotales) {
+                    sistema.calcularTotales(financiarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses, totales);
+                    cuotaMasAltaCentavos = Math.max(cuotaCentavos, totales.getUltimaCuotaCentavos());
+                }
+                if (cuotaMasAltaCentavos > cuotaMaximaCentavos) {
+                    sobreTope++;
+                    continue;
+                }
+
+                long clave = switch (criterio) {
+                    case MENOR_CUOTA -> cuotaCentavos;
+                    case MENOR_INTERES_TOTAL -> totales.getTotalInteresesCentavos();
+                    case MENOR_PLAZO -> plazoAnios;
+                };
+                long desempate = criterio == CriterioOferta.MENOR_PLAZO ? porcentajeCentesimas : 0;
+
+                // Heap lleno: solo entra si es mejor que la peor de las k (la de arriba)
+                CandidatoOferta peor = mejores.peek();
+                if (mejores.size() == top && comparar(clave, desempate, plazoAnios, p, peor) >= 0) {
+                    continue;
+                }
+                mejores.add(new CandidatoOferta(clave, desempate, plazoAnios, p));
+                if (mejores.size() > top) {
+                    mejores.poll();
+                }
+            }
+        }
+
+        // 4️⃣ Sacar del heap (de peor a mejor) y cotizar las ganadoras como /simular
+        CandidatoOferta[] ganadoras = new CandidatoOferta[mejores.size()];
+        for (int i = ganadoras.length - 1; i >= 0; i--) {
+            ganadoras[i] = mejores.poll();
+        }
+        List<ComparacionOfertasResponse.OfertaPrestamo> ofertas = new ArrayList<>(ganadoras.length);
+        ResultadoCotizacion cotizacion = new ResultadoCotizacion();
+        for (int i = 0; i < ganadoras.length; i++) {
+            BigDecimal porcentaje = porcentajes.get(ganadoras[i].indicePorcentaje());
+            motorCotizacion.cotizar(request.getMonto(), porcentaje, ganadoras[i].plazoAnios(), tasaInteresAnual,
+                    tipoSistema, cotizacion);
+            ofertas.add(new ComparacionOfertasResponse.OfertaPrestamo(
+                    i + 1,
+                    ganadoras[i].plazoAnios(),
+                    porcentaje,
+                    cotizacion.getMontoCuotaInicial(),
+                    cotizacion.getMontoFinanciar(),
+                    cotizacion.getCuotaMensual(),
+                    cotizacion.getUltimaCuota(),
+                    cotizacion.getTotalIntereses(),
+                    cotizacion.getTcea()));
+        }
+
+        response.setEstado(1); // APROBADO
+        response.setTasaInteres(tasaInteresAnual);
+        response.setCandidatosEvaluados((int) totalCandidatos);
+        response.setCandidatosSobreTope(sobreTope);
+        response.setOfertas(ofertas);
+        return response;
+    }
+
+    // Mismo orden que MEJOR_OFERTA, sin crear la candidata
+    private static int comparar(long clave, long desempate, int plazoAnios, int indicePorcentaje, CandidatoOferta otra) {
+        int resultado = Long.compare(clave, otra.clave());
+        if (resultado == 0) {
+            resultado = Long.compare(desempate, otra.desempate());
+        }
+        if (resultado == 0) {
+            resultado = Integer.compare(plazoAnios, otra.plazoAnios());
+        }
+        if (resultado == 0) {
+            resultado = Integer.compare(indicePorcentaje, otra.indicePorcentaje());
+        }
+        return resultado;
+    }
+
+    /**
+     * Respuesta de una simulación rechazada (por la API externa o por la pre-evaluación local).
+     */
+    private SolicitudPrestamoResponse rechazoSimulacion(SolicitudPrestamoRequest request, Cliente cliente, String motivo) {
+        SolicitudPrestamo solicitud = solicitudPrestamoMapper.toEntity(request);
+        solicitud.setCliente(cliente);
+        marcarRechazada(solicitud, motivo);
         return solicitudPrestamoMapper.toResponseCotizacion(solicitud);
     }
 
+    // Solicitud RECHAZADA: sin tasa ni montos calculados
+    private static void marcarRechazada(SolicitudPrestamo solicitud, String motivo) {
+        solicitud.setEstado(0); // RECHAZADO
+        solicitud.setTasaInteres(BigDecimal.ZERO);
+        solicitud.setTcea(BigDecimal.ZERO);
+        solicitud.setMontoCuotaInicial(BigDecimal.ZERO);
+        solicitud.setMontoFinanciar(BigDecimal.ZERO);
+        solicitud.setCuotaMensual(BigDecimal.ZERO);
+        solicitud.setMotivoRechazo(motivo);
+    }
+
+    /**
+     * Arma la respuesta de una simulación a partir de la validación externa ya obtenida.
+     * No hace consultas a la base de datos ni llamadas externas.
+     */
+    private SolicitudPrestamoResponse cotizarSimulacion(SolicitudPrestamoRequest request, Cliente cliente, ValidacionResponse validacion) {
+
+        // Riesgo y resultado de la API
+        Integer riesgo = validacion.getRiesgo();
+        String resultado = validacion.getResultadoValidacion();
+
+        // 1️⃣ Si no está aprobado → respuesta de rechazo
+        if (!resultado.equalsIgnoreCase("APROBADO")) {
+            return rechazoSimulacion(request, cliente, "Solicitud rechazada por validación externa.");
+        }
+
+        // 2️⃣ Obtener tasa según riesgo desde configuración centralizada (SOLID: SRP)
+        BigDecimal tasaInteresAnual = tasaInteresConfig.obtenerTasaPorRiesgo(riesgo);
+
+        // 3️⃣ Cálculos financieros con el motor de cotización (rápido, con verificación shadow opcional).
+        //    Resultado del hilo (también corre en el pool del lote): el mapper copia los valores
+        ResultadoCotizacion cotizacion = ResultadoCotizacion.delHilo();
+        motorCotizacion.cotizar(
+                request.getMonto(),
+                request.getPorcentajeCuotaInicial(),
+                request.getPlazoAnios(),
+                tasaInteresAnual,
+                request.getSistemaAmortizacion(),
+                cotizacion
+        );
+
+        // 4️⃣ Crear respuesta simulada directo desde el resultado (sin entidad intermedia)
+        SolicitudPrestamoResponse response = solicitudPrestamoMapper.toResponseCotizacion(request, cliente, cotizacion);
+        response.setEstado(1);  // APROBADO
+        return response;
+    }
+
     @Transactional(readOnly = true)
     public SolicitudPrestamoResponse findById(Long id){
         SolicitudPrestamo solicitud = solicitudPrestamoRepository.findById(id)
@@ -204,6 +709,86 @@ public class SolicitudPrestamoService implements ISolicitudPrestamoService {
         return solicitudPrestamoMapper.toResponse(solicitud);
     }
 
+    @Transactional(readOnly = true)
+    public CronogramaPagos cronograma(Long id) {
+        SolicitudPrestamo solicitud = solicitudPrestamoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Solicitud de Préstamo no encontrada con ID: " + id));
+
+        // Solo las solicitudes aprobadas tienen monto financiado y tasa asignada
+        if (solicitud.getEstado() == null || solicitud.getEstado() != 1) {
+            throw new RuntimeException("La solicitud con ID " + id + " no está aprobada, no tiene cronograma");
+        }
+
+        // El cronograma solo necesita estos valores: las filas se calculan al recorrerlo
+        return CalculadoraFinanciera.generarCronograma(
+                solicitud.getMontoFinanciar(),
+                solicitud.getTasaInteres(),
+                solicitud.getPlazoAnios(),
+                solicitud.getSistemaAmortizacion()
+        );
+    }
+
+    /**
+     * Compara planes de amortización anticipada sobre una solicitud aprobada.
+     * La tasa, el factor y la línea base se calculan una vez; cada plan solo
+     * re-amortiza desde cada prepago (ver SimuladorPrepagos).
+     */
+    @Transactional(readOnly = true)
+    public SimulacionPrepagoResponse simularPrepagos(Long id, SimulacionPrepagoRequest request) {
+        SolicitudPrestamo solicitud = solicitudPrestamoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Solicitud de Préstamo no encontrada con ID: " + id));
+        if (solicitud.getEstado() == null || solicitud.getEstado() != 1) {
+            throw new RuntimeException("La solicitud con ID " + id + " no está aprobada, no se pueden simular prepagos");
+        }
+        if (TipoSistemaAmortizacion.oPorDefecto(solicitud.getSistemaAmortizacion()) != TipoSistemaAmortizacion.FRANCES) {
+            throw new RuntimeException("La simulación de prepagos solo está disponible para el sistema francés");
+        }
+        if (request.getEscenarios().size() > maxEscenariosPrepago) {
+            throw new RuntimeException("Se permiten como máximo " + maxEscenariosPrepago + " escenarios por simulación");
+        }
+
+        // 1️⃣ Un simulador por préstamo: la línea base se calcula una sola vez
+        SimuladorPrepagos simulador = CalculadoraFinanciera.simularPrepagos(
+                solicitud.getMontoFinanciar(), solicitud.getTasaInteres(), solicitud.getPlazoAnios());
+        SimuladorPrepagos.Resultado base = simulador.getSinPrepagos();
+
+        SimulacionPrepagoResponse response = new SimulacionPrepagoResponse();
+        response.setSolicitudId(solicitud.getId());
+        response.setMontoFinanciar(solicitud.getMontoFinanciar());
+        response.setTasaInteres(solicitud.getTasaInteres());
+        response.setCuotaMensual(CalculadoraFinancieraRapida.desdeCentavos(simulador.getCuotaCentavos()));
+        response.setPlazoMeses(simulador.getPlazoMeses());
+        response.setTotalInteresesSinPrepago(CalculadoraFinancieraRapida.desdeCentavos(base.totalInteresesCentavos()));
+
+        // 2️⃣ Cada escenario: prepagos ordenados por mes → totales del plan
+        response.setEscenarios(request.getEscenarios().stream()
+                .map(escenario -> {
+                    List<SimuladorPrepagos.Prepago> prepagos = escenario.getPrepagos().stream()
+                            .sorted(Comparator.comparing(SimulacionPrepagoRequest.Prepago::getMes))
+                            .map(prepago -> new SimuladorPrepagos.Prepago(
+                                    prepago.getMes(),
+                                    CalculadoraFinancieraRapida.aCentavos(prepago.getMonto()),
+                                    prepago.getModalidad()))
+                            .toList();
+                    SimuladorPrepagos.Resultado resultado = simulador.evaluar(prepagos);
+
+                    SimulacionPrepagoResponse.ResultadoEscenario item = new SimulacionPrepagoResponse.ResultadoEscenario();
+                    item.setNombre(escenario.getNombre());
+                    item.setPlazoMeses(resultado.plazoMeses());
+                    item.setMesesAhorrados(base.plazoMeses() - resultado.plazoMeses());
+                    item.setCuotaVigente(CalculadoraFinancieraRapida.desdeCentavos(resultado.cuotaVigenteCentavos()));
+                    item.setUltimaCuota(CalculadoraFinancieraRapida.desdeCentavos(resultado.ultimaCuotaCentavos()));
+                    item.setTotalPrepagado(CalculadoraFinancieraRapida.desdeCentavos(resultado.totalPrepagadoCentavos()));
+                    item.setTotalCuotas(CalculadoraFinancieraRapida.desdeCentavos(resultado.totalCuotasCentavos()));
+                    item.setTotalIntereses(CalculadoraFinancieraRapida.desdeCentavos(resultado.totalInteresesCentavos()));
+                    item.setAhorroIntereses(CalculadoraFinancieraRapida.desdeCentavos(
+                            base.totalInteresesCentavos() - resultado.totalInteresesCentavos()));
+                    return item;
+                })
+                .toList());
+        return response;
+    }
+
     @Transactional(readOnly = true)
     public List<SolicitudPrestamoResponse> findAll(String query) {
         List<SolicitudPrestamo> solicitudes;
@@ -230,39 +815,133 @@ public class SolicitudPrestamoService implements ISolicitudPrestamoService {
         // 2️⃣ Usar el riesgo YA guardado (no llamar API)
         Integer riesgo = solicitud.getRiesgoCliente();
 
-        // 3️⃣ Obtener tasa según riesgo desde configuración centralizada (SOLID: SRP)
-        BigDecimal tasaInteresAnual = tasaInteresConfig.obtenerTasaPorRiesgo(riesgo);
+        // 3️⃣ Obtener tasa según riesgo desde la foto vigente de tasas (SOLID: SRP)
+        TablaTasasInteres tablaTasas = tasaInteresConfig.getTablaVigente();
+        BigDecimal tasaInteresAnual = tablaTasas.tasaPorRiesgo(riesgo);
 
         // 4️⃣ Actualizar campos modificables
         solicitud.setMonto(request.getMonto());
         solicitud.setPlazoAnios(request.getPlazoAnios());
         solicitud.setPorcentajeCuotaInicial(request.getPorcentajeCuotaInicial());
 
-        // 5️⃣ Recalcular valores financieros usando CalculadoraFinanciera (SOLID: código reutilizable)
-        CalculadoraFinanciera.ResultadoCalculo calculo = CalculadoraFinanciera.calcularTodo(
+        // 5️⃣ Recalcular valores financieros con el motor de cotización (mismo sistema de amortización)
+        ResultadoCotizacion cotizacion = new ResultadoCotizacion();
+        motorCotizacion.cotizar(
                 request.getMonto(),
                 request.getPorcentajeCuotaInicial(),
                 request.getPlazoAnios(),
-                tasaInteresAnual
+                tasaInteresAnual,
+                solicitud.getSistemaAmortizacion(),
+                cotizacion
         );
 
-        BigDecimal montoCuotaInicial = calculo.getMontoCuotaInicial();
-        BigDecimal montoFinanciar = calculo.getMontoFinanciar();
-        BigDecimal cuotaMensual = calculo.getCuotaMensual();
-        BigDecimal tcea = calculo.getTcea();
-
         // 6️⃣ Guardar recalculos
-        solicitud.setTasaInteres(tasaInteresAnual);
-        solicitud.setTcea(tcea);
-        solicitud.setMontoCuotaInicial(montoCuotaInicial);
-        solicitud.setMontoFinanciar(montoFinanciar);
-        solicitud.setCuotaMensual(cuotaMensual);
+        solicitudPrestamoMapper.aplicarCotizacion(solicitud, cotizacion);
+        solicitud.setVersionTasas(tablaTasas.getVersion());
 
         // 7️⃣ Guardar cambios
         SolicitudPrestamo actualizada = solicitudPrestamoRepository.save(solicitud);
 
         // 8️⃣ Devolver response
-        return solicitudPrestamoMapper.toResponse(actualizada);
+        SolicitudPrestamoResponse response = solicitudPrestamoMapper.toResponse(actualizada);
+        solicitudPrestamoMapper.aplicarTotales(response, cotizacion);
+        return response;
+    }
+
+    /**
+     * Cambio PARCIAL de una solicitud (PATCH): solo los campos enviados.
+     *
+     * - Recalcula solo lo que depende de lo que cambió: un plazo nuevo necesita otra
+     *   cuota, pero no otra cuota inicial ni otro monto a financiar
+     * - Mantiene la tasa con la que se cotizó (no reprecia; para eso está el PUT)
+     * - Cada columna se asigna solo si su valor cambia: con @DynamicUpdate el UPDATE
+     *   lleva solo esas columnas y, si nada cambió, Hibernate no escribe nada
+     * - Una solicitud rechazada no tiene montos calculados: solo se guardan los datos
+     */
+    @Transactional
+    public SolicitudPrestamoResponse patch(Long solicitudId, SolicitudPrestamoPatch request) {
+
+        // 1️⃣ Buscar la solicitud en la BD
+        SolicitudPrestamo solicitud = solicitudPrestamoRepository.findById(solicitudId)
+                .orElseThrow(() -> new RuntimeException("Solicitud no encontrada"));
+
+        // 2️⃣ Qué cambió de verdad (enviar el mismo valor no cuenta como cambio)
+        boolean cambiaMonto = distinto(request.getMonto(), solicitud.getMonto());
+        boolean cambiaPorcentaje = distinto(request.getPorcentajeCuotaInicial(), solicitud.getPorcentajeCuotaInicial());
+        boolean cambiaPlazo = request.getPlazoAnios() != null && !request.getPlazoAnios().equals(solicitud.getPlazoAnios());
+        if (cambiaMonto) {
+            solicitud.setMonto(request.getMonto());
+        }
+        if (cambiaPorcentaje) {
+            solicitud.setPorcentajeCuotaInicial(request.getPorcentajeCuotaInicial());
+        }
+        if (cambiaPlazo) {
+            solicitud.setPlazoAnios(request.getPlazoAnios());
+        }
+
+        boolean aprobada = Integer.valueOf(1).equals(solicitud.getEstado());
+        if (!aprobada || (!cambiaMonto && !cambiaPorcentaje && !cambiaPlazo)) {
+            // Nada que recalcular: si tampoco cambió ningún dato, no habrá UPDATE
+            return solicitudPrestamoMapper.toResponse(solicitud);
+        }
+
+        // 3️⃣ Tasa con la que se cotizó (solicitudes sin tasa guardada: la vigente de su riesgo)
+        BigDecimal tasaInteresAnual = solicitud.getTasaInteres();
+        if (tasaInteresAnual == null || tasaInteresAnual.signum() <= 0) {
+            TablaTasasInteres tablaTasas = tasaInteresConfig.getTablaVigente();
+            tasaInteresAnual = tablaTasas.tasaPorRiesgo(solicitud.getRiesgoCliente());
+            solicitud.setTasaInteres(tasaInteresAnual);
+            solicitud.setVersionTasas(tablaTasas.getVersion());
+        }
+        double tasaAnual = tasaInteresAnual.doubleValue();
+        TipoSistemaAmortizacion tipoSistema = TipoSistemaAmortizacion.oPorDefecto(solicitud.getSistemaAmortizacion());
+        int plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(solicitud.getPlazoAnios());
+
+        // 4️⃣ Cuota inicial y monto a financiar: solo si cambió el monto o el porcentaje
+        long financiarCentavos;
+        if (cambiaMonto || cambiaPorcentaje || solicitud.getMontoFinanciar() == null) {
+            long montoCentavos = CalculadoraFinancieraRapida.aCentavos(solicitud.getMonto());
+            long cuotaInicialCentavos = CalculadoraFinancieraRapida.calcularMontoCuotaInicialCentavos(
+                    montoCentavos, CalculadoraFinancieraRapida.aCentesimas(solicitud.getPorcentajeCuotaInicial()));
+            financiarCentavos = montoCentavos - cuotaInicialCentavos;
+            asignarSiCambia(solicitud.getMontoCuotaInicial(), CalculadoraFinancieraRapida.desdeCentavos(cuotaInicialCentavos),
+                    solicitud::setMontoCuotaInicial);
+            asignarSiCambia(solicitud.getMontoFinanciar(), CalculadoraFinancieraRapida.desdeCentavos(financiarCentavos),
+                    solicitud::setMontoFinanciar);
+        } else {
+            financiarCentavos = CalculadoraFinancieraRapida.aCentavos(solicitud.getMontoFinanciar());
+        }
+
+        // 5️⃣ Cuota (y TCEA, que con comisiones o seguro depende del monto y del plazo)
+        SistemaAmortizacion sistema = tipoSistema.getSistema();
+        double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual);
+        long cuotaBaseCentavos = motorCotizacion.cuotaBaseCentavos(tipoSistema, financiarCentavos, tasaAnual, plazoMeses);
+        long cuotaCentavos = sistema.primeraCuotaCentavos(financiarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses);
+        asignarSiCambia(solicitud.getCuotaMensual(), CalculadoraFinancieraRapida.desdeCentavos(cuotaCentavos),
+                solicitud::setCuotaMensual);
+        double tcea = motorCotizacion.tceaConCostos(tipoSistema, financiarCentavos, cuotaBaseCentavos, tasaAnual, plazoMeses);
+        asignarSiCambia(solicitud.getTcea(), BigDecimal.valueOf(tcea).setScale(2, RoundingMode.HALF_EVEN),
+                solicitud::setTcea);
+
+        // 6️⃣ Sin save(): la entidad está gestionada y Hibernate escribe al confirmar, solo las columnas cambiadas
+        SolicitudPrestamoResponse response = solicitudPrestamoMapper.toResponse(solicitud);
+        TotalesAmortizacion totales = new TotalesAmortizacion();
+        sistema.calcularTotales(financiarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses, totales);
+        response.setUltimaCuota(CalculadoraFinancieraRapida.desdeCentavos(totales.getUltimaCuotaCentavos()));
+        response.setTotalIntereses(CalculadoraFinancieraRapida.desdeCentavos(totales.getTotalInteresesCentavos()));
+        return response;
+    }
+
+    // Valor enviado distinto del guardado (null = no se envió); 100 y 100.00 son iguales
+    private static boolean distinto(BigDecimal enviado, BigDecimal guardado) {
+        return enviado != null && (guardado == null || enviado.compareTo(guardado) != 0);
+    }
+
+    // Solo toca la columna si el valor cambia: así queda fuera del UPDATE dinámico
+    private static void asignarSiCambia(BigDecimal guardado, BigDecimal nuevo, Consumer<BigDecimal> asignar) {
+        if (guardado == null || guardado.compareTo(nuevo) != 0) {
+            asignar.accept(nuevo);
+        }
     }
 
     @Transactional
@@ -1,10 +1,22 @@
 package com.optic.apirest.services.interfaces;
 
+import com.optic.apirest.dto.SolicitudPrestamo.CapacidadPagoRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.CapacidadPagoResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.ComparacionOfertasRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.ComparacionOfertasResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionGrillaRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionGrillaResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionLoteItem;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionPrepagoRequest;
+import com.optic.apirest.dto.SolicitudPrestamo.SimulacionPrepagoResponse;
+import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoPatch;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoRequest;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoResponse;
 import com.optic.apirest.dto.SolicitudPrestamo.SolicitudPrestamoUpdate;
+import com.optic.apirest.utils.CronogramaPagos;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 🎯 PRINCIPIO SOLID APLICADO: Interface Segregation (ISP) + Dependency Inversion (DIP)
@@ -27,12 +39,47 @@ public interface ISolicitudPrestamoService {
      * Simula una solicitud sin guardarla en la base de datos.
      */
     SolicitudPrestamoResponse simulador(SolicitudPrestamoRequest request);
+
+    /**
+     * Simula varias solicitudes; entrega cada resultado apenas termina.
+     */
+    void simularLote(List<SolicitudPrestamoRequest> requests, Consumer<SimulacionLoteItem> alCompletar);
+
+    /**
+     * Rechaza un lote con más solicitudes que el máximo configurado.
+     */
+    void validarTamanoLote(List<SolicitudPrestamoRequest> requests);
+
+    /**
+     * Simula la grilla monto × % cuota inicial × plazo con una sola validación externa.
+     */
+    SimulacionGrillaResponse simularGrilla(SimulacionGrillaRequest request);
+
+    /**
+     * Calcula el préstamo máximo que el cliente puede pagar según su ingreso.
+     */
+    CapacidadPagoResponse calcularCapacidadMaxima(CapacidadPagoRequest request);
+
+    /**
+     * Las k mejores ofertas (plazo × % cuota inicial) según un criterio, con una sola validación externa.
+     */
+    ComparacionOfertasResponse compararOfertas(ComparacionOfertasRequest request);
     
     /**
      * Busca una solicitud por su ID.
      */
     SolicitudPrestamoResponse findById(Long id);
-    
+
+    /**
+     * Genera el cronograma de pagos de una solicitud aprobada.
+     */
+    CronogramaPagos cronograma(Long id);
+
+    /**
+     * Compara planes de amortización anticipada de una solicitud aprobada.
+     */
+    SimulacionPrepagoResponse simularPrepagos(Long id, SimulacionPrepagoRequest request);
+
     /**
      * Busca todas las solicitudes, opcionalmente filtradas por query.
      */
@@ -42,6 +89,11 @@ public interface ISolicitudPrestamoService {
      * Actualiza una solicitud existente.
      */
     SolicitudPrestamoResponse update(Long solicitudId, SolicitudPrestamoUpdate request);
+
+    /**
+     * Cambia solo los campos enviados y recalcula lo que depende de ellos; sin cambios no escribe.
+     */
+    SolicitudPrestamoResponse patch(Long solicitudId, SolicitudPrestamoPatch request);
     
     /**
      * Elimina una solicitud por su ID.
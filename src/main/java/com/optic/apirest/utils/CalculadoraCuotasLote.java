@@ -0,0 +1,95 @@
+package com.optic.apirest.utils;
+
+/**
+ * 🚀 Cálculo de cuotas y TCEA para MILLONES de préstamos a la vez.
+ *
+ * Trabaja con arreglos paralelos (struct-of-arrays): el préstamo k está formado por
+ * principales[k], tasasMensuales[k] y plazosMeses[k]. Los resultados se escriben en
+ * los arreglos de salida que entrega el llamador (no se crea ningún objeto por préstamo).
+ *
+ * ⚙️ Si el módulo jdk.incubator.vector está disponible (--add-modules jdk.incubator.vector)
+ * usa instrucciones SIMD a través de la Vector API; si no, usa un bucle escalar
+ * con exactamente las mismas fórmulas. El bucle escalar da los mismos bits que
+ * CalculadoraFinancieraRapida; el vectorial puede diferir en el último dígito (ulp).
+ *
+ * 📐 FÓRMULAS (las mismas de CalculadoraFinancieraRapida):
+ * Cuota = P × (i / (1 - (1 + i)^(-n)))      (si i = 0: P × (1 / n))
+ * TCEA  = ((1 + i)^12 - 1) × 100
+ *
+ * 📌 USO: EstresTasasService (choques de tasas sobre la cartera francesa).
+ */
+public final class CalculadoraCuotasLote {
+
+    private static final boolean VECTORIAL_DISPONIBLE = detectarVectorApi();
+
+    private CalculadoraCuotasLote() {
+    }
+
+    /**
+     * Indica si el cálculo usará la Vector API en esta JVM.
+     */
+    public static boolean usaVectorApi() {
+        return VECTORIAL_DISPONIBLE;
+    }
+
+    /**
+     * Calcula cuota mensual y TCEA para cada préstamo.
+     *
+     * @param principales Montos a financiar
+     * @param tasasMensuales Tasas mensuales como decimal (0.00625 para 7.5% anual)
+     * @param plazosMeses Plazos en meses
+     * @param cuotas Salida: cuota mensual de cada préstamo
+     * @param tceas Salida: TCEA (en porcentaje) de cada préstamo
+     */
+    public static void calcular(double[] principales, double[] tasasMensuales, double[] plazosMeses,
+                                double[] cuotas, double[] tceas) {
+        calcular(principales, tasasMensuales, plazosMeses, cuotas, tceas, 0, principales.length);
+    }
+
+    /**
+     * Igual que {@link #calcular(double[], double[], double[], double[], double[])}, solo sobre
+     * el rango [desde, hasta): varios hilos pueden repartirse los mismos arreglos por tramos.
+     */
+    public static void calcular(double[] principales, double[] tasasMensuales, double[] plazosMeses,
+                                double[] cuotas, double[] tceas, int desde, int hasta) {
+        if (desde < 0 || desde > hasta || principales.length < hasta || tasasMensuales.length < hasta
+                || plazosMeses.length < hasta || cuotas.length < hasta || tceas.length < hasta) {
+            throw new IllegalArgumentException("Rango [" + desde + ", " + hasta + ") fuera de los arreglos");
+        }
+
+        if (VECTORIAL_DISPONIBLE) {
+            KernelCuotasVectorial.calcular(principales, tasasMensuales, plazosMeses, cuotas, tceas, desde, hasta);
+        } else {
+            calcularEscalar(principales, tasasMensuales, plazosMeses, cuotas, tceas, desde, hasta);
+        }
+    }
+
+    /**
+     * Bucle escalar sobre el rango [desde, hasta). También lo usa el kernel
+     * vectorial para los elementos sobrantes que no completan un vector.
+     */
+    static void calcularEscalar(double[] principales, double[] tasasMensuales, double[] plazosMeses,
+                                double[] cuotas, double[] tceas, int desde, int hasta) {
+        for (int k = desde; k < hasta; k++) {
+            double tasa = tasasMensuales[k];
+            double logUnoMasTasa = Math.log1p(tasa);
+            double factor = tasa == 0.0
+                    ? 1.0 / plazosMeses[k]
+                    : tasa / -Math.expm1(-plazosMeses[k] * logUnoMasTasa);
+            cuotas[k] = principales[k] * factor;
+            tceas[k] = Math.expm1(12 * logUnoMasTasa) * 100.0;
+        }
+    }
+
+    // La clase del kernel solo se carga si el módulo existe; cualquier error de enlace → escalar
+    private static boolean detectarVectorApi() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return KernelCuotasVectorial.longitudVector() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -90,6 +90,57 @@ public class CalculadoraFinanciera {
                 .divide(BigDecimal.ONE.subtract(divisor), PRECISION, REDONDEO);
     }
 
+    /**
+     * 🔄 INVERSA de calcularCuotaMensual: monto máximo a financiar para una cuota dada.
+     *
+     * 📐 FÓRMULA (despejando la fórmula francesa):
+     * MontoFinanciar = Cuota × (1 - (1 + TasaMensual)^(-plazoMeses)) / TasaMensual
+     *
+     * @param cuotaMensual Cuota mensual máxima
+     * @param tasaMensual Tasa de interés mensual
+     * @param plazoMeses Plazo en meses
+     * @return Monto a financiar cuya cuota es exactamente cuotaMensual
+     */
+    public static BigDecimal calcularMontoFinanciarMaximo(BigDecimal cuotaMensual, BigDecimal tasaMensual, int plazoMeses) {
+        BigDecimal unoMasTasa = BigDecimal.ONE.add(tasaMensual);
+        BigDecimal potencia = unoMasTasa.pow(plazoMeses);
+        BigDecimal divisor = BigDecimal.ONE.divide(potencia, PRECISION, REDONDEO);
+
+        return cuotaMensual.multiply(BigDecimal.ONE.subtract(divisor))
+                .divide(tasaMensual, PRECISION, REDONDEO);
+    }
+
+    /**
+     * 🔄 Monto total máximo del préstamo según el ingreso del cliente.
+     *
+     * 📐 PASOS:
+     * 1. MontoFinanciar = inversa de la cuota (calcularMontoFinanciarMaximo)
+     * 2. Monto = MontoFinanciar / (1 - PorcentajeCuotaInicial / 100)
+     *
+     * El resultado se redondea HACIA ABAJO al céntimo. Aun así, el redondeo de la cuota
+     * inicial y de la cuota puede dejar la cuota cotizada un céntimo por encima:
+     * quien llama debe cotizar el monto y confirmarlo contra cuotaMaxima.
+     *
+     * @param cuotaMaxima Cuota mensual máxima, ya redondeada hacia abajo al céntimo
+     * @param porcentajeCuotaInicial Porcentaje de cuota inicial (debe ser menor a 100)
+     * @param plazoAnios Plazo en años
+     * @param tasaInteresAnual Tasa de interés anual
+     * @return Monto total máximo del préstamo
+     */
+    public static BigDecimal calcularMontoMaximo(
+            BigDecimal cuotaMaxima,
+            BigDecimal porcentajeCuotaInicial,
+            int plazoAnios,
+            BigDecimal tasaInteresAnual) {
+
+        BigDecimal montoFinanciar = calcularMontoFinanciarMaximo(
+                cuotaMaxima, calcularTasaMensual(tasaInteresAnual), calcularPlazoMeses(plazoAnios));
+        BigDecimal fraccionFinanciada = BigDecimal.ONE.subtract(
+                porcentajeCuotaInicial.divide(BigDecimal.valueOf(100), PRECISION, REDONDEO));
+
+        return montoFinanciar.divide(fraccionFinanciada, 2, RoundingMode.DOWN);
+    }
+
     /**
      * Calcula la TCEA (Tasa de Costo Efectivo Anual).
      * 
@@ -137,6 +188,45 @@ public class CalculadoraFinanciera {
         );
     }
 
+    /**
+     * 📅 Genera el cronograma de pagos mes a mes (interés, amortización y saldo).
+     * Las filas se calculan bajo demanda al iterar, no se guardan en memoria.
+     *
+     * @param montoFinanciar Monto a financiar
+     * @param tasaInteresAnual Tasa de interés anual
+     * @param plazoAnios Plazo en años
+     * @return Cronograma iterable
+     */
+    public static CronogramaPagos generarCronograma(BigDecimal montoFinanciar, BigDecimal tasaInteresAnual, int plazoAnios) {
+        return new CronogramaPagos(montoFinanciar, tasaInteresAnual, plazoAnios);
+    }
+
+    /**
+     * 📅 Cronograma con el sistema de amortización indicado (francés, alemán o americano).
+     *
+     * @param sistema Sistema de amortización (null = francés)
+     */
+    public static CronogramaPagos generarCronograma(BigDecimal montoFinanciar, BigDecimal tasaInteresAnual, int plazoAnios,
+                                                    TipoSistemaAmortizacion sistema) {
+        return new CronogramaPagos(montoFinanciar, tasaInteresAnual, plazoAnios, sistema);
+    }
+
+    /**
+     * 💸 Prepara la simulación de prepagos de un préstamo (sistema francés).
+     * Con el mismo simulador se pueden evaluar muchos planes de prepago distintos.
+     *
+     * @param montoFinanciar Monto a financiar
+     * @param tasaInteresAnual Tasa de interés anual
+     * @param plazoAnios Plazo en años
+     * @return Simulador con la línea base ya calculada
+     */
+    public static SimuladorPrepagos simularPrepagos(BigDecimal montoFinanciar, BigDecimal tasaInteresAnual, int plazoAnios) {
+        return new SimuladorPrepagos(
+                CalculadoraFinancieraRapida.aCentavos(montoFinanciar),
+                tasaInteresAnual.doubleValue(),
+                calcularPlazoMeses(plazoAnios));
+    }
+
     /**
      * 📦 Clase interna para agrupar todos los resultados del cálculo.
      * Esto evita tener que llamar múltiples métodos.
@@ -0,0 +1,127 @@
+package com.optic.apirest.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * ⚡ Motor de cálculo RÁPIDO con tipos primitivos.
+ *
+ * Hace los mismos cálculos que CalculadoraFinanciera, pero:
+ * - Los montos viajan como long en céntimos (S/ 1,234.56 → 123456)
+ * - Los porcentajes viajan como long en centésimas (20.5% → 2050)
+ * - El factor de anualidad se calcula con double (log1p/expm1 para no perder precisión)
+ *
+ * ✅ VENTAJAS:
+ * - Ningún método crea objetos: solo aritmética sobre primitivos
+ * - (1 + i)^n se calcula en O(1) con logaritmos, no con n multiplicaciones
+ *
+ * ⚠️ La conversión BigDecimal ↔ céntimos solo se hace en los bordes (request/response).
+ */
+public final class CalculadoraFinancieraRapida {
+
+    private static final long CENTESIMAS_POR_UNIDAD = 100;
+    private static final long ESCALA_PORCENTAJE = 100 * CENTESIMAS_POR_UNIDAD; // 100% en centésimas
+
+    private CalculadoraFinancieraRapida() {
+    }
+
+    /**
+     * Convierte un monto a céntimos (redondeo HALF_EVEN, igual que el motor BigDecimal).
+     * Con scaleByPowerOfTen no se crea el BigInteger de unscaledValue(); si el monto ya
+     * tiene 2 decimales, setScale devuelve la misma instancia.
+     */
+    public static long aCentavos(BigDecimal monto) {
+        return monto.setScale(2, RoundingMode.HALF_EVEN).scaleByPowerOfTen(2).longValueExact();
+    }
+
+    /**
+     * Convierte un porcentaje a centésimas de punto (20.5 → 2050).
+     */
+    public static long aCentesimas(BigDecimal porcentaje) {
+        return aCentavos(porcentaje);
+    }
+
+    /**
+     * Convierte céntimos a BigDecimal con 2 decimales.
+     */
+    public static BigDecimal desdeCentavos(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Monto de la cuota inicial en céntimos.
+     *
+     * @param montoCentavos Monto total en céntimos
+     * @param porcentajeCentesimas Porcentaje de cuota inicial en centésimas (20% → 2000)
+     */
+    public static long calcularMontoCuotaInicialCentavos(long montoCentavos, long porcentajeCentesimas) {
+        return dividirRedondeando(montoCentavos * porcentajeCentesimas, ESCALA_PORCENTAJE);
+    }
+
+    /**
+     * Tasa mensual como decimal a partir de la tasa anual en porcentaje (7.5 → 0.00625).
+     */
+    public static double calcularTasaMensual(double tasaAnual) {
+        return tasaAnual / 100.0 / 12.0;
+    }
+
+    /**
+     * Factor de anualidad (sistema francés): i / (1 - (1 + i)^(-n)).
+     * Multiplicado por el monto a financiar da la cuota mensual.
+     *
+     * @throws IllegalArgumentException si plazoMeses es menor a 1 (el factor sería infinito o negativo)
+     */
+    public static double calcularFactorCuota(double tasaMensual, int plazoMeses) {
+        if (plazoMeses < 1) {
+            throw new IllegalArgumentException("El plazo debe ser de al menos 1 mes: " + plazoMeses);
+        }
+        if (tasaMensual == 0.0) {
+            return 1.0 / plazoMeses;
+        }
+        // 1 - (1 + i)^(-n) = -expm1(-n · ln(1 + i))
+        return tasaMensual / -Math.expm1(-plazoMeses * Math.log1p(tasaMensual));
+    }
+
+    /**
+     * Cuota mensual en céntimos.
+     */
+    public static long calcularCuotaMensualCentavos(long montoFinanciarCentavos, double tasaMensual, int plazoMeses) {
+        return Math.round(montoFinanciarCentavos * calcularFactorCuota(tasaMensual, plazoMeses));
+    }
+
+    /**
+     * TCEA como porcentaje: ((1 + i)^12 - 1) × 100.
+     */
+    public static double calcularTCEA(double tasaMensual) {
+        return Math.expm1(12 * Math.log1p(tasaMensual)) * 100.0;
+    }
+
+    /**
+     * Saldo pendiente (en céntimos) después de pagar {@code mesesPagados} cuotas.
+     *
+     * 📐 FÓRMULA: Saldo = P × (1 + i)^k - Cuota × ((1 + i)^k - 1) / i
+     * Nunca es negativo: la última cuota redondeada puede pasarse por céntimos.
+     */
+    public static long calcularSaldoCentavos(long montoFinanciarCentavos, long cuotaCentavos, double tasaMensual, int mesesPagados) {
+        double saldo;
+        if (tasaMensual == 0.0) {
+            saldo = montoFinanciarCentavos - (double) cuotaCentavos * mesesPagados;
+        } else {
+            double logCrecimiento = mesesPagados * Math.log1p(tasaMensual);
+            saldo = montoFinanciarCentavos * Math.exp(logCrecimiento)
+                    - cuotaCentavos * Math.expm1(logCrecimiento) / tasaMensual;
+        }
+        return Math.max(0L, Math.round(saldo));
+    }
+
+    // División entera con redondeo HALF_EVEN (para valores no negativos)
+    private static long dividirRedondeando(long dividendo, long divisor) {
+        long cociente = dividendo / divisor;
+        long resto = dividendo % divisor;
+        long doble = resto * 2;
+        if (doble > divisor || (doble == divisor && (cociente & 1) == 1)) {
+            cociente++;
+        }
+        return cociente;
+    }
+}
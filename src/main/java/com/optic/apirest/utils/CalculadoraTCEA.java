@@ -0,0 +1,125 @@
+package com.optic.apirest.utils;
+
+/**
+ * 💰 TCEA REAL: incluye comisiones y seguro de desgravamen, no solo la tasa nominal.
+ *
+ * Arma el flujo de caja del cliente y busca la tasa que lo iguala a cero (TIR):
+ * - Mes 0:  recibe el monto financiado menos la comisión de desembolso
+ * - Mes t:  paga cuota + seguro de desgravamen (sobre el saldo) + comisión mensual
+ *
+ * 📐 TCEA = ((1 + TIR mensual)^12 - 1) × 100
+ *
+ * ✅ Los flujos se escriben en un arreglo de primitivos reutilizado por hilo:
+ * calcular la TCEA no crea objetos.
+ *
+ * ⚠️ Sin monto financiado (cuota inicial del 100%) no hay crédito: el flujo solo tiene
+ * costos, no tiene TIR, y se devuelve la TCEA nominal. Nunca devuelve NaN.
+ *
+ * ❌ Con monto financiado, si la comisión de desembolso es mayor o igual que ese monto el
+ * cliente no recibe nada y aun así paga: no hay TIR ni TCEA que informar. Se lanza
+ * IllegalArgumentException (MotorCotizacion.tceaCalculable permite preguntarlo antes).
+ */
+public final class CalculadoraTCEA {
+
+    private static final ThreadLocal<double[]> FLUJOS =
+            ThreadLocal.withInitial(() -> new double[TablaFactoresAnualidad.PLAZO_MAXIMO_MESES + 1]);
+
+    private CalculadoraTCEA() {
+    }
+
+    /**
+     * true si al cliente le llega algo al desembolsar (monto a financiar menos la comisión).
+     */
+    public static boolean tieneDesembolsoNeto(double montoFinanciar, double comisionDesembolso) {
+        return montoFinanciar - comisionDesembolso > 0;
+    }
+
+    /**
+     * @param montoFinanciar Monto a financiar
+     * @param cuotaMensual Cuota mensual (sistema francés)
+     * @param tasaMensual Tasa de interés mensual como decimal
+     * @param plazoMeses Plazo en meses
+     * @param comisionDesembolso Comisión cobrada al desembolsar (monto fijo)
+     * @param comisionMensual Comisión fija mensual (portes, mantenimiento)
+     * @param tasaSeguroMensual Seguro de desgravamen mensual como decimal sobre el saldo (0.00028 = 0.028%)
+     * @return TCEA como porcentaje
+     * @throws IllegalArgumentException si la comisión de desembolso se come todo el monto a financiar
+     */
+    public static double calcularTCEAConCostos(double montoFinanciar, double cuotaMensual, double tasaMensual, int plazoMeses,
+                                               double comisionDesembolso, double comisionMensual, double tasaSeguroMensual) {
+        if (montoFinanciar <= 0) {
+            return CalculadoraFinancieraRapida.calcularTCEA(tasaMensual);
+        }
+        validarDesembolsoNeto(montoFinanciar, comisionDesembolso);
+        double[] flujos = FLUJOS.get();
+        if (flujos.length < plazoMeses + 1) {
+            flujos = new double[plazoMeses + 1];
+            FLUJOS.set(flujos);
+        }
+
+        // Mes 0: lo que el cliente realmente recibe
+        flujos[0] = montoFinanciar - comisionDesembolso;
+
+        // Meses 1..n: lo que el cliente paga; el seguro se calcula sobre el saldo del mes anterior
+        double saldo = montoFinanciar;
+        for (int t = 1; t <= plazoMeses; t++) {
+            double interes = saldo * tasaMensual;
+            flujos[t] = -(cuotaMensual + saldo * tasaSeguroMensual + comisionMensual);
+            saldo -= cuotaMensual - interes;
+        }
+
+        return anualizar(SolverTIR.resolverTasaPeriodo(flujos, plazoMeses + 1, tasaMensual), tasaMensual);
+    }
+
+    /**
+     * Igual que la anterior, pero con las cuotas del sistema de amortización indicado
+     * (en el alemán y el americano la cuota cambia mes a mes). Montos en céntimos.
+     *
+     * @param sistema Sistema de amortización
+     * @param montoFinanciarCentavos Monto a financiar en céntimos
+     * @param cuotaBaseCentavos SistemaAmortizacion.cuotaBaseCentavos de este préstamo
+     */
+    public static double calcularTCEAConCostos(SistemaAmortizacion sistema, long montoFinanciarCentavos, long cuotaBaseCentavos,
+                                               double tasaMensual, int plazoMeses,
+                                               double comisionDesembolso, double comisionMensual, double tasaSeguroMensual) {
+        if (montoFinanciarCentavos <= 0) {
+            return CalculadoraFinancieraRapida.calcularTCEA(tasaMensual);
+        }
+        validarDesembolsoNeto(montoFinanciarCentavos / 100.0, comisionDesembolso);
+        double[] flujos = FLUJOS.get();
+        if (flujos.length < plazoMeses + 1) {
+            flujos = new double[plazoMeses + 1];
+            FLUJOS.set(flujos);
+        }
+
+        flujos[0] = montoFinanciarCentavos / 100.0 - comisionDesembolso;
+
+        // Mismas reglas que el cronograma: interés redondeado y la última cuota cancela el saldo
+        long saldo = montoFinanciarCentavos;
+        for (int t = 1; t <= plazoMeses; t++) {
+            long interes = SistemaAmortizacion.interesCentavos(saldo, tasaMensual);
+            long amortizacion = t == plazoMeses
+                    ? saldo
+                    : Math.min(saldo, sistema.amortizacionCentavos(cuotaBaseCentavos, interes, saldo));
+            flujos[t] = -((interes + amortizacion) / 100.0 + saldo / 100.0 * tasaSeguroMensual + comisionMensual);
+            saldo -= amortizacion;
+        }
+
+        return anualizar(SolverTIR.resolverTasaPeriodo(flujos, plazoMeses + 1, tasaMensual), tasaMensual);
+    }
+
+    private static void validarDesembolsoNeto(double montoFinanciar, double comisionDesembolso) {
+        if (!tieneDesembolsoNeto(montoFinanciar, comisionDesembolso)) {
+            throw new IllegalArgumentException("La comisión de desembolso (" + comisionDesembolso
+                    + ") es mayor o igual que el monto a financiar (" + montoFinanciar + "): la TCEA no se puede calcular");
+        }
+    }
+
+    // TIR mensual → TCEA %; si el solver no encuentra la TIR en su rango, la nominal
+    private static double anualizar(double tirMensual, double tasaMensual) {
+        if (Double.isNaN(tirMensual)) {
+            return CalculadoraFinancieraRapida.calcularTCEA(tasaMensual);
+        }
+        return CalculadoraFinancieraRapida.calcularTCEA(tirMensual);
+    }
+}
@@ -0,0 +1,155 @@
+package com.optic.apirest.utils;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 📅 Generador del cronograma de pagos mes a mes, para cualquier sistema de amortización.
+ *
+ * Las cuotas se calculan de forma PEREZOSA: cada llamada a next() calcula
+ * solo el siguiente periodo a partir del saldo anterior, así que la memoria
+ * usada es constante sin importar el plazo (5 o 30 años).
+ *
+ * El saldo se lleva en céntimos (long) y cada periodo aplica las reglas del
+ * SistemaAmortizacion elegido: las filas suman exactamente lo que devuelve
+ * calcularTotales(), que obtiene los totales sin recorrer filas.
+ *
+ * 📌 USO:
+ * for (CuotaPeriodo cuota : CalculadoraFinanciera.generarCronograma(montoFinanciar, tasaAnual, plazoAnios, sistema)) { ... }
+ */
+public class CronogramaPagos implements Iterable<CronogramaPagos.CuotaPeriodo> {
+
+    private final TipoSistemaAmortizacion tipoSistema;
+    private final SistemaAmortizacion sistema;
+    private final long montoFinanciarCentavos;
+    private final double tasaMensual;
+    private final long cuotaBaseCentavos;
+    private final int plazoMeses;
+
+    /**
+     * Cronograma con el sistema francés.
+     *
+     * @param montoFinanciar Monto a financiar
+     * @param tasaInteresAnual Tasa de interés anual (ej: 7.5 para 7.5%)
+     * @param plazoAnios Plazo en años
+     */
+    public CronogramaPagos(BigDecimal montoFinanciar, BigDecimal tasaInteresAnual, int plazoAnios) {
+        this(montoFinanciar, tasaInteresAnual, plazoAnios, TipoSistemaAmortizacion.FRANCES);
+    }
+
+    /**
+     * @param montoFinanciar Monto a financiar
+     * @param tasaInteresAnual Tasa de interés anual (ej: 7.5 para 7.5%)
+     * @param plazoAnios Plazo en años
+     * @param tipoSistema Sistema de amortización (null = francés)
+     */
+    public CronogramaPagos(BigDecimal montoFinanciar, BigDecimal tasaInteresAnual, int plazoAnios,
+                           TipoSistemaAmortizacion tipoSistema) {
+        this.tipoSistema = TipoSistemaAmortizacion.oPorDefecto(tipoSistema);
+        this.sistema = this.tipoSistema.getSistema();
+        this.montoFinanciarCentavos = CalculadoraFinancieraRapida.aCentavos(montoFinanciar);
+        this.tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaInteresAnual.doubleValue());
+        this.plazoMeses = CalculadoraFinanciera.calcularPlazoMeses(plazoAnios);
+        this.cuotaBaseCentavos = sistema.cuotaBaseCentavos(montoFinanciarCentavos, tasaMensual, plazoMeses);
+    }
+
+    public int getPlazoMeses() { return plazoMeses; }
+    public TipoSistemaAmortizacion getTipoSistema() { return tipoSistema; }
+
+    /**
+     * Cuota del primer mes (en el sistema francés, la cuota de todos los meses salvo el ajuste final).
+     */
+    public BigDecimal getCuotaMensual() {
+        long interes = SistemaAmortizacion.interesCentavos(montoFinanciarCentavos, tasaMensual);
+        long amortizacion = plazoMeses == 1
+                ? montoFinanciarCentavos
+                : Math.min(montoFinanciarCentavos, sistema.amortizacionCentavos(cuotaBaseCentavos, interes, montoFinanciarCentavos));
+        return CalculadoraFinancieraRapida.desdeCentavos(interes + amortizacion);
+    }
+
+    /**
+     * Totales del cronograma (primera y última cuota, intereses) sin generar ninguna fila.
+     *
+     * @param destino Totales reutilizables del llamador (se sobrescriben)
+     */
+    public void calcularTotales(TotalesAmortizacion destino) {
+        sistema.calcularTotales(montoFinanciarCentavos, cuotaBaseCentavos, tasaMensual, plazoMeses, destino);
+    }
+
+    /**
+     * Cada iterador recorre el cronograma desde el mes 1; se pueden
+     * recorrer varias veces sin haber guardado ninguna fila.
+     */
+    @Override
+    public Iterator<CuotaPeriodo> iterator() {
+        return new Iterator<>() {
+            private long saldo = montoFinanciarCentavos;
+            private int periodo = 0;
+
+            @Override
+            public boolean hasNext() {
+                return periodo < plazoMeses;
+            }
+
+            @Override
+            public CuotaPeriodo next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                periodo++;
+                long interes = SistemaAmortizacion.interesCentavos(saldo, tasaMensual);
+                // Última cuota: amortiza todo el saldo para dejarlo exactamente en cero (diferencias de redondeo)
+                long amortizacion = periodo == plazoMeses
+                        ? saldo
+                        : Math.min(saldo, sistema.amortizacionCentavos(cuotaBaseCentavos, interes, saldo));
+                saldo -= amortizacion;
+                return new CuotaPeriodo(periodo,
+                        CalculadoraFinancieraRapida.desdeCentavos(interes + amortizacion),
+                        CalculadoraFinancieraRapida.desdeCentavos(interes),
+                        CalculadoraFinancieraRapida.desdeCentavos(amortizacion),
+                        CalculadoraFinancieraRapida.desdeCentavos(saldo));
+            }
+        };
+    }
+
+    /**
+     * Vista en Stream del cronograma (ordenada y de tamaño conocido).
+     */
+    public Stream<CuotaPeriodo> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliterator(iterator(), plazoMeses,
+                        Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE),
+                false);
+    }
+
+    /**
+     * 📦 Una fila del cronograma: lo que se paga en el mes y cómo queda el saldo.
+     */
+    public static class CuotaPeriodo {
+        private final int periodo;
+        private final BigDecimal cuota;
+        private final BigDecimal interes;
+        private final BigDecimal amortizacion;
+        private final BigDecimal saldo;
+
+        public CuotaPeriodo(int periodo, BigDecimal cuota, BigDecimal interes,
+                            BigDecimal amortizacion, BigDecimal saldo) {
+            this.periodo = periodo;
+            this.cuota = cuota;
+            this.interes = interes;
+            this.amortizacion = amortizacion;
+            this.saldo = saldo;
+        }
+
+        public int getPeriodo() { return periodo; }
+        public BigDecimal getCuota() { return cuota; }
+        public BigDecimal getInteres() { return interes; }
+        public BigDecimal getAmortizacion() { return amortizacion; }
+        public BigDecimal getSaldo() { return saldo; }
+    }
+}
@@ -0,0 +1,58 @@
+package com.optic.apirest.utils;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel SIMD de CalculadoraCuotasLote (Vector API).
+ *
+ * ⚠️ No usar directamente: esta clase necesita el módulo jdk.incubator.vector y
+ * CalculadoraCuotasLote solo la carga cuando el módulo está presente.
+ */
+final class KernelCuotasVectorial {
+
+    // El ancho de vector preferido por la CPU (ej: 4 doubles con AVX2, 8 con AVX-512)
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+    private static final DoubleVector UNO = DoubleVector.broadcast(ESPECIE, 1.0);
+
+    private KernelCuotasVectorial() {
+    }
+
+    static int longitudVector() {
+        return ESPECIE.length();
+    }
+
+    static void calcular(double[] principales, double[] tasasMensuales, double[] plazosMeses,
+                         double[] cuotas, double[] tceas, int desde, int hasta) {
+        int k = desde;
+        int limite = desde + ESPECIE.loopBound(hasta - desde);
+        for (; k < limite; k += ESPECIE.length()) {
+            DoubleVector principal = DoubleVector.fromArray(ESPECIE, principales, k);
+            DoubleVector tasa = DoubleVector.fromArray(ESPECIE, tasasMensuales, k);
+            DoubleVector plazo = DoubleVector.fromArray(ESPECIE, plazosMeses, k);
+
+            // ln(1 + i), compartido por la cuota y la TCEA
+            DoubleVector logUnoMasTasa = tasa.lanewise(VectorOperators.LOG1P);
+
+            // 1 - (1 + i)^(-n) = -expm1(-n · ln(1 + i))
+            DoubleVector divisor = plazo.mul(logUnoMasTasa).neg()
+                    .lanewise(VectorOperators.EXPM1)
+                    .neg();
+            DoubleVector factor = tasa.div(divisor);
+
+            // Tasa cero: factor = 1 / n
+            VectorMask<Double> tasaCero = tasa.eq(0.0);
+            factor = factor.blend(UNO.div(plazo), tasaCero);
+            principal.mul(factor).intoArray(cuotas, k);
+
+            logUnoMasTasa.mul(12.0)
+                    .lanewise(VectorOperators.EXPM1)
+                    .mul(100.0)
+                    .intoArray(tceas, k);
+        }
+        // Elementos sobrantes que no completan un vector
+        CalculadoraCuotasLote.calcularEscalar(principales, tasasMensuales, plazosMeses, cuotas, tceas, k, hasta);
+    }
+}
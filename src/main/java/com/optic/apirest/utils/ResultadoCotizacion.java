@@ -0,0 +1,87 @@
+package com.optic.apirest.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * 📥 Resultado REUTILIZABLE de una cotización (sink).
+ *
+ * A diferencia de CalculadoraFinanciera.ResultadoCalculo, el motor no crea este
+ * objeto: lo recibe del llamador y escribe en él los resultados como primitivos
+ * (montos en céntimos, TCEA en double). cotizar no asigna memoria por sí mismo: el
+ * ahorro aparece cuando el llamador REUTILIZA el objeto en muchas cotizaciones seguidas.
+ * - Un bucle en un solo hilo (ofertas, benchmarks): una instancia fuera del bucle
+ * - Trabajo repartido en hilos (simulación por lote, reprecio): delHilo()
+ *
+ * La cuota mensual es la PRIMERA cuota del sistema de amortización elegido
+ * (en el francés, la de todos los meses).
+ *
+ * ⚠️ NO es thread-safe: cada hilo usa su propia instancia.
+ * Los BigDecimal solo se crean en el borde, cuando el mapper los pide.
+ */
+public final class ResultadoCotizacion {
+
+    private static final ThreadLocal<ResultadoCotizacion> DEL_HILO = ThreadLocal.withInitial(ResultadoCotizacion::new);
+
+    private long montoCuotaInicialCentavos;
+    private long montoFinanciarCentavos;
+    private long cuotaMensualCentavos;
+    private double tcea;
+    private BigDecimal tasaInteresAnual;
+    private TipoSistemaAmortizacion sistemaAmortizacion = TipoSistemaAmortizacion.FRANCES;
+
+    // Última cuota y total de intereses del sistema elegido; se reutiliza igual que este objeto
+    private final TotalesAmortizacion totales = new TotalesAmortizacion();
+
+    /**
+     * Instancia propia del hilo actual, para los bucles que reparten cotizaciones entre hilos.
+     *
+     * ⚠️ La próxima cotización del mismo hilo la sobrescribe: copiar los valores
+     * (mapper, getters) antes de volver a cotizar y nunca guardar la referencia.
+     */
+    public static ResultadoCotizacion delHilo() {
+        return DEL_HILO.get();
+    }
+
+    /**
+     * Escribe todos los valores de una cotización (reemplaza los anteriores).
+     * Los totales se escriben aparte, en getTotales().
+     */
+    public void asignar(long montoCuotaInicialCentavos, long montoFinanciarCentavos, long cuotaMensualCentavos,
+                        double tcea, BigDecimal tasaInteresAnual, TipoSistemaAmortizacion sistemaAmortizacion) {
+        this.montoCuotaInicialCentavos = montoCuotaInicialCentavos;
+        this.montoFinanciarCentavos = montoFinanciarCentavos;
+        this.cuotaMensualCentavos = cuotaMensualCentavos;
+        this.tcea = tcea;
+        this.tasaInteresAnual = tasaInteresAnual;
+        this.sistemaAmortizacion = sistemaAmortizacion;
+    }
+
+    public long getMontoCuotaInicialCentavos() { return montoCuotaInicialCentavos; }
+    public long getMontoFinanciarCentavos() { return montoFinanciarCentavos; }
+    public long getCuotaMensualCentavos() { return cuotaMensualCentavos; }
+    public double getTceaValor() { return tcea; }
+    public TipoSistemaAmortizacion getSistemaAmortizacion() { return sistemaAmortizacion; }
+    public TotalesAmortizacion getTotales() { return totales; }
+
+    // Conversión a BigDecimal (2 decimales) solo cuando se arma la entidad o la respuesta
+    public BigDecimal getMontoCuotaInicial() { return CalculadoraFinancieraRapida.desdeCentavos(montoCuotaInicialCentavos); }
+    public BigDecimal getMontoFinanciar() { return CalculadoraFinancieraRapida.desdeCentavos(montoFinanciarCentavos); }
+    public BigDecimal getCuotaMensual() { return CalculadoraFinancieraRapida.desdeCentavos(cuotaMensualCentavos); }
+    public BigDecimal getTcea() { return BigDecimal.valueOf(tcea); }
+    public BigDecimal getTasaInteresAnual() { return tasaInteresAnual; }
+    public BigDecimal getUltimaCuota() { return CalculadoraFinancieraRapida.desdeCentavos(totales.getUltimaCuotaCentavos()); }
+    public BigDecimal getTotalIntereses() { return CalculadoraFinancieraRapida.desdeCentavos(totales.getTotalInteresesCentavos()); }
+
+    /**
+     * Copia inmutable para los llamadores que todavía esperan un ResultadoCalculo.
+     */
+    public CalculadoraFinanciera.ResultadoCalculo toResultadoCalculo() {
+        return new CalculadoraFinanciera.ResultadoCalculo(
+                getMontoCuotaInicial(),
+                getMontoFinanciar(),
+                getCuotaMensual(),
+                getTcea(),
+                tasaInteresAnual
+        );
+    }
+}
@@ -0,0 +1,167 @@
+package com.optic.apirest.utils;
+
+import java.util.List;
+
+/**
+ * 💸 Escenarios de amortización anticipada (prepago) sobre un préstamo francés.
+ *
+ * Cada prepago se aplica después de pagar la cuota del mes indicado y luego:
+ * - REDUCIR_PLAZO: se mantiene la cuota y se cancela antes
+ * - REDUCIR_CUOTA: se mantiene el plazo y baja la cuota
+ *
+ * ⚡ INCREMENTAL: entre un prepago y el siguiente la cuota es constante, así que el
+ * saldo se avanza con la fórmula cerrada
+ *   Saldo_k = S × (1 + i)^k - Cuota × ((1 + i)^k - 1) / i
+ * en O(1), sin recorrer el cronograma mes a mes. Evaluar un plan cuesta O(cantidad
+ * de prepagos), y la tasa, el factor y la línea base se calculan una sola vez por
+ * préstamo: se pueden comparar miles de planes de forma interactiva.
+ *
+ * Los montos viajan en céntimos; el saldo intermedio se lleva en double y solo se
+ * redondea al céntimo la cuota nueva (igual que en el cronograma, la última cuota
+ * absorbe la diferencia).
+ */
+public final class SimuladorPrepagos {
+
+    public enum Modalidad {
+        REDUCIR_PLAZO,
+        REDUCIR_CUOTA
+    }
+
+    /**
+     * Un prepago: después de pagar la cuota del mes {@code mes} se abona {@code montoCentavos}.
+     */
+    public record Prepago(int mes, long montoCentavos, Modalidad modalidad) {
+    }
+
+    /**
+     * Totales de un plan de prepagos (montos en céntimos).
+     */
+    public record Resultado(int plazoMeses, long cuotaVigenteCentavos, long ultimaCuotaCentavos,
+                            long totalPrepagadoCentavos, long totalCuotasCentavos, long totalInteresesCentavos) {
+    }
+
+    // Saldos por debajo de medio céntimo se consideran cancelados
+    private static final double SALDO_CANCELADO = 0.5;
+
+    private final long montoFinanciarCentavos;
+    private final double tasaMensual;
+    private final double logUnoMasTasa;
+    private final int plazoMeses;
+    private final long cuotaCentavos;
+    private final Resultado sinPrepagos;
+
+    /**
+     * @param montoFinanciarCentavos Monto a financiar en céntimos
+     * @param tasaAnual Tasa de interés anual en porcentaje (ej: 7.5)
+     * @param plazoMeses Plazo original en meses
+     */
+    public SimuladorPrepagos(long montoFinanciarCentavos, double tasaAnual, int plazoMeses) {
+        this.montoFinanciarCentavos = montoFinanciarCentavos;
+        this.tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual);
+        this.logUnoMasTasa = Math.log1p(tasaMensual);
+        this.plazoMeses = plazoMeses;
+        this.cuotaCentavos = CalculadoraFinancieraRapida.calcularCuotaMensualCentavos(montoFinanciarCentavos, tasaMensual, plazoMeses);
+        this.sinPrepagos = evaluar(List.of());
+    }
+
+    public int getPlazoMeses() { return plazoMeses; }
+    public long getCuotaCentavos() { return cuotaCentavos; }
+
+    /**
+     * Línea base: el préstamo sin ningún prepago (calculada una vez).
+     */
+    public Resultado getSinPrepagos() { return sinPrepagos; }
+
+    /**
+     * Evalúa un plan de prepagos.
+     *
+     * @param prepagos Prepagos ordenados por mes (se permiten varios en el mismo mes)
+     * @return Totales del plan
+     */
+    public Resultado evaluar(List<Prepago> prepagos) {
+        double saldo = montoFinanciarCentavos;
+        double cuota = cuotaCentavos;
+        int mes = 0;                 // última cuota pagada
+        int mesFinal = plazoMeses;   // mes de la última cuota según el plan vigente
+        double totalCuotas = 0.0;
+        double totalPrepagado = 0.0;
+
+        for (Prepago prepago : prepagos) {
+            if (prepago.mes() < mes) {
+                throw new IllegalArgumentException("Los prepagos deben venir ordenados por mes");
+            }
+            if (prepago.mes() >= mesFinal) {
+                // El préstamo ya terminó (o termina ese mes): el prepago no aplica
+                break;
+            }
+
+            // 1️⃣ Avanzar hasta el mes del prepago en O(1)
+            int cuotasPagadas = prepago.mes() - mes;
+            saldo = avanzarSaldo(saldo, cuota, cuotasPagadas);
+            totalCuotas += cuota * cuotasPagadas;
+            mes = prepago.mes();
+
+            // 2️⃣ Abonar (nunca más que el saldo)
+            double abono = Math.min(prepago.montoCentavos(), saldo);
+            saldo -= abono;
+            totalPrepagado += abono;
+            if (saldo < SALDO_CANCELADO) {
+                saldo = 0.0;
+                mesFinal = mes;
+                break;
+            }
+
+            // 3️⃣ Re-amortizar solo desde aquí
+            if (prepago.modalidad() == Modalidad.REDUCIR_CUOTA) {
+                cuota = Math.round(saldo * CalculadoraFinancieraRapida.calcularFactorCuota(tasaMensual, mesFinal - mes));
+            } else {
+                mesFinal = mes + mesesParaCancelar(saldo, cuota);
+            }
+        }
+
+        // 4️⃣ Último tramo: cuotas completas y la última ajustada al saldo
+        double ultimaCuota = 0.0;
+        int restantes = mesFinal - mes;
+        if (restantes > 0) {
+            double saldoAntesUltima = avanzarSaldo(saldo, cuota, restantes - 1);
+            ultimaCuota = saldoAntesUltima * (1.0 + tasaMensual);
+            totalCuotas += cuota * (restantes - 1) + ultimaCuota;
+        }
+
+        long totalCuotasCentavos = Math.round(totalCuotas);
+        long totalPrepagadoCentavos = Math.round(totalPrepagado);
+        return new Resultado(
+                mesFinal,
+                Math.round(cuota),
+                Math.round(ultimaCuota),
+                totalPrepagadoCentavos,
+                totalCuotasCentavos,
+                totalCuotasCentavos + totalPrepagadoCentavos - montoFinanciarCentavos
+        );
+    }
+
+    // Saldo después de k cuotas iguales (fórmula cerrada)
+    private double avanzarSaldo(double saldo, double cuota, int cuotas) {
+        if (cuotas == 0) {
+            return saldo;
+        }
+        if (tasaMensual == 0.0) {
+            return Math.max(0.0, saldo - cuota * cuotas);
+        }
+        double logCrecimiento = cuotas * logUnoMasTasa;
+        return Math.max(0.0, saldo * Math.exp(logCrecimiento) - cuota * Math.expm1(logCrecimiento) / tasaMensual);
+    }
+
+    /**
+     * Cuotas necesarias para cancelar el saldo con la cuota dada:
+     * n = -ln(1 - S·i / Cuota) / ln(1 + i), redondeado hacia arriba.
+     */
+    private int mesesParaCancelar(double saldo, double cuota) {
+        if (tasaMensual == 0.0) {
+            return (int) Math.ceil(saldo / cuota);
+        }
+        double meses = -Math.log1p(-saldo * tasaMensual / cuota) / logUnoMasTasa;
+        // Tolerancia para no sumar un mes por error de redondeo cuando n es casi entero
+        return Math.max(1, (int) Math.ceil(meses - 1e-9));
+    }
+}
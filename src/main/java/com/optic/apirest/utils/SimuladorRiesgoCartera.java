@@ -0,0 +1,214 @@
+package com.optic.apirest.utils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 🎲 Simulación Monte Carlo de pérdidas por incumplimiento de la cartera.
+ *
+ * 📐 MODELO (un factor, Vasicek / cópula gaussiana):
+ * - Cada trayectoria sortea el estado de la economía Z ~ N(0, 1)
+ * - Dado Z, la probabilidad de incumplimiento de un grupo de préstamos es
+ *   p(Z) = Φ((Φ⁻¹(PD) - √ρ · Z) / √(1 - ρ))
+ * - La pérdida del grupo es LGD × (exposición de los que incumplen). Con muchos
+ *   préstamos por grupo se sortea con su media y su varianza exactas:
+ *   media = LGD · p · ΣEAD,  varianza = LGD² · p · (1 - p) · ΣEAD²
+ *
+ * Así el costo de una trayectoria depende de la cantidad de GRUPOS (riesgo × plazo
+ * efectivo), no de la cantidad de préstamos: 1M trayectorias sobre 100k préstamos
+ * toman segundos.
+ *
+ * ⚙️ PARALELISMO Y REPRODUCIBILIDAD:
+ * - Las trayectorias se parten en bloques fijos de TRAYECTORIAS_POR_BLOQUE
+ * - La semilla de cada bloque sale de un SplittableRandom raíz, en orden de bloque
+ * - Los bloques corren en el ForkJoinPool común y escriben en su tramo de un double[]
+ * → con la misma semilla el resultado es idéntico, sin importar cuántos núcleos haya.
+ */
+public final class SimuladorRiesgoCartera {
+
+    public static final int TRAYECTORIAS_POR_BLOQUE = 8192;
+
+    private SimuladorRiesgoCartera() {
+    }
+
+    /**
+     * Resultado agregado de la simulación (pérdidas en las mismas unidades que la exposición).
+     */
+    public static final class Resultado {
+        private final double perdidaEsperada;
+        private final double[] perdidaEsperadaPorGrupo;
+        private final double var95;
+        private final double var99;
+        private final double var999;
+        private final double expectedShortfall99;
+        private final double perdidaMaxima;
+
+        private Resultado(double perdidaEsperada, double[] perdidaEsperadaPorGrupo, double var95, double var99,
+                          double var999, double expectedShortfall99, double perdidaMaxima) {
+            this.perdidaEsperada = perdidaEsperada;
+            this.perdidaEsperadaPorGrupo = perdidaEsperadaPorGrupo;
+            this.var95 = var95;
+            this.var99 = var99;
+            this.var999 = var999;
+            this.expectedShortfall99 = expectedShortfall99;
+            this.perdidaMaxima = perdidaMaxima;
+        }
+
+        public double getPerdidaEsperada() { return perdidaEsperada; }
+        public double getPerdidaEsperadaGrupo(int grupo) { return perdidaEsperadaPorGrupo[grupo]; }
+        public double getVar95() { return var95; }
+        public double getVar99() { return var99; }
+        public double getVar999() { return var999; }
+        public double getExpectedShortfall99() { return expectedShortfall99; }
+        public double getPerdidaMaxima() { return perdidaMaxima; }
+    }
+
+    /**
+     * Simula las pérdidas de la cartera agrupada.
+     *
+     * @param probabilidadIncumplimiento PD de cada grupo en el horizonte (0..1)
+     * @param exposicion ΣEAD de cada grupo
+     * @param exposicionCuadrada ΣEAD² de cada grupo (granularidad del grupo)
+     * @param lgd Pérdida dado el incumplimiento (0..1)
+     * @param correlacion Correlación de activos ρ con el factor común (0..1)
+     * @param trayectorias Cantidad de trayectorias
+     * @param semilla Semilla: misma semilla → mismo resultado
+     */
+    public static Resultado simular(double[] probabilidadIncumplimiento, double[] exposicion, double[] exposicionCuadrada,
+                                    double lgd, double correlacion, int trayectorias, long semilla) {
+
+        // 1️⃣ Constantes por grupo (fuera del bucle caliente)
+        int grupos = probabilidadIncumplimiento.length;
+        double[] umbral = new double[grupos];
+        double[] perdidaTotalGrupo = new double[grupos];
+        double[] varianzaUnitariaGrupo = new double[grupos];
+        for (int g = 0; g < grupos; g++) {
+            umbral[g] = inversaNormal(probabilidadIncumplimiento[g]);
+            perdidaTotalGrupo[g] = lgd * exposicion[g];
+            varianzaUnitariaGrupo[g] = lgd * lgd * exposicionCuadrada[g];
+        }
+        double cargaFactor = Math.sqrt(correlacion);
+        double escalaIdiosincratica = 1.0 / Math.sqrt(1.0 - correlacion);
+
+        // 2️⃣ Semillas de bloque en orden fijo → reproducible con cualquier paralelismo
+        int bloques = (trayectorias + TRAYECTORIAS_POR_BLOQUE - 1) / TRAYECTORIAS_POR_BLOQUE;
+        long[] semillas = new long[bloques];
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        for (int b = 0; b < bloques; b++) {
+            semillas[b] = raiz.split().nextLong();
+        }
+
+        // 3️⃣ Trayectorias en paralelo; cada bloque escribe su tramo y su propio acumulador
+        double[] perdidas = new double[trayectorias];
+        double[][] acumuladoPorBloque = new double[bloques][grupos];
+        IntStream.range(0, bloques).parallel().forEach(b -> {
+            SplittableRandom aleatorio = new SplittableRandom(semillas[b]);
+            double[] acumulado = acumuladoPorBloque[b];
+            int desde = b * TRAYECTORIAS_POR_BLOQUE;
+            int hasta = Math.min(trayectorias, desde + TRAYECTORIAS_POR_BLOQUE);
+            for (int t = desde; t < hasta; t++) {
+                double factorComun = aleatorio.nextGaussian();
+                double perdida = 0.0;
+                for (int g = 0; g < grupos; g++) {
+                    double p = normalAcumulada((umbral[g] - cargaFactor * factorComun) * escalaIdiosincratica);
+                    double media = perdidaTotalGrupo[g] * p;
+                    double desviacion = Math.sqrt(varianzaUnitariaGrupo[g] * p * (1.0 - p));
+                    double perdidaGrupo = media + desviacion * aleatorio.nextGaussian();
+                    perdidaGrupo = Math.min(perdidaTotalGrupo[g], Math.max(0.0, perdidaGrupo));
+                    acumulado[g] += perdidaGrupo;
+                    perdida += perdidaGrupo;
+                }
+                perdidas[t] = perdida;
+            }
+        });
+
+        // 4️⃣ Pérdida esperada: suma de bloques en orden (mismo redondeo en cada ejecución)
+        double[] perdidaEsperadaPorGrupo = new double[grupos];
+        for (double[] acumulado : acumuladoPorBloque) {
+            for (int g = 0; g < grupos; g++) {
+                perdidaEsperadaPorGrupo[g] += acumulado[g];
+            }
+        }
+        double perdidaEsperada = 0.0;
+        for (int g = 0; g < grupos; g++) {
+            perdidaEsperadaPorGrupo[g] /= trayectorias;
+            perdidaEsperada += perdidaEsperadaPorGrupo[g];
+        }
+
+        // 5️⃣ VaR y Expected Shortfall: cuantiles de las pérdidas ordenadas
+        Arrays.parallelSort(perdidas);
+        int indice99 = indiceCuantil(0.99, trayectorias);
+        double colaSuma = 0.0;
+        for (int t = indice99; t < trayectorias; t++) {
+            colaSuma += perdidas[t];
+        }
+
+        return new Resultado(
+                perdidaEsperada,
+                perdidaEsperadaPorGrupo,
+                perdidas[indiceCuantil(0.95, trayectorias)],
+                perdidas[indice99],
+                perdidas[indiceCuantil(0.999, trayectorias)],
+                colaSuma / (trayectorias - indice99),
+                perdidas[trayectorias - 1]
+        );
+    }
+
+    private static int indiceCuantil(double nivel, int trayectorias) {
+        return Math.min(trayectorias - 1, (int) Math.ceil(nivel * trayectorias) - 1);
+    }
+
+    /**
+     * Φ(x): función de distribución normal estándar (error relativo < 1.2e-7).
+     */
+    static double normalAcumulada(double x) {
+        return 0.5 * erfc(-x / Math.sqrt(2.0));
+    }
+
+    // Complemento de la función error (aproximación de Chebyshev, Numerical Recipes erfcc)
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.5 * z);
+        double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2.0 - r;
+    }
+
+    /**
+     * Φ⁻¹(p): inversa de la normal estándar (algoritmo de Acklam, error relativo < 1.2e-9).
+     */
+    static double inversaNormal(double p) {
+        if (p <= 0.0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (p >= 1.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double pBajo = 0.02425;
+
+        if (p < pBajo) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - pBajo) {
+            double q = Math.sqrt(-2 * Math.log1p(-p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.optic.apirest.utils;
+
+/**
+ * 🇩🇪 Sistema ALEMÁN: amortización constante.
+ *
+ * 📐 Amortización = MontoFinanciar / n (redondeada al céntimo)
+ * Cuota del periodo = Amortización + Interés (baja mes a mes: la primera es la mayor).
+ */
+public final class SistemaAleman implements SistemaAmortizacion {
+
+    @Override
+    public long cuotaBaseCentavos(long montoFinanciarCentavos, double tasaMensual, int plazoMeses) {
+        return Math.round((double) montoFinanciarCentavos / plazoMeses);
+    }
+
+    @Override
+    public long amortizacionCentavos(long cuotaBaseCentavos, long interesCentavos, long saldoCentavos) {
+        return cuotaBaseCentavos;
+    }
+
+    @Override
+    public long saldoCentavos(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                              int plazoMeses, int mesesPagados) {
+        if (mesesPagados >= plazoMeses) {
+            return 0;
+        }
+        return Math.max(0L, montoFinanciarCentavos - cuotaBaseCentavos * mesesPagados);
+    }
+
+    /**
+     * Misma pasada que la de la interfaz, con la amortización constante escrita en el bucle.
+     */
+    @Override
+    public void calcularTotales(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                                int plazoMeses, TotalesAmortizacion destino) {
+        long saldo = montoFinanciarCentavos;
+        long totalIntereses = 0;
+        long primeraCuota = 0;
+        for (int periodo = 1; periodo < plazoMeses; periodo++) {
+            long interes = SistemaAmortizacion.interesCentavos(saldo, tasaMensual);
+            long amortizacion = Math.min(saldo, cuotaBaseCentavos);
+            if (periodo == 1) {
+                primeraCuota = interes + amortizacion;
+            }
+            totalIntereses += interes;
+            saldo -= amortizacion;
+        }
+        long interesFinal = SistemaAmortizacion.interesCentavos(saldo, tasaMensual);
+        long ultimaCuota = interesFinal + saldo;
+        destino.asignar(montoFinanciarCentavos, plazoMeses == 1 ? ultimaCuota : primeraCuota,
+                ultimaCuota, totalIntereses + interesFinal);
+    }
+}
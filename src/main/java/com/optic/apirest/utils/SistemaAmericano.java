@@ -0,0 +1,34 @@
+package com.optic.apirest.utils;
+
+/**
+ * 🇺🇸 Sistema AMERICANO (bullet): solo intereses y el capital completo al final.
+ *
+ * El saldo no cambia hasta la última cuota, así que el interés es el mismo todos
+ * los meses y los totales tienen forma cerrada (O(1), sin recorrer los periodos).
+ */
+public final class SistemaAmericano implements SistemaAmortizacion {
+
+    @Override
+    public long cuotaBaseCentavos(long montoFinanciarCentavos, double tasaMensual, int plazoMeses) {
+        return 0;
+    }
+
+    @Override
+    public long amortizacionCentavos(long cuotaBaseCentavos, long interesCentavos, long saldoCentavos) {
+        return 0;
+    }
+
+    @Override
+    public long saldoCentavos(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                              int plazoMeses, int mesesPagados) {
+        return mesesPagados >= plazoMeses ? 0 : montoFinanciarCentavos;
+    }
+
+    @Override
+    public void calcularTotales(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                                int plazoMeses, TotalesAmortizacion destino) {
+        long interes = SistemaAmortizacion.interesCentavos(montoFinanciarCentavos, tasaMensual);
+        long primeraCuota = plazoMeses == 1 ? interes + montoFinanciarCentavos : interes;
+        destino.asignar(montoFinanciarCentavos, primeraCuota, interes + montoFinanciarCentavos, interes * plazoMeses);
+    }
+}
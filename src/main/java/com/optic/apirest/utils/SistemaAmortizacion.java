@@ -0,0 +1,91 @@
+package com.optic.apirest.utils;
+
+/**
+ * 🎯 PRINCIPIO SOLID APLICADO: Open/Closed (OCP) - Strategy
+ *
+ * Un sistema de amortización define CUÁNTO capital se devuelve en cada cuota;
+ * el interés siempre es saldo × tasa mensual. Agregar un sistema nuevo es
+ * implementar esta interfaz, sin tocar el motor ni el cronograma.
+ *
+ * - SistemaFrances:   cuota constante (amortización creciente)
+ * - SistemaAleman:    amortización constante (cuota decreciente)
+ * - SistemaAmericano: solo intereses, el capital se devuelve en la última cuota
+ *
+ * ⚡ Todo en céntimos (long) y tasa en double: calcular los totales es UNA pasada
+ * sobre primitivos y no crea objetos. El cronograma (CronogramaPagos) usa las mismas
+ * reglas fila a fila, así que sus filas suman exactamente los totales.
+ *
+ * 📐 Reglas comunes a todos los sistemas:
+ * - Interés del periodo = saldo × tasa mensual, redondeado al céntimo
+ * - La última cuota amortiza todo el saldo que quede (absorbe los redondeos)
+ */
+public interface SistemaAmortizacion {
+
+    /**
+     * Valor fijo del sistema, calculado una vez por préstamo:
+     * cuota (francés), amortización constante (alemán) o 0 (americano).
+     */
+    long cuotaBaseCentavos(long montoFinanciarCentavos, double tasaMensual, int plazoMeses);
+
+    /**
+     * Capital que se devuelve en un periodo que NO es el último.
+     *
+     * @param cuotaBaseCentavos Resultado de cuotaBaseCentavos para este préstamo
+     * @param interesCentavos Interés del periodo (ya redondeado)
+     * @param saldoCentavos Saldo al inicio del periodo
+     */
+    long amortizacionCentavos(long cuotaBaseCentavos, long interesCentavos, long saldoCentavos);
+
+    /**
+     * Saldo pendiente después de pagar {@code mesesPagados} cuotas, sin recorrer el cronograma.
+     */
+    long saldoCentavos(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                       int plazoMeses, int mesesPagados);
+
+    /**
+     * Primera cuota del préstamo en O(1): mismo primer periodo que calcularTotales,
+     * sin recorrer el resto del cronograma.
+     */
+    default long primeraCuotaCentavos(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                                      int plazoMeses) {
+        long interes = interesCentavos(montoFinanciarCentavos, tasaMensual);
+        long amortizacion = plazoMeses == 1
+                ? montoFinanciarCentavos
+                : Math.min(montoFinanciarCentavos, amortizacionCentavos(cuotaBaseCentavos, interes, montoFinanciarCentavos));
+        return interes + amortizacion;
+    }
+
+    /**
+     * Totales del préstamo en una sola pasada, sin materializar el cronograma.
+     * Los sistemas con forma cerrada pueden sobrescribirlo.
+     *
+     * @param destino Totales reutilizables del llamador (se sobrescriben)
+     */
+    default void calcularTotales(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                                 int plazoMeses, TotalesAmortizacion destino) {
+        long saldo = montoFinanciarCentavos;
+        long totalIntereses = 0;
+        long primeraCuota = 0;
+        long ultimaCuota = 0;
+        for (int periodo = 1; periodo <= plazoMeses; periodo++) {
+            long interes = interesCentavos(saldo, tasaMensual);
+            long amortizacion = periodo == plazoMeses
+                    ? saldo
+                    : Math.min(saldo, amortizacionCentavos(cuotaBaseCentavos, interes, saldo));
+            ultimaCuota = interes + amortizacion;
+            if (periodo == 1) {
+                primeraCuota = ultimaCuota;
+            }
+            totalIntereses += interes;
+            saldo -= amortizacion;
+        }
+        destino.asignar(montoFinanciarCentavos, primeraCuota, ultimaCuota, totalIntereses);
+    }
+
+    /**
+     * Interés de un periodo en céntimos (regla común a todos los sistemas).
+     */
+    static long interesCentavos(long saldoCentavos, double tasaMensual) {
+        return Math.round(saldoCentavos * tasaMensual);
+    }
+}
@@ -0,0 +1,49 @@
+package com.optic.apirest.utils;
+
+/**
+ * 🇫🇷 Sistema FRANCÉS: cuota constante.
+ *
+ * 📐 Cuota = MontoFinanciar × i / (1 - (1 + i)^(-n))
+ * Amortización del periodo = Cuota - Interés (crece mes a mes).
+ */
+public final class SistemaFrances implements SistemaAmortizacion {
+
+    @Override
+    public long cuotaBaseCentavos(long montoFinanciarCentavos, double tasaMensual, int plazoMeses) {
+        return CalculadoraFinancieraRapida.calcularCuotaMensualCentavos(montoFinanciarCentavos, tasaMensual, plazoMeses);
+    }
+
+    @Override
+    public long amortizacionCentavos(long cuotaBaseCentavos, long interesCentavos, long saldoCentavos) {
+        return cuotaBaseCentavos - interesCentavos;
+    }
+
+    @Override
+    public long saldoCentavos(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                              int plazoMeses, int mesesPagados) {
+        if (mesesPagados >= plazoMeses) {
+            return 0;
+        }
+        return CalculadoraFinancieraRapida.calcularSaldoCentavos(montoFinanciarCentavos, cuotaBaseCentavos, tasaMensual, mesesPagados);
+    }
+
+    /**
+     * Misma pasada que la de la interfaz, con la regla del francés escrita en el bucle:
+     * el motor la llama en cada cotización y así no depende de que el JIT resuelva la llamada.
+     */
+    @Override
+    public void calcularTotales(long montoFinanciarCentavos, long cuotaBaseCentavos, double tasaMensual,
+                                int plazoMeses, TotalesAmortizacion destino) {
+        long saldo = montoFinanciarCentavos;
+        long totalIntereses = 0;
+        for (int periodo = 1; periodo < plazoMeses; periodo++) {
+            long interes = SistemaAmortizacion.interesCentavos(saldo, tasaMensual);
+            totalIntereses += interes;
+            saldo -= Math.min(saldo, cuotaBaseCentavos - interes);
+        }
+        long interesFinal = SistemaAmortizacion.interesCentavos(saldo, tasaMensual);
+        long ultimaCuota = interesFinal + saldo;
+        destino.asignar(montoFinanciarCentavos, plazoMeses == 1 ? ultimaCuota : cuotaBaseCentavos,
+                ultimaCuota, totalIntereses + interesFinal);
+    }
+}
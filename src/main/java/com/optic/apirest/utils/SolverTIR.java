@@ -0,0 +1,89 @@
+package com.optic.apirest.utils;
+
+/**
+ * 🎯 Solver de la TIR (tasa interna de retorno) de un flujo de caja periódico.
+ *
+ * Busca la tasa r que hace VAN(r) = Σ flujo[t] / (1 + r)^t = 0.
+ *
+ * ⚙️ MÉTODO:
+ * 1. Newton-Raphson: en UNA sola pasada sobre el arreglo calcula el VAN y su derivada
+ *    (el factor de descuento se va multiplicando, sin potencias ni objetos)
+ * 2. Si Newton no converge o se sale del rango válido, bisección sobre [-0.99, 10]
+ */
+public final class SolverTIR {
+
+    private static final int MAX_ITERACIONES_NEWTON = 50;
+    private static final int MAX_ITERACIONES_BISECCION = 200;
+    private static final double TOLERANCIA = 1e-12;
+    private static final double TASA_MINIMA = -0.99;
+    private static final double TASA_MAXIMA = 10.0;
+
+    private SolverTIR() {
+    }
+
+    /**
+     * Tasa por periodo que anula el VAN de los flujos.
+     *
+     * @param flujos Flujos de caja; flujos[0] es el del momento cero
+     * @param cantidad Cantidad de flujos a usar (permite reutilizar un arreglo más grande)
+     * @param estimacionInicial Punto de partida de Newton (ej: la tasa nominal del periodo)
+     * @return Tasa por periodo (NaN si no hay cambio de signo en el rango)
+     */
+    public static double resolverTasaPeriodo(double[] flujos, int cantidad, double estimacionInicial) {
+        double tasa = estimacionInicial;
+        for (int iteracion = 0; iteracion < MAX_ITERACIONES_NEWTON; iteracion++) {
+            double descuento = 1.0;            // 1 / (1 + r)^t
+            double factor = 1.0 / (1.0 + tasa);
+            double van = 0.0;
+            double derivada = 0.0;             // dVAN/dr = Σ -t · flujo[t] / (1 + r)^(t+1)
+            for (int t = 0; t < cantidad; t++) {
+                van += flujos[t] * descuento;
+                derivada -= t * flujos[t] * descuento * factor;
+                descuento *= factor;
+            }
+            if (derivada == 0.0 || Double.isNaN(van)) {
+                break;
+            }
+            double siguiente = tasa - van / derivada;
+            if (!(siguiente > TASA_MINIMA && siguiente < TASA_MAXIMA)) {
+                break;
+            }
+            if (Math.abs(siguiente - tasa) < TOLERANCIA) {
+                return siguiente;
+            }
+            tasa = siguiente;
+        }
+        return biseccion(flujos, cantidad);
+    }
+
+    private static double biseccion(double[] flujos, int cantidad) {
+        double bajo = TASA_MINIMA;
+        double alto = TASA_MAXIMA;
+        double vanBajo = van(flujos, cantidad, bajo);
+        if (vanBajo * van(flujos, cantidad, alto) > 0) {
+            return Double.NaN;
+        }
+        for (int iteracion = 0; iteracion < MAX_ITERACIONES_BISECCION && alto - bajo > TOLERANCIA; iteracion++) {
+            double medio = (bajo + alto) / 2;
+            double vanMedio = van(flujos, cantidad, medio);
+            if (vanMedio * vanBajo > 0) {
+                bajo = medio;
+                vanBajo = vanMedio;
+            } else {
+                alto = medio;
+            }
+        }
+        return (bajo + alto) / 2;
+    }
+
+    private static double van(double[] flujos, int cantidad, double tasa) {
+        double descuento = 1.0;
+        double factor = 1.0 / (1.0 + tasa);
+        double van = 0.0;
+        for (int t = 0; t < cantidad; t++) {
+            van += flujos[t] * descuento;
+            descuento *= factor;
+        }
+        return van;
+    }
+}
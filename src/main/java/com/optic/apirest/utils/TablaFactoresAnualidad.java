@@ -0,0 +1,93 @@
+package com.optic.apirest.utils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 📋 Tabla INMUTABLE de factores de anualidad precalculados.
+ *
+ * Para cada tasa anual vigente y cada plazo de 1 a PLAZO_MAXIMO_MESES guarda:
+ * - factor de cuota = i / (1 - (1 + i)^(-n))  → cuota = montoFinanciar × factor
+ * - TCEA de la tasa
+ *
+ * Con la tabla, cotizar es una sola multiplicación: no se recalcula la tasa
+ * mensual, ni la potencia, ni el divisor en cada request.
+ *
+ * ⚠️ Nunca se modifica después de construirse: cuando cambian las tasas se
+ * construye una tabla NUEVA y se reemplaza la referencia completa.
+ */
+public final class TablaFactoresAnualidad {
+
+    // 40 años cubre con holgura todos los plazos que ofrece el banco
+    public static final int PLAZO_MAXIMO_MESES = 40 * 12;
+
+    private final double[] tasasAnuales;
+    private final double[] tasasMensuales;
+    private final double[] tceas;
+    private final double[][] factores; // [tasa][plazoMeses]
+
+    private TablaFactoresAnualidad(double[] tasasAnuales) {
+        this.tasasAnuales = tasasAnuales;
+        this.tasasMensuales = new double[tasasAnuales.length];
+        this.tceas = new double[tasasAnuales.length];
+        this.factores = new double[tasasAnuales.length][PLAZO_MAXIMO_MESES + 1];
+
+        for (int t = 0; t < tasasAnuales.length; t++) {
+            double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasasAnuales[t]);
+            tasasMensuales[t] = tasaMensual;
+            tceas[t] = CalculadoraFinancieraRapida.calcularTCEA(tasaMensual);
+            for (int n = 1; n <= PLAZO_MAXIMO_MESES; n++) {
+                factores[t][n] = CalculadoraFinancieraRapida.calcularFactorCuota(tasaMensual, n);
+            }
+        }
+    }
+
+    /**
+     * Construye la tabla para el conjunto de tasas anuales indicado.
+     *
+     * @param tasas Tasas anuales en porcentaje (ej: 7.5, 8.5, 9.5)
+     */
+    public static TablaFactoresAnualidad construir(List<BigDecimal> tasas) {
+        double[] tasasAnuales = tasas.stream()
+                .mapToDouble(BigDecimal::doubleValue)
+                .distinct()
+                .toArray();
+        return new TablaFactoresAnualidad(tasasAnuales);
+    }
+
+    /**
+     * Posición de la tasa en la tabla, o -1 si la tasa no está precalculada.
+     * Son pocas tasas, así que una búsqueda lineal es lo más rápido.
+     */
+    public int indiceDe(double tasaAnual) {
+        for (int t = 0; t < tasasAnuales.length; t++) {
+            if (tasasAnuales[t] == tasaAnual) {
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indica si el plazo está dentro de la tabla.
+     */
+    public boolean cubrePlazo(int plazoMeses) {
+        return plazoMeses >= 1 && plazoMeses <= PLAZO_MAXIMO_MESES;
+    }
+
+    public double factorCuota(int indiceTasa, int plazoMeses) {
+        return factores[indiceTasa][plazoMeses];
+    }
+
+    public double tasaMensual(int indiceTasa) {
+        return tasasMensuales[indiceTasa];
+    }
+
+    public double tcea(int indiceTasa) {
+        return tceas[indiceTasa];
+    }
+
+    public int cantidadTasas() {
+        return tasasAnuales.length;
+    }
+}
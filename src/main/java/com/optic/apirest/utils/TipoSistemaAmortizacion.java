@@ -0,0 +1,32 @@
+package com.optic.apirest.utils;
+
+/**
+ * 📋 Sistemas de amortización que se pueden elegir en una solicitud.
+ *
+ * Cada valor apunta a su implementación (sin estado, una sola instancia).
+ * Se guarda por nombre en la columna sistema_amortizacion; las solicitudes
+ * anteriores a esta columna (null) son francesas.
+ */
+public enum TipoSistemaAmortizacion {
+
+    FRANCES(new SistemaFrances()),
+    ALEMAN(new SistemaAleman()),
+    AMERICANO(new SistemaAmericano());
+
+    private final SistemaAmortizacion sistema;
+
+    TipoSistemaAmortizacion(SistemaAmortizacion sistema) {
+        this.sistema = sistema;
+    }
+
+    public SistemaAmortizacion getSistema() {
+        return sistema;
+    }
+
+    /**
+     * El tipo indicado, o FRANCES si no se indicó ninguno.
+     */
+    public static TipoSistemaAmortizacion oPorDefecto(TipoSistemaAmortizacion tipo) {
+        return tipo != null ? tipo : FRANCES;
+    }
+}
@@ -0,0 +1,36 @@
+package com.optic.apirest.utils;
+
+/**
+ * 📥 Totales REUTILIZABLES de un préstamo (sink), en céntimos.
+ *
+ * SistemaAmortizacion.calcularTotales escribe aquí en vez de crear un objeto por
+ * cotización. La cuota de referencia que se muestra al cliente es la primera:
+ * constante en el francés, la mayor en el alemán y solo intereses en el americano.
+ *
+ * ⚠️ NO es thread-safe: cada hilo usa su propia instancia.
+ */
+public final class TotalesAmortizacion {
+
+    private long montoFinanciarCentavos;
+    private long primeraCuotaCentavos;
+    private long ultimaCuotaCentavos;
+    private long totalInteresesCentavos;
+
+    /**
+     * Escribe todos los totales (reemplaza los anteriores).
+     */
+    public void asignar(long montoFinanciarCentavos, long primeraCuotaCentavos, long ultimaCuotaCentavos,
+                        long totalInteresesCentavos) {
+        this.montoFinanciarCentavos = montoFinanciarCentavos;
+        this.primeraCuotaCentavos = primeraCuotaCentavos;
+        this.ultimaCuotaCentavos = ultimaCuotaCentavos;
+        this.totalInteresesCentavos = totalInteresesCentavos;
+    }
+
+    public long getPrimeraCuotaCentavos() { return primeraCuotaCentavos; }
+    public long getUltimaCuotaCentavos() { return ultimaCuotaCentavos; }
+    public long getTotalInteresesCentavos() { return totalInteresesCentavos; }
+
+    // Todo lo que paga el cliente en cuotas: capital + intereses
+    public long getTotalPagarCentavos() { return montoFinanciarCentavos + totalInteresesCentavos; }
+}
@@ -172,7 +172,9 @@ CREATE TABLE IF NOT EXISTS solicitudes_prestamo (
     -- Datos calculados
     tasa_interes DECIMAL(5,2) COMMENT 'Tasa de interés anual asignada',
     tcea DECIMAL(5,2) COMMENT 'Tasa de costo efectivo anual',
-    cuota_mensual DECIMAL(10,2) COMMENT 'Cuota mensual calculada',
+    cuota_mensual DECIMAL(10,2) COMMENT 'Cuota mensual calculada (primera cuota del sistema)',
+    sistema_amortizacion VARCHAR(20) DEFAULT 'FRANCES' COMMENT 'FRANCES, ALEMAN o AMERICANO',
+    version_tasas BIGINT COMMENT 'Versión de tasas_interes usada al cotizar (0 = tasas por defecto)',
     
     -- Datos de validación
     motivo_rechazo VARCHAR(1000) COMMENT 'Motivo si la solicitud fue rechazada',
@@ -185,9 +187,49 @@ CREATE TABLE IF NOT EXISTS solicitudes_prestamo (
     FOREIGN KEY (cliente_id) REFERENCES clientes(id) ON DELETE RESTRICT,
     
     INDEX idx_cliente_id (cliente_id),
-    INDEX idx_estado (estado)
+    INDEX idx_estado (estado),
+    INDEX idx_estado_id (estado, id) COMMENT 'Recorrido por keyset de las aprobadas (reprecio)'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Solicitudes de préstamo';
 
+-- ===================================================================
+-- TABLA: trabajos_reprecio
+-- ===================================================================
+-- Punto de control del reprecio de cartera (cuando cambian las tasas).
+-- Cada lote actualiza las solicitudes y esta fila en la misma transacción:
+-- si la aplicación se cae, el trabajo continúa desde ultimo_id_procesado.
+-- ===================================================================
+CREATE TABLE IF NOT EXISTS trabajos_reprecio (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    estado VARCHAR(20) NOT NULL COMMENT 'EN_CURSO, COMPLETADO o FALLIDO',
+    ultimo_id_procesado BIGINT NOT NULL DEFAULT 0 COMMENT 'Última solicitud repreciada (keyset)',
+    filas_procesadas BIGINT NOT NULL DEFAULT 0 COMMENT 'Solicitudes aprobadas revisadas',
+    filas_actualizadas BIGINT NOT NULL DEFAULT 0 COMMENT 'Solicitudes con valores nuevos',
+    total_estimado BIGINT COMMENT 'Solicitudes aprobadas al iniciar',
+    mensaje_error VARCHAR(1000) COMMENT 'Causa si el trabajo falló',
+    iniciado_en TIMESTAMP NOT NULL COMMENT 'Inicio del trabajo',
+    actualizado_en TIMESTAMP NULL COMMENT 'Último lote confirmado',
+    finalizado_en TIMESTAMP NULL COMMENT 'Fin del trabajo',
+
+    INDEX idx_estado (estado)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Avance del reprecio de cartera';
+
+-- ===================================================================
+-- TABLA: tasas_interes
+-- ===================================================================
+-- Tasas anuales por nivel de riesgo, recargadas en caliente (RecargaTasasService).
+-- Solo inserción: un cambio de tasas es una versión NUEVA con las 3 filas
+-- (riesgo 1, 2 y 3). La vigente es la de versión más alta; las anteriores
+-- quedan como historial de lo guardado en solicitudes_prestamo.version_tasas.
+-- ===================================================================
+CREATE TABLE IF NOT EXISTS tasas_interes (
+    version BIGINT NOT NULL COMMENT 'Versión de la tabla de tasas (creciente)',
+    riesgo INT NOT NULL COMMENT 'Nivel de riesgo (1=Bajo, 2=Medio, 3=Alto)',
+    tasa DECIMAL(5,2) NOT NULL COMMENT 'Tasa de interés anual (%)',
+    creado_en TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT 'Fecha de publicación',
+
+    PRIMARY KEY (version, riesgo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Versiones de tasas de interés por riesgo';
+
 -- ===================================================================
 -- INSERCIÓN DE DATOS INICIALES
 -- ===================================================================
@@ -307,6 +349,15 @@ INSERT INTO clientes (nombre_completo, documento_identidad, email, telefono, ing
 ('María González López', '87654321', 'maria.gonzalez@example.com', '987654322', 4500.00, 1),
 ('Carlos Rodríguez Sánchez', '11223344', 'carlos.rodriguez@example.com', '987654323', 5000.00, 1);
 
+-- -------------------------------------------------------------------
+-- 7. TASAS DE INTERÉS INICIALES (versión 1)
+-- -------------------------------------------------------------------
+-- Para cambiar tasas: insertar la versión 2 con los 3 riesgos (o POST /api/admin/tasas/recargar)
+INSERT INTO tasas_interes (version, riesgo, tasa) VALUES
+(1, 1, 7.50),
+(1, 2, 8.50),
+(1, 3, 9.50);
+
 -- ===================================================================
 -- RESUMEN DEL MODELO DE DATOS
 -- ===================================================================
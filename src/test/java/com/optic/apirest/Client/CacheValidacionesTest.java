@@ -0,0 +1,32 @@
+package com.optic.apirest.Client;
+
+import com.optic.apirest.dto.apiValidarHistorial.ValidacionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Estadísticas de la caché de validaciones con el recorrido de TasaInteresApiClient
+ * (buscar y, si falla, obtener): cada consulta cuenta una sola vez.
+ */
+class CacheValidacionesTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheValidaciones cache = new CacheValidaciones(true, 100, 10, 30, meterRegistry);
+
+    private double ratioAciertos() {
+        return meterRegistry.get("cotizacion.validacion.cache.ratio-aciertos").gauge().value();
+    }
+
+    @Test
+    void unFalloSeguidoDeCargaCuentaUnSoloFallo() {
+        assertThat(cache.buscar("12345678")).isNull();
+        cache.obtener("12345678", dni -> new ValidacionResponse(dni, 1, "APROBADO", false));
+
+        assertThat(cache.buscar("12345678")).isNotNull();
+
+        // 1 fallo (buscar) + 1 acierto (buscar); la relectura de obtener no cuenta
+        assertThat(ratioAciertos()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,119 @@
+package com.optic.apirest.Client;
+
+import com.optic.apirest.Client.CircuitBreakerValidaciones.EstadoCircuito;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transiciones CERRADO → ABIERTO → SEMI_ABIERTO → CERRADO / ABIERTO del circuito
+ * (ventana de 10, mínimo 4 llamadas, umbral 50 %, 2 llamadas de prueba).
+ */
+class CircuitBreakerValidacionesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void iniciar() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    // esperaAbiertoSegundos = 0 → la primera llamada después de abrir ya pasa a SEMI_ABIERTO
+    private CircuitBreakerValidaciones circuito(long esperaAbiertoSegundos) {
+        return new CircuitBreakerValidaciones(true, 10, 4, 50, esperaAbiertoSegundos, 2, meterRegistry);
+    }
+
+    private static void fallar(CircuitBreakerValidaciones circuito, int veces) {
+        for (int i = 0; i < veces; i++) {
+            assertThat(circuito.permitir()).isTrue();
+            circuito.registrarFallo();
+        }
+    }
+
+    private double rechazos() {
+        return meterRegistry.get("cotizacion.validacion.rechazos").tag("motivo", "circuito").counter().count();
+    }
+
+    @Test
+    void sigueCerradoMientrasNoHayMinimoDeLlamadas() {
+        CircuitBreakerValidaciones circuito = circuito(30);
+
+        fallar(circuito, 3);
+
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.CERRADO);
+        assertThat(circuito.permitir()).isTrue();
+    }
+
+    @Test
+    void sigueCerradoPorDebajoDelUmbral() {
+        CircuitBreakerValidaciones circuito = circuito(30);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(circuito.permitir()).isTrue();
+            circuito.registrarExito();
+        }
+        fallar(circuito, 4); // 4 de 10 = 40 %
+
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.CERRADO);
+    }
+
+    @Test
+    void abreAlLlegarAlUmbralYRechazaDuranteLaEspera() {
+        CircuitBreakerValidaciones circuito = circuito(30);
+
+        fallar(circuito, 4);
+
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.ABIERTO);
+        assertThat(circuito.permitir()).isFalse();
+        assertThat(circuito.permitir()).isFalse();
+        assertThat(rechazos()).isEqualTo(2);
+    }
+
+    @Test
+    void semiAbiertoDejaPasarSoloLasPruebasYCierraSiSalenBien() {
+        CircuitBreakerValidaciones circuito = circuito(0);
+        fallar(circuito, 4);
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.ABIERTO);
+
+        assertThat(circuito.permitir()).isTrue();
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.SEMI_ABIERTO);
+        assertThat(circuito.permitir()).isTrue();
+        assertThat(circuito.permitir()).isFalse(); // ya hay 2 pruebas en curso
+        assertThat(rechazos()).isEqualTo(1);
+
+        circuito.registrarExito();
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.SEMI_ABIERTO);
+        circuito.registrarExito();
+
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.CERRADO);
+        // Ventana limpia: hacen falta otra vez min-llamadas para abrir
+        fallar(circuito, 3);
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.CERRADO);
+    }
+
+    @Test
+    void unFalloEnSemiAbiertoVuelveAAbrir() {
+        CircuitBreakerValidaciones circuito = circuito(0);
+        fallar(circuito, 4);
+
+        assertThat(circuito.permitir()).isTrue();
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.SEMI_ABIERTO);
+        circuito.registrarFallo();
+
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.ABIERTO);
+        assertThat(meterRegistry.get("cotizacion.validacion.circuito.transiciones").tag("hacia", "abierto")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void deshabilitadoSiemprePermite() {
+        CircuitBreakerValidaciones circuito = new CircuitBreakerValidaciones(false, 10, 4, 50, 30, 2, meterRegistry);
+
+        fallar(circuito, 10);
+
+        assertThat(circuito.getEstado()).isEqualTo(EstadoCircuito.CERRADO);
+        assertThat(circuito.permitir()).isTrue();
+    }
+}
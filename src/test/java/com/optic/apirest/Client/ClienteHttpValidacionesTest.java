@@ -0,0 +1,178 @@
+package com.optic.apirest.Client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Timeouts y pool de ClienteHttpValidaciones contra un servidor local (JDK HttpServer)
+ * que responde rápido, tarda en responder, gotea el cuerpo o devuelve error.
+ */
+class ClienteHttpValidacionesTest {
+
+    private HttpServer servidor;
+    private String base;
+    // Las respuestas lentas quedan retenidas hasta que el test las libera (o termina)
+    private final CountDownLatch liberarLentas = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private final List<ClienteHttpValidaciones> clientes = new ArrayList<>();
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/rapida", intercambio -> responder(intercambio, 200, "[]"));
+        servidor.createContext("/lenta", intercambio -> {
+            esperar(liberarLentas);
+            responder(intercambio, 200, "[]");
+        });
+        servidor.createContext("/goteo", intercambio -> {
+            // Cabeceras enseguida, cuerpo de a un byte cada 100 ms
+            intercambio.sendResponseHeaders(200, 0);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                for (int i = 0; i < 30 && liberarLentas.getCount() > 0; i++) {
+                    salida.write(' ');
+                    salida.flush();
+                    liberarLentas.await(100, TimeUnit.MILLISECONDS);
+                }
+                salida.write("[]".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // El cliente cortó la conexión: esperado
+            }
+        });
+        servidor.createContext("/error", intercambio -> responder(intercambio, 500, "{}"));
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.start();
+        base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void detener() {
+        liberarLentas.countDown();
+        clientes.forEach(ClienteHttpValidaciones::cerrar);
+        servidor.stop(0);
+    }
+
+    private ClienteHttpValidaciones cliente(long lecturaMs, long totalMs, int maxConexiones, long esperaPoolMs) {
+        ClienteHttpValidaciones cliente = new ClienteHttpValidaciones(
+                true, 1000, lecturaMs, totalMs, maxConexiones, esperaPoolMs, meterRegistry);
+        clientes.add(cliente);
+        return cliente;
+    }
+
+    @Test
+    void devuelveElCuerpoDeUnaRespuestaRapida() {
+        assertThat(cliente(1000, 2000, 4, 100).get(base + "/rapida?dni=1")).isEqualTo("[]");
+    }
+
+    @Test
+    void cortaPorTimeoutDeLecturaSiLaRespuestaNoLlega() {
+        ClienteHttpValidaciones cliente = cliente(200, 5000, 4, 100);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> cliente.get(base + "/lenta"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("lectura");
+
+        assertThat(milisDesde(inicio)).isLessThan(2000);
+        assertThat(timeouts("lectura")).isEqualTo(1);
+        assertThat(timeouts("total")).isZero();
+    }
+
+    @Test
+    void cortaPorTimeoutTotalAunqueElServidorSigaEnviando() {
+        // Las cabeceras llegan enseguida (el timeout de lectura no aplica), el cuerpo nunca termina
+        ClienteHttpValidaciones cliente = cliente(5000, 300, 4, 100);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> cliente.get(base + "/goteo"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("total");
+
+        assertThat(milisDesde(inicio)).isLessThan(2000);
+        assertThat(timeouts("total")).isEqualTo(1);
+        assertThat(timeouts("lectura")).isZero();
+    }
+
+    @Test
+    void rechazaSinEsperarDeMasCuandoElPoolEstaLleno() throws Exception {
+        ClienteHttpValidaciones cliente = cliente(5000, 5000, 1, 50);
+
+        // Una llamada lenta ocupa la única conexión
+        CompletableFuture<String> ocupada = CompletableFuture.supplyAsync(() -> cliente.get(base + "/lenta"));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (enUso() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertThat(enUso()).isEqualTo(1);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> cliente.get(base + "/rapida"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("lleno");
+        assertThat(milisDesde(inicio)).isLessThan(1000);
+        assertThat(meterRegistry.get("cotizacion.validacion.pool.rechazos").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cotizacion.validacion.pool.espera").timer().count()).isEqualTo(2);
+
+        // Liberada la lenta, el lugar vuelve al pool
+        liberarLentas.countDown();
+        assertThat(ocupada.get(5, TimeUnit.SECONDS)).isEqualTo("[]");
+        assertThat(enUso()).isZero();
+        assertThat(cliente.get(base + "/rapida")).isEqualTo("[]");
+    }
+
+    @Test
+    void unaRespuestaNo2xxEsUnError() {
+        assertThatThrownBy(() -> cliente(1000, 2000, 4, 100).get(base + "/error"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("500");
+    }
+
+    private double timeouts(String tipo) {
+        return meterRegistry.get("cotizacion.validacion.http.timeouts").tag("tipo", tipo).counter().count();
+    }
+
+    private double enUso() {
+        return meterRegistry.get("cotizacion.validacion.pool.en-uso").gauge().value();
+    }
+
+    private static long milisDesde(long inicio) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.optic.apirest.Client;
+
+import com.optic.apirest.dto.apiValidarHistorial.ValidacionResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-flight de TasaInteresApiClient contra una API de validación local (JDK HttpServer):
+ * N hilos piden el mismo DNI a la vez → una sola llamada HTTP.
+ */
+class TasaInteresApiClientTest {
+
+    private static final int HILOS = 16;
+    private static final String DNI = "12345678";
+
+    private HttpServer servidor;
+    private final AtomicInteger llamadasRecibidas = new AtomicInteger();
+    // La respuesta queda retenida hasta que todos los hilos estén esperando
+    private final CountDownLatch liberarRespuesta = new CountDownLatch(1);
+    private volatile int estadoRespuesta = 200;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClienteHttpValidaciones clienteHttp;
+    private TasaInteresApiClient cliente;
+    private ExecutorService hilos;
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/validaciones", intercambio -> {
+            llamadasRecibidas.incrementAndGet();
+            try {
+                liberarRespuesta.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] cuerpo = ("[{\"dni\":\"" + DNI + "\",\"riesgo\":1,\"resultado_validacion\":\"APROBADO\"}]")
+                    .getBytes(StandardCharsets.UTF_8);
+            intercambio.sendResponseHeaders(estadoRespuesta, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        });
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        // Caché deshabilitada: lo que se prueba es la deduplicación de llamadas en curso
+        CacheValidaciones cache = new CacheValidaciones(false, 100, 10, 30, meterRegistry);
+        String url = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/validaciones";
+        // Timeouts holgados: la respuesta se retiene a propósito hasta que llegan todos los hilos
+        clienteHttp = new ClienteHttpValidaciones(true, 1000, 15000, 15000, HILOS, 15000, meterRegistry);
+        CircuitBreakerValidaciones circuito = new CircuitBreakerValidaciones(true, 20, 10, 50, 30, 3, meterRegistry);
+        BulkheadValidaciones bulkhead = new BulkheadValidaciones(0, HILOS, 8, 50, meterRegistry);
+        CoberturaValidaciones cobertura = new CoberturaValidaciones(false, 95, 100, 10, 5, 60, meterRegistry);
+        cliente = new TasaInteresApiClient(clienteHttp, cache, circuito, bulkhead, cobertura, url,
+                PoliticaRespaldoValidacion.RECHAZAR, meterRegistry);
+        hilos = Executors.newFixedThreadPool(HILOS);
+    }
+
+    @AfterEach
+    void detener() {
+        liberarRespuesta.countDown();
+        hilos.shutdownNow();
+        clienteHttp.cerrar();
+        servidor.stop(0);
+    }
+
+    @Test
+    void llamadasSimultaneasDelMismoDniHacenUnaSolaLlamadaHttp() throws Exception {
+        List<Future<ValidacionResponse>> resultados = lanzarSimultaneas();
+
+        // Todos los demás hilos están esperando la llamada en curso antes de que responda
+        esperarHasta(() -> coalescidas() == HILOS - 1);
+        assertThat(llamadasRecibidas.get()).isEqualTo(1);
+        liberarRespuesta.countDown();
+
+        ValidacionResponse primera = resultados.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<ValidacionResponse> resultado : resultados) {
+            assertThat(resultado.get(10, TimeUnit.SECONDS)).isSameAs(primera);
+        }
+        assertThat(primera.getResultadoValidacion()).isEqualTo("APROBADO");
+        assertThat(primera.getRiesgo()).isEqualTo(1);
+        assertThat(llamadasRecibidas.get()).isEqualTo(1);
+    }
+
+    @Test
+    void unaLlamadaFallidaSeCompartePeroNoQuedaRegistrada() throws Exception {
+        estadoRespuesta = 500;
+        List<Future<ValidacionResponse>> resultados = lanzarSimultaneas();
+        esperarHasta(() -> coalescidas() == HILOS - 1);
+        liberarRespuesta.countDown();
+
+        for (Future<ValidacionResponse> resultado : resultados) {
+            ValidacionResponse validacion = resultado.get(10, TimeUnit.SECONDS);
+            assertThat(validacion.isRespaldo()).isTrue();
+            assertThat(validacion.getResultadoValidacion()).isEqualTo("RECHAZADO");
+        }
+        assertThat(llamadasRecibidas.get()).isEqualTo(1);
+
+        // Terminada (aunque falló), el siguiente pedido vuelve a llamar a la API
+        estadoRespuesta = 200;
+        ValidacionResponse reintento = cliente.obtenerValidacionCliente(DNI);
+        assertThat(reintento.isRespaldo()).isFalse();
+        assertThat(llamadasRecibidas.get()).isEqualTo(2);
+    }
+
+    private List<Future<ValidacionResponse>> lanzarSimultaneas() {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<ValidacionResponse>> resultados = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            resultados.add(hilos.submit(() -> {
+                largada.await();
+                return cliente.obtenerValidacionCliente(DNI);
+            }));
+        }
+        largada.countDown();
+        return resultados;
+    }
+
+    private double coalescidas() {
+        return meterRegistry.get("cotizacion.validacion.coalescidas").counter().count();
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                throw new AssertionError("La condición no se cumplió en 10 segundos");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
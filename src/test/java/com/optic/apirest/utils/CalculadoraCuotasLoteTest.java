@@ -0,0 +1,97 @@
+package com.optic.apirest.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * El cálculo por lotes (vectorial si la JVM tiene jdk.incubator.vector) contra el bucle
+ * escalar y contra CalculadoraFinancieraRapida, préstamo por préstamo.
+ */
+class CalculadoraCuotasLoteTest {
+
+    // Tamaño que no es múltiplo de ningún ancho de vector: ejercita también el resto escalar
+    private static final int PRESTAMOS = 10_007;
+
+    private static final class Lote {
+        final double[] principales = new double[PRESTAMOS];
+        final double[] tasasMensuales = new double[PRESTAMOS];
+        final double[] plazosMeses = new double[PRESTAMOS];
+
+        Lote(long semilla) {
+            SplittableRandom aleatorio = new SplittableRandom(semilla);
+            for (int k = 0; k < PRESTAMOS; k++) {
+                principales[k] = aleatorio.nextLong(100_000, 100_000_000); // céntimos
+                // Uno de cada diez con tasa cero (cuota = P / n)
+                tasasMensuales[k] = k % 10 == 0 ? 0.0 : CalculadoraFinancieraRapida.calcularTasaMensual(aleatorio.nextDouble(1, 30));
+                plazosMeses[k] = 12 * aleatorio.nextInt(1, 31);
+            }
+        }
+    }
+
+    @Test
+    void laJvmDeLasPruebasUsaLaVectorApi() {
+        // pom.xml pasa --add-modules jdk.incubator.vector a surefire: si falta, este test lo avisa
+        assertThat(CalculadoraCuotasLote.usaVectorApi()).isTrue();
+    }
+
+    @Test
+    void vectorialIgualAlEscalar() {
+        Lote lote = new Lote(42);
+        double[] cuotasLote = new double[PRESTAMOS];
+        double[] tceasLote = new double[PRESTAMOS];
+        double[] cuotasEscalar = new double[PRESTAMOS];
+        double[] tceasEscalar = new double[PRESTAMOS];
+
+        CalculadoraCuotasLote.calcular(lote.principales, lote.tasasMensuales, lote.plazosMeses, cuotasLote, tceasLote);
+        CalculadoraCuotasLote.calcularEscalar(lote.principales, lote.tasasMensuales, lote.plazosMeses,
+                cuotasEscalar, tceasEscalar, 0, PRESTAMOS);
+
+        for (int k = 0; k < PRESTAMOS; k++) {
+            assertThat(cuotasLote[k]).as("cuota %d", k).isCloseTo(cuotasEscalar[k], within(Math.abs(cuotasEscalar[k]) * 1e-13));
+            assertThat(tceasLote[k]).as("tcea %d", k).isCloseTo(tceasEscalar[k], within(Math.abs(tceasEscalar[k]) * 1e-13));
+        }
+    }
+
+    @Test
+    void escalarIgualAlMotorRapido() {
+        Lote lote = new Lote(7);
+        double[] cuotas = new double[PRESTAMOS];
+        double[] tceas = new double[PRESTAMOS];
+
+        CalculadoraCuotasLote.calcularEscalar(lote.principales, lote.tasasMensuales, lote.plazosMeses, cuotas, tceas, 0, PRESTAMOS);
+
+        for (int k = 0; k < PRESTAMOS; k++) {
+            long principal = (long) lote.principales[k];
+            int plazo = (int) lote.plazosMeses[k];
+            assertThat(Math.round(cuotas[k])).as("cuota %d", k)
+                    .isEqualTo(CalculadoraFinancieraRapida.calcularCuotaMensualCentavos(principal, lote.tasasMensuales[k], plazo));
+            assertThat(tceas[k]).as("tcea %d", k)
+                    .isEqualTo(CalculadoraFinancieraRapida.calcularTCEA(lote.tasasMensuales[k]));
+        }
+    }
+
+    @Test
+    void unTramoSoloEscribeSuRango() {
+        Lote lote = new Lote(3);
+        double[] cuotas = new double[PRESTAMOS];
+        double[] tceas = new double[PRESTAMOS];
+        double[] cuotasCompleto = new double[PRESTAMOS];
+        double[] tceasCompleto = new double[PRESTAMOS];
+
+        CalculadoraCuotasLote.calcular(lote.principales, lote.tasasMensuales, lote.plazosMeses, cuotas, tceas, 101, 5_003);
+        CalculadoraCuotasLote.calcular(lote.principales, lote.tasasMensuales, lote.plazosMeses, cuotasCompleto, tceasCompleto);
+
+        for (int k = 0; k < PRESTAMOS; k++) {
+            if (k < 101 || k >= 5_003) {
+                assertThat(cuotas[k]).as("cuota %d", k).isZero();
+            } else {
+                assertThat(cuotas[k]).as("cuota %d", k).isEqualTo(cuotasCompleto[k]);
+                assertThat(tceas[k]).as("tcea %d", k).isEqualTo(tceasCompleto[k]);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.optic.apirest.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * TCEA con costos en los bordes: sin monto financiado (cuota inicial del 100%) es la
+ * nominal; con una comisión de desembolso que se come el monto no hay TCEA.
+ */
+class CalculadoraTCEATest {
+
+    private static final double TASA_MENSUAL = CalculadoraFinancieraRapida.calcularTasaMensual(8.5);
+    private static final double TCEA_NOMINAL = CalculadoraFinancieraRapida.calcularTCEA(TASA_MENSUAL);
+
+    @Test
+    void sinMontoFinanciadoDevuelveLaTceaNominalEnVezDeNaN() {
+        double tcea = CalculadoraTCEA.calcularTCEAConCostos(0.0, 0.0, TASA_MENSUAL, 240, 150.0, 10.0, 0.00028);
+
+        assertThat(tcea).isEqualTo(TCEA_NOMINAL);
+        // Lo que hace el mapper: no debe lanzar NumberFormatException
+        assertThat(BigDecimal.valueOf(tcea)).isPositive();
+    }
+
+    @Test
+    void sinMontoFinanciadoEnCualquierSistemaDevuelveLaTceaNominal() {
+        for (TipoSistemaAmortizacion tipo : TipoSistemaAmortizacion.values()) {
+            double tcea = CalculadoraTCEA.calcularTCEAConCostos(tipo.getSistema(), 0L, 0L, TASA_MENSUAL, 240, 150.0, 10.0, 0.00028);
+            assertThat(tcea).as(tipo.name()).isEqualTo(TCEA_NOMINAL);
+        }
+    }
+
+    @Test
+    void comisionMayorOIgualQueLoFinanciadoSeRechaza() {
+        // El cliente no recibe nada y aun así paga: el flujo nunca cambia de signo, no hay TIR
+        assertThatThrownBy(() -> CalculadoraTCEA.calcularTCEAConCostos(100.0, 10.0, TASA_MENSUAL, 12, 500.0, 10.0, 0.00028))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("comisión de desembolso");
+        assertThatThrownBy(() -> CalculadoraTCEA.calcularTCEAConCostos(150.0, 13.0, TASA_MENSUAL, 12, 150.0, 0.0, 0.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        for (TipoSistemaAmortizacion tipo : TipoSistemaAmortizacion.values()) {
+            assertThatThrownBy(() -> CalculadoraTCEA.calcularTCEAConCostos(tipo.getSistema(), 10_000L, 1_000L, TASA_MENSUAL, 12, 500.0, 10.0, 0.00028))
+                    .as(tipo.name())
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(CalculadoraTCEA.tieneDesembolsoNeto(100.0, 500.0)).isFalse();
+        assertThat(CalculadoraTCEA.tieneDesembolsoNeto(150.0, 150.0)).isFalse();
+        assertThat(CalculadoraTCEA.tieneDesembolsoNeto(150.01, 150.0)).isTrue();
+    }
+
+    @Test
+    void conComisionDeDesembolsoLaTceaIgualaLoRecibidoConLasCuotas() {
+        // 1 000 a 12 meses al 1 % mensual, recibiendo 950
+        double tasaMensual = 0.01;
+        double cuota = 1_000.0 * CalculadoraFinancieraRapida.calcularFactorCuota(tasaMensual, 12);
+
+        double tcea = CalculadoraTCEA.calcularTCEAConCostos(1_000.0, cuota, tasaMensual, 12, 50.0, 0.0, 0.0);
+
+        // Con la tasa mensual que implica esa TCEA, las 12 cuotas valen hoy lo recibido
+        double tirMensual = Math.pow(1 + tcea / 100, 1.0 / 12) - 1;
+        double valorPresente = cuota * (1 - Math.pow(1 + tirMensual, -12)) / tirMensual;
+        assertThat(valorPresente).isCloseTo(950.0, within(1e-6));
+    }
+
+    @Test
+    void conMontoFinanciadoLosCostosSubenLaTcea() {
+        double montoFinanciar = 100_000.0;
+        double cuota = montoFinanciar * CalculadoraFinancieraRapida.calcularFactorCuota(TASA_MENSUAL, 240);
+
+        double tcea = CalculadoraTCEA.calcularTCEAConCostos(montoFinanciar, cuota, TASA_MENSUAL, 240, 150.0, 10.0, 0.00028);
+
+        assertThat(tcea).isGreaterThan(TCEA_NOMINAL);
+        assertThat(CalculadoraTCEA.calcularTCEAConCostos(montoFinanciar, cuota, TASA_MENSUAL, 240, 0, 0, 0))
+                .isCloseTo(TCEA_NOMINAL, within(1e-6));
+    }
+}
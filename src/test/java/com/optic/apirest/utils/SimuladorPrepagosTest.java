@@ -0,0 +1,135 @@
+package com.optic.apirest.utils;
+
+import com.optic.apirest.utils.SimuladorPrepagos.Modalidad;
+import com.optic.apirest.utils.SimuladorPrepagos.Prepago;
+import com.optic.apirest.utils.SimuladorPrepagos.Resultado;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * El simulador de prepagos (fórmula cerrada entre prepagos) contra el cronograma
+ * recorrido mes a mes con las mismas reglas, en planes aleatorios.
+ */
+class SimuladorPrepagosTest {
+
+    private static final int PLANES = 2_000;
+
+    /**
+     * Referencia mes a mes: interés sobre el saldo, cuota constante, el prepago después de
+     * la cuota de su mes y la última cuota ajustada al saldo. Mismo redondeo de la cuota nueva
+     * y, como el simulador, el saldo nunca baja de cero (en plazos largos con tasa alta la
+     * cuota redondeada puede terminar de pagar antes del último mes).
+     */
+    private static Resultado mesAMes(long montoFinanciarCentavos, double tasaAnual, int plazoMeses, List<Prepago> prepagos) {
+        double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual);
+        double saldo = montoFinanciarCentavos;
+        double cuota = CalculadoraFinancieraRapida.calcularCuotaMensualCentavos(montoFinanciarCentavos, tasaMensual, plazoMeses);
+        int mesFinal = plazoMeses;
+        double totalCuotas = 0.0;
+        double totalPrepagado = 0.0;
+        double ultimaCuota = 0.0;
+        int siguiente = 0;
+
+        for (int mes = 0; mes <= mesFinal; mes++) {
+            if (mes > 0) {
+                if (mes == mesFinal) {
+                    ultimaCuota = saldo * (1 + tasaMensual);
+                    totalCuotas += ultimaCuota;
+                    break;
+                }
+                saldo = Math.max(0.0, saldo * (1 + tasaMensual) - cuota);
+                totalCuotas += cuota;
+            }
+            while (siguiente < prepagos.size() && prepagos.get(siguiente).mes() == mes) {
+                Prepago prepago = prepagos.get(siguiente++);
+                double abono = Math.min(prepago.montoCentavos(), saldo);
+                saldo -= abono;
+                totalPrepagado += abono;
+                if (saldo < 0.5) {
+                    saldo = 0.0;
+                    mesFinal = mes;
+                    break;
+                }
+                if (prepago.modalidad() == Modalidad.REDUCIR_CUOTA) {
+                    cuota = Math.round(saldo * CalculadoraFinancieraRapida.calcularFactorCuota(tasaMensual, mesFinal - mes));
+                } else {
+                    mesFinal = mes + cuotasHastaCancelar(saldo, cuota, tasaMensual);
+                }
+            }
+        }
+
+        long totalCuotasCentavos = Math.round(totalCuotas);
+        long totalPrepagadoCentavos = Math.round(totalPrepagado);
+        return new Resultado(mesFinal, Math.round(cuota), Math.round(ultimaCuota), totalPrepagadoCentavos,
+                totalCuotasCentavos, totalCuotasCentavos + totalPrepagadoCentavos - montoFinanciarCentavos);
+    }
+
+    // Cuotas hasta que una sola alcance para saldo + interés del mes, contadas una por una
+    private static int cuotasHastaCancelar(double saldo, double cuota, double tasaMensual) {
+        int cuotas = 1;
+        while (saldo * (1 + tasaMensual) > cuota) {
+            saldo = saldo * (1 + tasaMensual) - cuota;
+            cuotas++;
+        }
+        return cuotas;
+    }
+
+    @Test
+    void formulaCerradaIgualAlCronogramaMesAMes() {
+        SplittableRandom aleatorio = new SplittableRandom(11);
+        for (int k = 0; k < PLANES; k++) {
+            long montoCentavos = aleatorio.nextLong(100_000, 100_000_000);
+            // Uno de cada diez con tasa cero
+            double tasaAnual = k % 10 == 0 ? 0.0 : aleatorio.nextLong(100, 3_001) / 100.0;
+            int plazoMeses = 12 * aleatorio.nextInt(1, 31);
+
+            List<Prepago> prepagos = new ArrayList<>();
+            int cantidad = aleatorio.nextInt(0, 6);
+            for (int p = 0; p < cantidad; p++) {
+                prepagos.add(new Prepago(
+                        aleatorio.nextInt(1, plazoMeses + 12), // alguno después del fin: no aplica
+                        aleatorio.nextLong(1, montoCentavos / 2),
+                        aleatorio.nextBoolean() ? Modalidad.REDUCIR_PLAZO : Modalidad.REDUCIR_CUOTA));
+            }
+            prepagos.sort(Comparator.comparingInt(Prepago::mes));
+            String plan = montoCentavos + " céntimos al " + tasaAnual + " % a " + plazoMeses + " meses, " + prepagos;
+
+            Resultado cerrada = new SimuladorPrepagos(montoCentavos, tasaAnual, plazoMeses).evaluar(prepagos);
+            Resultado referencia = mesAMes(montoCentavos, tasaAnual, plazoMeses, prepagos);
+
+            assertThat(cerrada.plazoMeses()).as("plazo, %s", plan).isEqualTo(referencia.plazoMeses());
+            assertThat(cerrada.cuotaVigenteCentavos()).as("cuota, %s", plan).isEqualTo(referencia.cuotaVigenteCentavos());
+            assertThat(cerrada.totalPrepagadoCentavos()).as("prepagado, %s", plan)
+                    .isCloseTo(referencia.totalPrepagadoCentavos(), within(1L));
+            // Saldos en double por caminos distintos: hasta un par de céntimos en el total
+            assertThat(cerrada.ultimaCuotaCentavos()).as("última cuota, %s", plan)
+                    .isCloseTo(referencia.ultimaCuotaCentavos(), within(2L));
+            assertThat(cerrada.totalCuotasCentavos()).as("cuotas, %s", plan)
+                    .isCloseTo(referencia.totalCuotasCentavos(), within(2L));
+            assertThat(cerrada.totalInteresesCentavos()).as("intereses, %s", plan)
+                    .isCloseTo(referencia.totalInteresesCentavos(), within(2L));
+        }
+    }
+
+    @Test
+    void sinPrepagosEsLaCuotaDelMotorRapido() {
+        long montoCentavos = 25_000_000;
+        double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(9.5);
+        SimuladorPrepagos simulador = new SimuladorPrepagos(montoCentavos, 9.5, 240);
+
+        Resultado base = simulador.getSinPrepagos();
+
+        assertThat(base.plazoMeses()).isEqualTo(240);
+        assertThat(base.cuotaVigenteCentavos())
+                .isEqualTo(CalculadoraFinancieraRapida.calcularCuotaMensualCentavos(montoCentavos, tasaMensual, 240));
+        assertThat(base.totalPrepagadoCentavos()).isZero();
+        assertThat(base).isEqualTo(mesAMes(montoCentavos, 9.5, 240, List.of()));
+    }
+}
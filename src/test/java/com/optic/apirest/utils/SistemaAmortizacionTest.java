@@ -0,0 +1,62 @@
+package com.optic.apirest.utils;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los totales de cada sistema (calcularTotales, primeraCuotaCentavos) contra el cronograma
+ * recorrido fila a fila, en préstamos aleatorios: deben dar lo mismo al céntimo.
+ */
+class SistemaAmortizacionTest {
+
+    private static final int PRESTAMOS = 3_000;
+
+    @ParameterizedTest
+    @EnumSource(TipoSistemaAmortizacion.class)
+    void totalesIgualesAlCronogramaFilaPorFila(TipoSistemaAmortizacion tipo) {
+        SistemaAmortizacion sistema = tipo.getSistema();
+        SplittableRandom aleatorio = new SplittableRandom(tipo.ordinal() + 1L);
+        TotalesAmortizacion totales = new TotalesAmortizacion();
+
+        for (int k = 0; k < PRESTAMOS; k++) {
+            long financiarCentavos = aleatorio.nextLong(1, 200_000_000); // hasta 2 millones
+            BigDecimal montoFinanciar = CalculadoraFinancieraRapida.desdeCentavos(financiarCentavos);
+            // Una de cada veinte con tasa cero; el resto entre 0.01 % y 40 % con dos decimales
+            BigDecimal tasaAnual = k % 20 == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(aleatorio.nextLong(1, 4_001), 2);
+            int plazoAnios = aleatorio.nextInt(1, 31);
+            String prestamo = tipo + " " + montoFinanciar + " al " + tasaAnual + " % a " + plazoAnios + " años";
+
+            CronogramaPagos cronograma = new CronogramaPagos(montoFinanciar, tasaAnual, plazoAnios, tipo);
+            double tasaMensual = CalculadoraFinancieraRapida.calcularTasaMensual(tasaAnual.doubleValue());
+            int plazoMeses = cronograma.getPlazoMeses();
+            long cuotaBase = sistema.cuotaBaseCentavos(financiarCentavos, tasaMensual, plazoMeses);
+
+            // Fila a fila: la referencia
+            long primeraCuota = 0;
+            long ultimaCuota = 0;
+            long totalIntereses = 0;
+            for (CronogramaPagos.CuotaPeriodo fila : cronograma) {
+                long cuota = CalculadoraFinancieraRapida.aCentavos(fila.getCuota());
+                if (fila.getPeriodo() == 1) {
+                    primeraCuota = cuota;
+                }
+                ultimaCuota = cuota;
+                totalIntereses += CalculadoraFinancieraRapida.aCentavos(fila.getInteres());
+            }
+
+            sistema.calcularTotales(financiarCentavos, cuotaBase, tasaMensual, plazoMeses, totales);
+            assertThat(totales.getPrimeraCuotaCentavos()).as("primera cuota, %s", prestamo).isEqualTo(primeraCuota);
+            assertThat(totales.getUltimaCuotaCentavos()).as("última cuota, %s", prestamo).isEqualTo(ultimaCuota);
+            assertThat(totales.getTotalInteresesCentavos()).as("intereses, %s", prestamo).isEqualTo(totalIntereses);
+            assertThat(sistema.primeraCuotaCentavos(financiarCentavos, cuotaBase, tasaMensual, plazoMeses))
+                    .as("primera cuota O(1), %s", prestamo).isEqualTo(primeraCuota);
+            assertThat(CalculadoraFinancieraRapida.aCentavos(cronograma.getCuotaMensual()))
+                    .as("cuota del cronograma, %s", prestamo).isEqualTo(primeraCuota);
+        }
+    }
+}